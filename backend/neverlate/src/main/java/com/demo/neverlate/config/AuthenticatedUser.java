@@ -0,0 +1,78 @@
+package com.demo.neverlate.config;
+
+import com.demo.neverlate.model.Role;
+import com.demo.neverlate.model.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal léger de l'utilisateur authentifié, construit à partir des revendications du JWT
+ * (ou d'un chargement en base mis en cache).
+ * Contrairement à {@link CustomUserPrincipal}, il ne référence aucune entité gérée par JPA
+ * et ne contient pas le mot de passe.
+ */
+@Getter
+public final class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String username, Collection<String> roles) {
+        this.id = id;
+        this.username = username;
+        this.authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    /**
+     * Construit un principal léger à partir d'une entité {@link User}.
+     *
+     * @param user l'entité utilisateur
+     * @return le principal correspondant
+     */
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(),
+                user.getRoles().stream().map(Role::getName).toList());
+    }
+
+    /**
+     * Retourne les noms des rôles de l'utilisateur.
+     *
+     * @return la liste des noms de rôles
+     */
+    public List<String> getRoleNames() {
+        return authorities.stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package com.demo.neverlate.config;
+
+import com.demo.neverlate.controller.ClockStreamServlet;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.service.ClockStream;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClockStreamConfig {
+
+    /**
+     * Enregistre la servlet asynchrone du flux d'horloge, hors du DispatcherServlet.
+     */
+    @Bean
+    public ServletRegistrationBean<ClockStreamServlet> clockStreamServlet(ClockStream clockStream,
+                                                                          TimeZoneRepository timeZoneRepository) {
+        ServletRegistrationBean<ClockStreamServlet> registration = new ServletRegistrationBean<>(
+                new ClockStreamServlet(clockStream, timeZoneRepository), "/api/timezones/clock");
+        registration.setName("clockStreamServlet");
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+}
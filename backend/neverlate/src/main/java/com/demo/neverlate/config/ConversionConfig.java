@@ -0,0 +1,20 @@
+package com.demo.neverlate.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class ConversionConfig {
+
+    /**
+     * Pool de calcul des conversions en masse (parallelism=0 : un thread par cœur).
+     * Distinct du pool commun pour qu'une grosse conversion ne ralentisse pas le reste de l'application.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool conversionPool(@Value("${neverlate.timezones.convert.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
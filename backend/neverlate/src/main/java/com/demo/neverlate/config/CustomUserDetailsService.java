@@ -2,35 +2,68 @@ package com.demo.neverlate.config;
 
 import com.demo.neverlate.model.User;
 import com.demo.neverlate.repository.UserRepository;
+import com.demo.neverlate.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service personnalisé qui implémente {@link UserDetailsService}.
  * Ce service est utilisé par Spring Security pour récupérer les informations d'un utilisateur
- * à partir de la base de données lors de l'authentification.
+ * à partir de la base de données lors de l'authentification, et pour mettre à niveau
+ * le hachage de son mot de passe ({@link UserDetailsPasswordService}).
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
 
+    // Injection paresseuse : UserService dépend lui-même de l'encodeur défini dans la configuration de sécurité
+    @Lazy
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
     /**
      * Charge un utilisateur par son nom d'utilisateur (username).
      * Cette méthode est utilisée par Spring Security pour authentifier un utilisateur.
+     * La lecture peut être servie par un réplica, sauf si l'utilisateur vient d'être modifié.
      *
      * @param username le nom d'utilisateur de l'utilisateur cherché
      * @return les détails de l'utilisateur, sous forme d'objet {@link UserDetails}
      * @throws UsernameNotFoundException si l'utilisateur n'est pas trouvé
      */
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = readYourWrites.readFor(username, () -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
         return new CustomUserPrincipal(user); // Utilise CustomUserPrincipal ici
     }
+
+    /**
+     * Remplace le hachage du mot de passe d'un utilisateur qui vient de s'authentifier.
+     * Appelée par Spring Security lorsque le hachage stocké n'utilise pas le coût BCrypt cible.
+     *
+     * @param userDetails     l'utilisateur authentifié
+     * @param newPassword     le mot de passe réencodé
+     * @return les détails de l'utilisateur mis à jour
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userDetails instanceof CustomUserPrincipal principal
+                ? principal.getUser()
+                : userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+
+        return new CustomUserPrincipal(userService.updatePassword(user, newPassword));
+    }
 }
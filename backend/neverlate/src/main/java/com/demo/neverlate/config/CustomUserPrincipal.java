@@ -15,6 +15,15 @@ public class CustomUserPrincipal implements UserDetails {
 
     private final User user;
 
+    /**
+     * Retourne l'identifiant de l'utilisateur.
+     *
+     * @return l'ID de l'utilisateur
+     */
+    public Long getId() {
+        return user.getId();
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return user.getRoles().stream()
@@ -0,0 +1,116 @@
+package com.demo.neverlate.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplication de substitution entre deux bases H2, pour essayer le routage des lectures en local.
+ * <p>
+ * Le schéma de la base primaire est recopié sur le réplica à la première exécution, puis le contenu de toutes les
+ * tables est recopié périodiquement : un instantané cohérent de la base primaire remplace celui du réplica dans une
+ * seule transaction, les lectures sur le réplica voyant l'ancien instantané jusqu'à sa validation. Le retard du
+ * réplica est donc au plus l'intervalle de copie plus la durée d'une copie. Réservé aux petites bases de
+ * développement : en production, le réplica est alimenté par la base elle-même.
+ */
+public class H2SnapshotReplication {
+
+    private static final Logger log = LoggerFactory.getLogger(H2SnapshotReplication.class);
+
+    private static final String LIST_TABLES = "SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES"
+            + " WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE' ORDER BY TABLE_NAME";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private boolean schemaCopied;
+
+    public H2SnapshotReplication(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    /**
+     * Recopie le contenu de la base primaire sur le réplica (et son schéma à la première exécution).
+     */
+    @Scheduled(fixedDelayString = "${neverlate.datasource.replica.h2-snapshot-interval}")
+    public synchronized void replicate() {
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            if (!schemaCopied) {
+                copySchema(source, target);
+                schemaCopied = true;
+            }
+            copyData(source, target);
+        } catch (SQLException e) {
+            log.warn("Replica snapshot failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private static void copySchema(Connection source, Connection target) throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Statement script = source.createStatement(); ResultSet rows = script.executeQuery("SCRIPT NODATA")) {
+            while (rows.next()) {
+                statements.add(rows.getString(1));
+            }
+        }
+        try (Statement statement = target.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+            // Les lignes sont recopiées table par table : les contraintes ont déjà été vérifiées sur la base primaire
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        }
+    }
+
+    private static void copyData(Connection source, Connection target) throws SQLException {
+        // Instantané cohérent de toutes les tables de la base primaire
+        source.setAutoCommit(false);
+        source.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        target.setAutoCommit(false);
+        try {
+            List<String> tables = new ArrayList<>();
+            try (Statement list = source.createStatement(); ResultSet rows = list.executeQuery(LIST_TABLES)) {
+                while (rows.next()) {
+                    tables.add(rows.getString(1));
+                }
+            }
+            for (String table : tables) {
+                copyTable(source, target, "\"" + table + "\"");
+            }
+            target.commit();
+        } catch (SQLException e) {
+            target.rollback();
+            throw e;
+        } finally {
+            source.rollback();
+        }
+    }
+
+    private static void copyTable(Connection source, Connection target, String table) throws SQLException {
+        try (Statement delete = target.createStatement()) {
+            delete.executeUpdate("DELETE FROM " + table);
+        }
+        try (Statement select = source.createStatement(); ResultSet rows = select.executeQuery("SELECT * FROM " + table)) {
+            int columns = rows.getMetaData().getColumnCount();
+            String insert = "INSERT INTO " + table + " VALUES (" + "?, ".repeat(columns - 1) + "?)";
+            try (PreparedStatement statement = target.prepareStatement(insert)) {
+                while (rows.next()) {
+                    for (int column = 1; column <= columns; column++) {
+                        statement.setObject(column, rows.getObject(column));
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.demo.neverlate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Dimensionnement du pool de connexions HikariCP de la base primaire à partir du nombre de threads du serveur.
+ * Les autres pools (réplica en lecture) gardent leur propre configuration.
+ * <p>
+ * La base H2 est embarquée : une requête SQL occupe un cœur, et un pool plus grand que deux connexions par cœur ne
+ * ferait qu'ajouter de la contention. Le pool ne dépasse pas non plus le nombre de threads Tomcat, qui ne pourraient
+ * pas utiliser davantage de connexions. Le pool est de taille fixe (aucune connexion créée sous la charge). Une taille
+ * configurée explicitement ({@code spring.datasource.hikari.maximum-pool-size}) est conservée.
+ * <p>
+ * Le délai d'attente d'une connexion est dérivé du nombre de threads pouvant attendre chaque connexion :
+ * {@code ceil(threads / pool) × transaction-budget}, borné entre 1 et 30 secondes. Au-delà, le pool est saturé
+ * et la requête échoue rapidement plutôt que d'immobiliser un thread.
+ */
+@Component
+public class HikariPoolTuning implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(HikariPoolTuning.class);
+
+    // Pool de la base primaire : configuré par Spring Boot, ou par ReplicaDataSourceConfig avec un réplica
+    private static final Set<String> PRIMARY_DATA_SOURCES = Set.of("dataSource", "primaryDataSource");
+
+    private static final Duration MIN_CONNECTION_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration MAX_CONNECTION_TIMEOUT = Duration.ofSeconds(30);
+    // Minimum imposé par HikariCP au délai de validation d'une connexion
+    private static final long MIN_VALIDATION_TIMEOUT_MS = 250;
+
+    private final int serverThreads;
+    private final int poolSize;
+    private final Duration transactionBudget;
+
+    /**
+     * @param serverThreads     le nombre maximal de threads Tomcat
+     * @param poolSize          la taille du pool, ou 0 pour la dériver du nombre de cœurs et de threads
+     * @param transactionBudget la durée typique pendant laquelle une requête occupe une connexion
+     */
+    public HikariPoolTuning(@Value("${server.tomcat.threads.max:200}") int serverThreads,
+                            @Value("${neverlate.datasource.pool-size:0}") int poolSize,
+                            @Value("${neverlate.datasource.transaction-budget:100ms}") Duration transactionBudget) {
+        this.serverThreads = serverThreads;
+        this.poolSize = poolSize;
+        this.transactionBudget = transactionBudget;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource && PRIMARY_DATA_SOURCES.contains(beanName)) {
+            tune(dataSource, Runtime.getRuntime().availableProcessors());
+        }
+        return bean;
+    }
+
+    /**
+     * Applique la taille (sauf si elle est déjà configurée) et les délais au pool, avant sa première connexion.
+     *
+     * @param dataSource le pool à configurer
+     * @param cores      le nombre de cœurs disponibles
+     */
+    void tune(HikariDataSource dataSource, int cores) {
+        // HikariCP laisse la taille à -1 tant qu'elle n'est pas configurée
+        int size = dataSource.getMaximumPoolSize() > 0 ? dataSource.getMaximumPoolSize()
+                : poolSize > 0 ? poolSize : Math.min(serverThreads, 2 * cores);
+        int waitersPerConnection = (serverThreads + size - 1) / size;
+        Duration connectionTimeout = transactionBudget.multipliedBy(waitersPerConnection);
+        if (connectionTimeout.compareTo(MIN_CONNECTION_TIMEOUT) < 0) {
+            connectionTimeout = MIN_CONNECTION_TIMEOUT;
+        } else if (connectionTimeout.compareTo(MAX_CONNECTION_TIMEOUT) > 0) {
+            connectionTimeout = MAX_CONNECTION_TIMEOUT;
+        }
+
+        dataSource.setMaximumPoolSize(size);
+        if (dataSource.getMinimumIdle() < 0) {
+            dataSource.setMinimumIdle(size);
+        }
+        dataSource.setConnectionTimeout(connectionTimeout.toMillis());
+        dataSource.setValidationTimeout(Math.max(MIN_VALIDATION_TIMEOUT_MS, connectionTimeout.toMillis() / 2));
+        log.info("Connection pool sized to {} for {} server threads, connection timeout {} ms",
+                size, serverThreads, connectionTimeout.toMillis());
+    }
+}
@@ -1,14 +1,26 @@
 package com.demo.neverlate.config;
 
 import com.demo.neverlate.security.JwtTokenUtil;
+import com.demo.neverlate.security.TokenDenylist;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class JwtConfig {
 
     @Bean
-    public JwtTokenUtil jwtTokenUtil() {
-        return new JwtTokenUtil();
+    public JwtTokenUtil jwtTokenUtil(@Value("${neverlate.jwt.cache.max-size:10000}") long cacheMaxSize,
+                                     @Value("${neverlate.jwt.access-token-ttl:15m}") Duration accessTokenTtl) {
+        return new JwtTokenUtil(cacheMaxSize, accessTokenTtl);
+    }
+
+    @Bean
+    public TokenDenylist tokenDenylist(JwtTokenUtil jwtTokenUtil,
+                                       @Value("${neverlate.jwt.denylist.bucket-width:1m}") Duration bucketWidth,
+                                       @Value("${neverlate.jwt.denylist.expected-revocations:1024}") int expectedRevocations) {
+        return new TokenDenylist(jwtTokenUtil.getAccessTokenTtl(), bucketWidth, expectedRevocations);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.demo.neverlate.config;
+
+import com.demo.neverlate.security.AuthRateLimiter;
+import com.demo.neverlate.security.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Limites de débit de la connexion et de l'inscription : une rafale de {@code capacity} tentatives,
+     * puis le seau se remplit de nouveau en {@code period}.
+     */
+    @Bean
+    public AuthRateLimiter authRateLimiter(
+            @Value("${neverlate.rate-limit.client.capacity:20}") int clientCapacity,
+            @Value("${neverlate.rate-limit.client.period:1m}") Duration clientPeriod,
+            @Value("${neverlate.rate-limit.username.capacity:5}") int usernameCapacity,
+            @Value("${neverlate.rate-limit.username.period:1m}") Duration usernamePeriod,
+            @Value("${neverlate.rate-limit.max-keys:100000}") int maxKeys,
+            MeterRegistry meterRegistry) {
+        return new AuthRateLimiter(
+                new RateLimiter(clientCapacity, clientPeriod, maxKeys),
+                new RateLimiter(usernameCapacity, usernamePeriod, maxKeys),
+                meterRegistry);
+    }
+}
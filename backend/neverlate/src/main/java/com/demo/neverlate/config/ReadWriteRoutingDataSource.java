@@ -0,0 +1,48 @@
+package com.demo.neverlate.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Source de données qui envoie les transactions en lecture seule au réplica, et tout le reste à la base primaire.
+ * <p>
+ * La décision est prise à l'obtention de la connexion. Elle doit donc être différée jusqu'à la première requête SQL
+ * ({@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}) : au début de la transaction, son
+ * caractère en lecture seule n'est pas encore connu. Les lectures d'un utilisateur qui vient d'écrire restent sur
+ * la base primaire ({@link ReadYourWrites}).
+ */
+class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReadYourWrites readYourWrites;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    ReadWriteRoutingDataSource(ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.readYourWrites = readYourWrites;
+        this.primaryConnections = connections(meterRegistry, Target.PRIMARY);
+        this.replicaConnections = connections(meterRegistry, Target.REPLICA);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !readYourWrites.mustReadFromPrimary()) {
+            replicaConnections.increment();
+            return Target.REPLICA;
+        }
+        primaryConnections.increment();
+        return Target.PRIMARY;
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("neverlate.datasource.routed")
+                .description("Connexions obtenues, par base de destination")
+                .tag("target", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,123 @@
+package com.demo.neverlate.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Lecture de ses propres écritures lorsque les lectures sont servies par un réplica ({@link ReplicaDataSourceConfig}).
+ * <p>
+ * Après une écriture d'un utilisateur, ses lectures sont envoyées à la base primaire pendant une fenêtre, qui doit
+ * dépasser le retard maximal du réplica : un utilisateur voit toujours ses propres modifications, quelle que soit
+ * la session. Le sujet d'une lecture est l'utilisateur authentifié, ou celui indiqué par {@link #readFor} lorsque
+ * la lecture précède l'authentification (chargement du principal).
+ */
+@Component
+public class ReadYourWrites {
+
+    private final Cache<String, Long> primaryUntil;
+    private final Duration window;
+    private final ThreadLocal<String> subject = new ThreadLocal<>();
+
+    Clock clock = Clock.systemUTC();
+
+    /**
+     * @param window  la durée pendant laquelle les lectures d'un utilisateur restent sur la base primaire
+     * @param maxSize le nombre maximal d'utilisateurs suivis
+     */
+    public ReadYourWrites(@Value("${neverlate.datasource.replica.sticky-window:5s}") Duration window,
+                          @Value("${neverlate.datasource.replica.sticky-max-size:100000}") long maxSize) {
+        this.window = window;
+        this.primaryUntil = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Enregistre une écriture de l'utilisateur authentifié. Sans utilisateur authentifié, rien n'est enregistré.
+     */
+    public void recordWrite() {
+        String username = currentSubject();
+        if (username != null) {
+            recordWrite(username);
+        }
+    }
+
+    /**
+     * Enregistre une écriture d'un utilisateur. La fenêtre débute à la validation de la transaction courante
+     * (immédiatement hors transaction) : le réplica ne peut pas recevoir l'écriture avant.
+     *
+     * @param username le nom de l'utilisateur dont les données ont été modifiées
+     */
+    public void recordWrite(String username) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            primaryUntil.put(username, clock.millis() + window.toMillis());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                primaryUntil.put(username, clock.millis() + window.toMillis());
+            }
+        });
+    }
+
+    /**
+     * Exécute une lecture pour le compte d'un utilisateur qui n'est pas (encore) authentifié.
+     *
+     * @param username le nom de l'utilisateur
+     * @param read     la lecture
+     * @return le résultat de la lecture
+     */
+    public <T> T readFor(String username, Supplier<T> read) {
+        String previous = subject.get();
+        subject.set(username);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                subject.remove();
+            } else {
+                subject.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Indique si les lectures du sujet courant doivent être servies par la base primaire.
+     *
+     * @return true si le sujet courant a écrit pendant la fenêtre
+     */
+    public boolean mustReadFromPrimary() {
+        String username = currentSubject();
+        if (username == null) {
+            return false;
+        }
+        Long until = primaryUntil.getIfPresent(username);
+        return until != null && clock.millis() < until;
+    }
+
+    private String currentSubject() {
+        String username = subject.get();
+        if (username != null) {
+            return username;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
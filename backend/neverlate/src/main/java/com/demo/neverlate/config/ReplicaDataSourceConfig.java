@@ -0,0 +1,92 @@
+package com.demo.neverlate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Configuration d'un réplica en lecture, active si {@code neverlate.datasource.replica.url} est défini.
+ * <p>
+ * La source de données de l'application route alors chaque transaction : les transactions en lecture seule
+ * ({@code @Transactional(readOnly = true)}, y compris les lectures des repositories hors transaction) vont au
+ * réplica, tout le reste à la base primaire. Un service qui lit puis écrit doit donc ouvrir une transaction en
+ * écriture pour lire sur la base primaire. La base primaire reste configurée par {@code spring.datasource.*}, et
+ * les migrations Flyway ne s'y appliquent qu'à elle.
+ */
+@Configuration
+@ConditionalOnProperty("neverlate.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            @Value("${neverlate.datasource.replica.url}") String url,
+            @Value("${neverlate.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${neverlate.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setPoolName("neverlate-replica");
+        return dataSource;
+    }
+
+    /**
+     * Source de données de l'application : routage entre les deux pools, la connexion n'étant obtenue qu'à la
+     * première requête SQL de la transaction.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(readYourWrites, meterRegistry);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Target.PRIMARY, primaryDataSource,
+                ReadWriteRoutingDataSource.Target.REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Connexion rendue à la fin de chaque transaction, pour que chacune soit routée. Sinon, la session ouverte pour
+     * toute la requête HTTP (open-in-view) garde la première connexion obtenue : une écriture qui suit une lecture
+     * dans la même requête serait envoyée au réplica.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionPerTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    /**
+     * Réplication de substitution entre deux bases H2, pour le développement et les tests
+     * (voir {@link H2SnapshotReplication}).
+     */
+    @Bean
+    @ConditionalOnProperty("neverlate.datasource.replica.h2-snapshot-interval")
+    public H2SnapshotReplication h2SnapshotReplication(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                       @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        return new H2SnapshotReplication(primaryDataSource, replicaDataSource);
+    }
+}
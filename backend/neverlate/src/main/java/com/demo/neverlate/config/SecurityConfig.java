@@ -1,7 +1,15 @@
 package com.demo.neverlate.config;
 
+import com.demo.neverlate.security.AuthRateLimitFilter;
+import com.demo.neverlate.security.AuthRateLimiter;
+import com.demo.neverlate.security.CalibratedBCryptPasswordEncoder;
 import com.demo.neverlate.security.JwtRequestFilter;
 import com.demo.neverlate.security.JwtTokenUtil;
+import com.demo.neverlate.security.PasswordHashingService;
+import com.demo.neverlate.security.PrincipalCache;
+import com.demo.neverlate.security.TokenDenylist;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,7 +19,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -19,6 +26,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -33,24 +41,37 @@ public class SecurityConfig {
         this.jwtTokenUtil = jwtTokenUtil;
     }
 
+    @Value("${neverlate.security.principal-source:claims}")
+    private JwtRequestFilter.PrincipalSource principalSource;
+
+    @Bean
+    public PrincipalCache principalCache(@Value("${neverlate.security.principal-cache.max-size:10000}") long maxSize,
+                                         @Value("${neverlate.security.principal-cache.ttl:5m}") Duration ttl) {
+        return new PrincipalCache(maxSize, ttl);
+    }
+
     @Bean
-    public JwtRequestFilter jwtRequestFilter() {
-        return new JwtRequestFilter(userDetailsService, jwtTokenUtil);
+    public JwtRequestFilter jwtRequestFilter(PrincipalCache principalCache, TokenDenylist tokenDenylist) {
+        return new JwtRequestFilter(userDetailsService, jwtTokenUtil, principalCache, principalSource, tokenDenylist);
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtRequestFilter jwtRequestFilter,
+                                                   AuthRateLimiter authRateLimiter) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/h2-console/**", "/register", "/swagger-ui/**", "/v3/api-docs/**", "/v3/api-docs.yaml").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/api/catalog/**").permitAll()
                         .requestMatchers("OPTIONS", "/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable))
                 .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Configuration CORS
-                .addFilterBefore(jwtRequestFilter(), UsernamePasswordAuthenticationFilter.class); // Ajout du filtre JWT
+                .addFilterBefore(new AuthRateLimitFilter(authRateLimiter), UsernamePasswordAuthenticationFilter.class) // Limite de débit de l'authentification
+                .addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class); // Ajout du filtre JWT
 
         return http.build();
     }
@@ -61,7 +82,9 @@ public class SecurityConfig {
         config.setAllowCredentials(true);
         config.setAllowedOrigins(List.of("http://localhost:5173"));
         config.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        config.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type"));
+        config.setAllowedHeaders(Arrays.asList("Authorization", "Cache-Control", "Content-Type", "If-None-Match"));
+        // ETag lisible par le client, pour ses propres requêtes conditionnelles
+        config.setExposedHeaders(List.of("ETag"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -69,20 +92,40 @@ public class SecurityConfig {
     }
 
     @Bean
-    public UserDetailsService userDetailsService() {
+    public CustomUserDetailsService userDetailsService() {
         return new CustomUserDetailsService();
     }
 
+    /**
+     * Encodeur de mots de passe : BCrypt exécuté sur un pool borné (par défaut un thread par cœur),
+     * afin que les rafales de connexions et d'inscriptions ne monopolisent pas les threads du serveur.
+     * Le coût BCrypt est fixé par configuration, ou à défaut calibré au démarrage selon le budget de latence.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordHashingService passwordEncoder(
+            @Value("${neverlate.security.bcrypt.strength:0}") int strength,
+            @Value("${neverlate.security.bcrypt.latency-budget:250ms}") Duration latencyBudget,
+            @Value("${neverlate.security.bcrypt.min-strength:10}") int minStrength,
+            @Value("${neverlate.security.bcrypt.max-strength:16}") int maxStrength,
+            @Value("${neverlate.security.hashing.threads:0}") int threads,
+            @Value("${neverlate.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${neverlate.security.hashing.timeout:5s}") Duration timeout,
+            @Value("${neverlate.security.hashing.retry-after:1}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        CalibratedBCryptPasswordEncoder bcrypt = strength > 0
+                ? new CalibratedBCryptPasswordEncoder(strength)
+                : CalibratedBCryptPasswordEncoder.calibrate(latencyBudget, minStrength, maxStrength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PasswordHashingService(bcrypt, poolSize, queueCapacity, timeout, retryAfterSeconds, meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Réencode au coût cible le mot de passe d'un utilisateur qui se connecte avec un hachage d'un autre coût
+        authProvider.setUserDetailsPasswordService(userDetailsService());
         return authProvider;
     }
 
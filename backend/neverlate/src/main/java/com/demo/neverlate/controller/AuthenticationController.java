@@ -1,25 +1,29 @@
 package com.demo.neverlate.controller;
 
+import com.demo.neverlate.config.CustomUserPrincipal;
 import com.demo.neverlate.dto.AuthenticationRequest;
 import com.demo.neverlate.dto.AuthenticationResponse;
+import com.demo.neverlate.dto.RefreshTokenRequest;
 import com.demo.neverlate.model.User;
+import com.demo.neverlate.security.AuthRateLimiter;
 import com.demo.neverlate.security.JwtTokenUtil;
+import com.demo.neverlate.security.TokenDenylist;
+import com.demo.neverlate.security.VerifiedToken;
+import com.demo.neverlate.service.RefreshTokenService;
 import com.demo.neverlate.service.UserService;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Optional;
-
 @RestController
 @RequestMapping("/api/auth")
 public class AuthenticationController {
@@ -27,9 +31,6 @@ public class AuthenticationController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
-    @Autowired
-    private UserDetailsService userDetailsService;
-
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
 
@@ -37,24 +38,32 @@ public class AuthenticationController {
     private UserService userService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
 
     @PostMapping("/login")
     public AuthenticationResponse createAuthenticationToken(@RequestBody AuthenticationRequest authenticationRequest) throws Exception {
-        // Authentification
-        authenticationManager.authenticate(
+        // Limite par nom d'utilisateur, avant tout hachage (la limite par adresse IP est appliquée par le filtre)
+        authRateLimiter.checkUsername(authenticationRequest.getUsername());
+
+        // Authentification : l'utilisateur est chargé une seule fois, par le fournisseur d'authentification
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(authenticationRequest.getUsername(), authenticationRequest.getPassword())
         );
 
-        // Charger les détails de l'utilisateur
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(authenticationRequest.getUsername());
-        final String jwt = jwtTokenUtil.generateToken(userDetails);
+        // Générer le token à partir du principal déjà chargé
+        final CustomUserPrincipal userPrincipal = (CustomUserPrincipal) authentication.getPrincipal();
+        final String jwt = jwtTokenUtil.generateToken(userPrincipal);
 
-        // Mettre à jour le champ lastLogin pour l'utilisateur
-        Optional<User> userOpt = userService.findByUsername(authenticationRequest.getUsername());
-        userOpt.ifPresent(userService::updateLastLogin);
+        // Mettre à jour le champ lastLogin pour l'utilisateur (écriture différée)
+        userService.updateLastLogin(userPrincipal.getId());
 
-        return new AuthenticationResponse(jwt);
+        return new AuthenticationResponse(jwt, refreshTokenService.issue(userPrincipal.getId()));
     }
 
     @PostMapping("/register")
@@ -67,21 +76,44 @@ public class AuthenticationController {
         // Création du nouvel utilisateur
         User newUser = new User();
         newUser.setUsername(authenticationRequest.getUsername());
-        newUser.setPassword(passwordEncoder.encode(authenticationRequest.getPassword()));
+        newUser.setPassword(authenticationRequest.getPassword()); // Encodé une seule fois par le service
         newUser.setEmail(authenticationRequest.getEmail());
 
         // Enregistrer l'utilisateur et mettre à jour lastLogin
-        userService.registerNewUser(newUser);
+        User savedUser = userService.registerNewUser(newUser);
 
-        // Authentification automatique après l'inscription
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(authenticationRequest.getUsername(), authenticationRequest.getPassword())
-        );
+        // Générer le token JWT directement à partir de l'utilisateur enregistré,
+        // sans réauthentification (nouveau BCrypt) ni rechargement en base
+        final String jwt = jwtTokenUtil.generateToken(new CustomUserPrincipal(savedUser));
+
+        return new ResponseEntity<>(new AuthenticationResponse(jwt, refreshTokenService.issue(savedUser.getId())),
+                HttpStatus.CREATED);
+    }
 
-        // Générer le token JWT
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(authenticationRequest.getUsername());
-        final String jwt = jwtTokenUtil.generateToken(userDetails);
+    @PostMapping("/refresh")
+    public AuthenticationResponse refreshToken(@RequestBody RefreshTokenRequest refreshTokenRequest) {
+        // Le token de rafraîchissement est consommé et remplacé par un nouveau
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
+        final String jwt = jwtTokenUtil.generateToken(new CustomUserPrincipal(rotated.user()));
+        return new AuthenticationResponse(jwt, rotated.refreshToken());
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authorizationHeader,
+                                       @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        if (refreshTokenRequest != null) {
+            refreshTokenService.revoke(refreshTokenRequest.getRefreshToken());
+        }
 
-        return new ResponseEntity<>(new AuthenticationResponse(jwt), HttpStatus.CREATED);
+        // Le token d'accès reste refusé jusqu'à son expiration
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            try {
+                VerifiedToken verifiedToken = jwtTokenUtil.verify(authorizationHeader.substring(7));
+                tokenDenylist.revoke(verifiedToken.tokenId(), verifiedToken.expiresAt());
+            } catch (JwtException | IllegalArgumentException e) {
+                // Token expiré ou invalide : il est déjà refusé
+            }
+        }
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,61 @@
+package com.demo.neverlate.controller;
+
+import com.demo.neverlate.dto.CatalogZoneDTO;
+import com.demo.neverlate.service.ZoneCatalog;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Contrôleur REST du catalogue des fuseaux horaires IANA, utilisé pour l'autocomplétion.
+ * Le catalogue ne change qu'avec la base tz du JDK : les réponses sont publiques et conservées longtemps par les
+ * navigateurs et les caches intermédiaires.
+ */
+@RestController
+@RequestMapping("/api/catalog")
+@Tag(name = "Catalog Controller", description = "Endpoints du catalogue des fuseaux horaires")
+public class CatalogController {
+
+    @Autowired
+    private ZoneCatalog zoneCatalog;
+
+    @Value("${neverlate.catalog.max-limit:50}")
+    private int maxLimit = 50;
+
+    @Value("${neverlate.catalog.max-age:1d}")
+    private Duration maxAge = Duration.ofDays(1);
+
+    /**
+     * Recherche dans le catalogue les fuseaux horaires correspondant à une saisie.
+     *
+     * @param q     la saisie : début d'un mot de la ville, de l'identifiant IANA ou du nom anglais ou français
+     * @param limit le nombre maximal de fuseaux renvoyés (borné par la configuration)
+     * @return une liste de {@link CatalogZoneDTO}, les fuseaux trouvés par leur ville en premier
+     */
+    @Operation(summary = "Rechercher un fuseau horaire IANA par ville, identifiant ou nom")
+    @GetMapping("/zones")
+    public ResponseEntity<List<CatalogZoneDTO>> searchZones(@RequestParam(defaultValue = "") String q,
+                                                            @RequestParam(defaultValue = "10") int limit,
+                                                            WebRequest request) {
+        // La réponse ne dépend que de la requête et de la version du catalogue
+        String eTag = "\"" + zoneCatalog.getVersion() + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(cacheControl)
+                .body(zoneCatalog.search(q, Math.min(limit, maxLimit)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.demo.neverlate.controller;
+
+import com.demo.neverlate.config.AuthenticatedUser;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.service.ClockStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+
+/**
+ * Point d'accès du flux d'horloge (Server-Sent Events) : {@code GET /api/timezones/clock?interval=minute|second}.
+ * <p>
+ * Servlet asynchrone enregistrée à côté du DispatcherServlet : une fois la requête passée en mode asynchrone, plus
+ * aucun thread ne lui est associé, les envois étant assurés par {@link ClockStream}. L'authentification reste
+ * assurée par la chaîne de filtres de Spring Security. La liste des fuseaux horaires est lue à l'ouverture du flux :
+ * le client se reconnecte pour prendre en compte ses modifications.
+ */
+public class ClockStreamServlet extends HttpServlet {
+
+    private final ClockStream clockStream;
+    private final TimeZoneRepository timeZoneRepository;
+
+    public ClockStreamServlet(ClockStream clockStream, TimeZoneRepository timeZoneRepository) {
+        this.clockStream = clockStream;
+        this.timeZoneRepository = timeZoneRepository;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String interval = request.getParameter("interval");
+        boolean everySecond = "second".equals(interval);
+        if (!everySecond && interval != null && !"minute".equals(interval)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid interval: " + interval);
+            return;
+        }
+        AuthenticatedUser userPrincipal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (!clockStream.subscribe(request, response,
+                timeZoneRepository.findDtosByUserIdOrderByOffset(userPrincipal.getId()), everySecond)) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "30");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many clock streams");
+        }
+    }
+}
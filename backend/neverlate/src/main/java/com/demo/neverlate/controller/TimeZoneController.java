@@ -1,18 +1,43 @@
 package com.demo.neverlate.controller;
 
-import com.demo.neverlate.config.CustomUserPrincipal;
+import com.demo.neverlate.config.AuthenticatedUser;
+import com.demo.neverlate.config.ReadYourWrites;
+import com.demo.neverlate.dto.BatchResultDTO;
+import com.demo.neverlate.dto.ConversionRequest;
+import com.demo.neverlate.dto.MeetingSlotDTO;
+import com.demo.neverlate.dto.MeetingSlotRequest;
+import com.demo.neverlate.dto.TimeZoneComparisonDTO;
 import com.demo.neverlate.dto.TimeZoneDTO;
-import com.demo.neverlate.model.User;
+import com.demo.neverlate.dto.TimeZonePage;
+import com.demo.neverlate.service.ConversionMatrix;
+import com.demo.neverlate.service.MeetingSlotService;
+import com.demo.neverlate.service.TimeZoneBatchService;
+import com.demo.neverlate.service.TimeZoneComparisonService;
+import com.demo.neverlate.service.TimeZoneConversionService;
+import com.demo.neverlate.service.TimeZoneListVersionService;
 import com.demo.neverlate.service.TimeZoneService;
+import com.demo.neverlate.service.TimeZoneTransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Contrôleur REST pour gérer les fuseaux horaires (TimeZones) de l'utilisateur.
@@ -23,9 +48,33 @@ import java.util.List;
 @Tag(name = "TimeZone Controller", description = "Endpoints pour la gestion des fuseaux horaires des utilisateurs")
 public class TimeZoneController {
 
+    // Réponses conservées par le navigateur, mais revalidées (If-None-Match) à chaque utilisation
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private TimeZoneService timeZoneService;
 
+    @Autowired
+    private TimeZoneListVersionService timeZoneListVersionService;
+
+    @Autowired
+    private TimeZoneComparisonService timeZoneComparisonService;
+
+    @Autowired
+    private TimeZoneConversionService timeZoneConversionService;
+
+    @Autowired
+    private MeetingSlotService meetingSlotService;
+
+    @Autowired
+    private TimeZoneBatchService timeZoneBatchService;
+
+    @Autowired
+    private TimeZoneTransferService timeZoneTransferService;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
     /**
      * Récupère tous les fuseaux horaires de l'utilisateur courant.
      *
@@ -33,9 +82,29 @@ public class TimeZoneController {
      */
     @Operation(summary = "Récupérer tous les fuseaux horaires de l'utilisateur courant")
     @GetMapping()
-    public ResponseEntity<List<TimeZoneDTO>> getUserTimeZones() {
-        List<TimeZoneDTO> timeZones = timeZoneService.findAllForCurrentUser(); // Renvoie les TimeZones en DTO
-        return ResponseEntity.ok(timeZones);
+    public ResponseEntity<List<TimeZoneDTO>> getUserTimeZones(WebRequest request) {
+        // Liste inchangée depuis la dernière lecture du client : 304 sans charger ni sérialiser les fuseaux
+        String eTag = timeZoneListVersionService.currentETag(currentUserId());
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        List<TimeZoneDTO> timeZones = timeZoneService.findAllForCurrentUser(eTag); // Renvoie les TimeZones en DTO
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(timeZones);
+    }
+
+    /**
+     * Récupère une page des fuseaux horaires de l'utilisateur courant (pagination par clé).
+     * Sans paramètre {@code limit}, la liste complète est renvoyée par {@link #getUserTimeZones(WebRequest)}.
+     *
+     * @param limit  le nombre maximal de fuseaux horaires de la page
+     * @param cursor le curseur renvoyé avec la page précédente (absent pour la première page)
+     * @return une {@link TimeZonePage} contenant les fuseaux horaires et le curseur de la page suivante
+     */
+    @Operation(summary = "Récupérer une page des fuseaux horaires de l'utilisateur courant")
+    @GetMapping(params = "limit")
+    public ResponseEntity<TimeZonePage> getUserTimeZonesPage(@RequestParam int limit,
+                                                             @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(timeZoneService.findPageForCurrentUser(limit, cursor));
     }
 
     /**
@@ -46,8 +115,114 @@ public class TimeZoneController {
      */
     @Operation(summary = "Récupérer un fuseau horaire par son ID")
     @GetMapping("/{id}")
-    public ResponseEntity<TimeZoneDTO> getTimeZoneById(@PathVariable Long id) {
-        return ResponseEntity.ok(timeZoneService.findById(id)); // Renvoie le TimeZone sous forme de DTO
+    public ResponseEntity<TimeZoneDTO> getTimeZoneById(@PathVariable Long id, WebRequest request) {
+        // Un fuseau horaire ne peut changer sans que la version de la liste de son propriétaire ne change. Elle est
+        // lue avant le fuseau, pour que celui-ci soit au moins aussi récent que l'ETag
+        String eTag = timeZoneListVersionService.currentETag(currentUserId());
+        // Propriété vérifiée sur le seul identifiant : 404 ou 403 avant toute requête conditionnelle, et le fuseau
+        // horaire n'est chargé que si l'ETag ne correspond pas
+        timeZoneService.checkAccess(id);
+        if (request.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(timeZoneService.findById(id));
+    }
+
+    /**
+     * Compare un fuseau horaire avec tous les autres fuseaux horaires de l'utilisateur courant.
+     *
+     * @param id   l'ID du fuseau horaire de référence
+     * @param at   la date et heure locale dans le fuseau de référence (format ISO, par défaut l'instant présent)
+     * @param lang la langue de formatage des dates ("FR" ou "EN")
+     * @return un {@link TimeZoneComparisonDTO} contenant la date et heure locale dans chaque fuseau horaire
+     */
+    @Operation(summary = "Comparer un fuseau horaire avec les autres fuseaux horaires de l'utilisateur courant")
+    @GetMapping("/{id}/compare")
+    public ResponseEntity<TimeZoneComparisonDTO> compareTimeZone(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(defaultValue = "EN") String lang) {
+        return ResponseEntity.ok(timeZoneComparisonService.compare(id, at, lang));
+    }
+
+    /**
+     * Convertit une liste ou une plage d'instants dans tous les fuseaux horaires de l'utilisateur courant.
+     * La matrice instants × fuseaux est écrite dans la réponse au fur et à mesure de son calcul.
+     *
+     * @param request les instants ({@code instants}) ou la plage ({@code start}, {@code end}, {@code step}) à convertir
+     * @return la matrice des dates et heures locales, en flux JSON
+     */
+    @Operation(summary = "Convertir des instants dans tous les fuseaux horaires de l'utilisateur courant")
+    @PostMapping("/convert")
+    public ResponseEntity<StreamingResponseBody> convertInstants(@RequestBody ConversionRequest request) {
+        // Validation et chargement des fuseaux avant le début de la réponse : les erreurs restent des 400
+        ConversionMatrix matrix = timeZoneConversionService.prepare(request);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(matrix::writeTo);
+    }
+
+    /**
+     * Recherche les créneaux pendant lesquels tous les fuseaux horaires de l'utilisateur courant (ou un quorum)
+     * sont en heures ouvrées.
+     *
+     * @param request la période, la durée minimale, le quorum et les heures ouvrées par fuseau horaire
+     * @return la liste des {@link MeetingSlotDTO}, triés chronologiquement
+     */
+    @Operation(summary = "Rechercher les créneaux de réunion communs aux fuseaux horaires de l'utilisateur courant")
+    @PostMapping("/meeting-slots")
+    public ResponseEntity<List<MeetingSlotDTO>> findMeetingSlots(@RequestBody MeetingSlotRequest request) {
+        return ResponseEntity.ok(meetingSlotService.findSlots(request));
+    }
+
+    /**
+     * Exporte les fuseaux horaires de l'utilisateur courant, écrits dans la réponse au fil de leur lecture en base.
+     *
+     * @param format le format du fichier : {@code csv} (par défaut) ou {@code ndjson}
+     * @return le fichier, en flux
+     */
+    @Operation(summary = "Exporter les fuseaux horaires de l'utilisateur courant en CSV ou NDJSON")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTimeZones(@RequestParam(defaultValue = "csv") String format) {
+        TimeZoneTransferService.Format exportFormat = TimeZoneTransferService.Format.of(format);
+        // Le corps est écrit hors du thread de la requête, sans contexte de sécurité : l'utilisateur est résolu ici,
+        // et désigné comme sujet de la lecture pour qu'elle aille sur la base primaire après une de ses écritures
+        AuthenticatedUser userPrincipal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        Long userId = userPrincipal.getId();
+        String username = userPrincipal.getUsername();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"timezones." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"")
+                .body(out -> {
+                    try {
+                        readYourWrites.readFor(username, () -> {
+                            try {
+                                timeZoneTransferService.exportTimeZones(userId, exportFormat, out);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                            return null;
+                        });
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * Importe des fuseaux horaires pour l'utilisateur courant depuis un fichier CSV ({@code text/csv}, avec en-tête)
+     * ou NDJSON ({@code application/x-ndjson}), lu au fil de la requête.
+     *
+     * @param contentType le type du fichier envoyé
+     * @param body le contenu du fichier
+     * @return le {@link BatchResultDTO} indiquant le nombre de lignes importées et les lignes en erreur
+     * @throws IOException si la lecture de la requête échoue
+     */
+    @Operation(summary = "Importer des fuseaux horaires depuis un fichier CSV ou NDJSON")
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BatchResultDTO> importTimeZones(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        return ResponseEntity.ok(timeZoneTransferService.importTimeZones(
+                TimeZoneTransferService.Format.ofMediaType(contentType), body));
     }
 
     /**
@@ -59,12 +234,48 @@ public class TimeZoneController {
     @Operation(summary = "Créer un nouveau fuseau horaire pour l'utilisateur courant")
     @PostMapping
     public ResponseEntity<String> createTimeZone(@Valid @RequestBody TimeZoneDTO timeZoneDTO) {
-        CustomUserPrincipal userPrincipal = (CustomUserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        User user = userPrincipal.getUser();
-        timeZoneService.saveTimeZone(timeZoneDTO, user); // Sauvegarde le TimeZone
+        AuthenticatedUser userPrincipal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        timeZoneService.saveTimeZone(timeZoneDTO, userPrincipal.getId()); // Sauvegarde le TimeZone
         return ResponseEntity.ok("TimeZone créé avec succès");
     }
 
+    /**
+     * Crée plusieurs fuseaux horaires pour l'utilisateur courant, en une seule transaction.
+     * Les éléments invalides sont signalés individuellement sans empêcher la création des autres.
+     *
+     * @param timeZoneDTOs les fuseaux horaires à créer
+     * @return le {@link BatchResultDTO} indiquant le résultat de chaque élément
+     */
+    @Operation(summary = "Créer plusieurs fuseaux horaires pour l'utilisateur courant")
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> createTimeZones(@RequestBody List<TimeZoneDTO> timeZoneDTOs) {
+        return ResponseEntity.ok(timeZoneBatchService.createAll(timeZoneDTOs));
+    }
+
+    /**
+     * Met à jour plusieurs fuseaux horaires de l'utilisateur courant, en une seule transaction.
+     *
+     * @param timeZoneDTOs les fuseaux horaires à mettre à jour, identifiés par leur ID
+     * @return le {@link BatchResultDTO} indiquant le résultat de chaque élément
+     */
+    @Operation(summary = "Mettre à jour plusieurs fuseaux horaires")
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDTO> updateTimeZones(@RequestBody List<TimeZoneDTO> timeZoneDTOs) {
+        return ResponseEntity.ok(timeZoneBatchService.updateAll(timeZoneDTOs));
+    }
+
+    /**
+     * Supprime plusieurs fuseaux horaires par leur ID, en une seule transaction.
+     *
+     * @param ids les IDs des fuseaux horaires à supprimer
+     * @return le {@link BatchResultDTO} indiquant le résultat de chaque élément
+     */
+    @Operation(summary = "Supprimer plusieurs fuseaux horaires par leur ID")
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDTO> deleteTimeZones(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(timeZoneBatchService.deleteAll(ids));
+    }
+
     /**
      * Met à jour un fuseau horaire existant pour l'utilisateur courant.
      *
@@ -92,4 +303,13 @@ public class TimeZoneController {
         timeZoneService.deleteById(id);
         return ResponseEntity.ok().build();
     }
+
+    private static Long currentUserId() {
+        AuthenticatedUser userPrincipal = (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return userPrincipal.getId();
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(REVALIDATE).build();
+    }
 }
@@ -1,10 +1,17 @@
 package com.demo.neverlate.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 @Getter
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AuthenticationResponse {
     private final String jwt;
+    private final String refreshToken;
+
+    public AuthenticationResponse(String jwt) {
+        this(jwt, null);
+    }
 }
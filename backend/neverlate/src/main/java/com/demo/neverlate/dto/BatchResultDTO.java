@@ -0,0 +1,61 @@
+package com.demo.neverlate.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Résultat d'une opération par lots : le statut de chaque élément, dans l'ordre de la requête.
+ * Les éléments valides sont appliqués dans une même transaction ; les éléments en erreur sont ignorés.
+ * Pour un import de fichier, seules les lignes en erreur sont listées (dans une limite configurable).
+ */
+@Getter
+@AllArgsConstructor
+public class BatchResultDTO {
+
+    /**
+     * Le nombre d'éléments appliqués.
+     */
+    private final int succeeded;
+
+    /**
+     * Le nombre d'éléments en erreur.
+     */
+    private final int failed;
+
+    /**
+     * Le résultat de chaque élément.
+     */
+    private final List<ItemResult> results;
+
+    /**
+     * Résultat d'un élément du lot.
+     */
+    @Getter
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+
+        /**
+         * La position de l'élément dans la requête.
+         */
+        private final int index;
+
+        /**
+         * L'ID du fuseau horaire concerné (absent si inconnu).
+         */
+        private final Long id;
+
+        /**
+         * Le statut HTTP équivalent de l'élément (201, 200, 204, 400, 403 ou 404).
+         */
+        private final int status;
+
+        /**
+         * Le message d'erreur, pour un élément en erreur.
+         */
+        private final String error;
+    }
+}
@@ -0,0 +1,32 @@
+package com.demo.neverlate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Fuseau horaire IANA du catalogue, proposé à la saisie d'un fuseau horaire.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogZoneDTO {
+
+    /**
+     * L'identifiant IANA du fuseau horaire, par exemple "Europe/Paris".
+     */
+    private final String zoneId;
+
+    /**
+     * La ville de référence du fuseau horaire, déduite de son identifiant.
+     */
+    private final String city;
+
+    /**
+     * Le nom du fuseau horaire en anglais, par exemple "Central European Time".
+     */
+    private final String nameEn;
+
+    /**
+     * Le nom du fuseau horaire en français, par exemple "heure d’Europe centrale".
+     */
+    private final String nameFr;
+}
@@ -0,0 +1,44 @@
+package com.demo.neverlate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Requête de conversion en masse : les instants à convertir dans chacun des fuseaux horaires de l'utilisateur.
+ * Les instants sont donnés soit sous forme de liste, soit sous forme de plage ({@code start}, {@code end}, {@code step}).
+ * Ils sont convertis à la seconde près.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ConversionRequest {
+
+    /**
+     * Liste explicite des instants (exclusive avec la plage).
+     */
+    private List<Instant> instants;
+
+    /**
+     * Premier instant de la plage.
+     */
+    private Instant start;
+
+    /**
+     * Dernier instant de la plage (inclus s'il tombe sur un pas).
+     */
+    private Instant end;
+
+    /**
+     * Pas de la plage (au moins une seconde, format ISO-8601 : "PT15M").
+     */
+    private Duration step;
+}
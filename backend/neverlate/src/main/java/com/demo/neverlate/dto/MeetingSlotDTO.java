@@ -0,0 +1,30 @@
+package com.demo.neverlate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Créneau pendant lequel au moins le quorum des fuseaux horaires demandés est en heures ouvrées.
+ */
+@Getter
+@AllArgsConstructor
+public class MeetingSlotDTO {
+
+    /**
+     * Début du créneau.
+     */
+    private final Instant start;
+
+    /**
+     * Fin (exclue) du créneau.
+     */
+    private final Instant end;
+
+    /**
+     * Les fuseaux horaires en heures ouvrées pendant tout le créneau.
+     */
+    private final List<Long> availableTimeZoneIds;
+}
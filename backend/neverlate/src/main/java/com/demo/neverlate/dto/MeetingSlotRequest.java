@@ -0,0 +1,66 @@
+package com.demo.neverlate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Requête de recherche de créneaux de réunion communs aux fuseaux horaires de l'utilisateur.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MeetingSlotRequest {
+
+    /**
+     * Début de la période de recherche.
+     */
+    private Instant start;
+
+    /**
+     * Fin (exclue) de la période de recherche.
+     */
+    private Instant end;
+
+    /**
+     * Durée minimale d'un créneau (par défaut 30 minutes, format ISO-8601 : "PT1H").
+     */
+    private Duration minDuration;
+
+    /**
+     * Nombre minimal de fuseaux horaires en heures ouvrées pendant le créneau (par défaut tous).
+     */
+    private Integer quorum;
+
+    /**
+     * Les fuseaux horaires à prendre en compte (par défaut tous ceux de l'utilisateur).
+     */
+    private List<Long> timeZoneIds;
+
+    /**
+     * Heures ouvrées locales par ID de fuseau horaire (par défaut celles de la configuration, 09:00–18:00).
+     */
+    private Map<Long, WorkingHours> workingHours;
+
+    /**
+     * Heures ouvrées locales d'un fuseau horaire. Une fin antérieure au début désigne une plage de nuit.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WorkingHours {
+        private LocalTime start;
+        private LocalTime end;
+    }
+}
@@ -0,0 +1,55 @@
+package com.demo.neverlate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO représentant la comparaison d'un fuseau horaire de référence avec les autres fuseaux horaires de l'utilisateur,
+ * pour une date et heure locale donnée dans le fuseau de référence.
+ */
+@Getter
+@AllArgsConstructor
+public class TimeZoneComparisonDTO {
+
+    /**
+     * Le fuseau horaire de référence.
+     */
+    private final TimeZoneDTO reference;
+
+    /**
+     * La date et heure locale comparée, dans le fuseau de référence.
+     */
+    private final LocalDateTime at;
+
+    /**
+     * L'instant correspondant (UTC).
+     */
+    private final Instant instant;
+
+    /**
+     * La date et heure locale dans chacun des autres fuseaux horaires de l'utilisateur.
+     */
+    private final List<ComparedTimeZone> comparisons;
+
+    /**
+     * Date et heure locale dans un fuseau horaire comparé.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ComparedTimeZone {
+        private final Long id;
+        private final String label;
+        private final String city;
+        private final String offset;
+        private final LocalDateTime localDateTime;
+
+        /**
+         * La date et heure locale formatée selon la langue demandée.
+         */
+        private final String formattedDateTime;
+    }
+}
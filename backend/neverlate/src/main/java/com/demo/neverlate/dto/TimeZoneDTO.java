@@ -1,10 +1,14 @@
 package com.demo.neverlate.dto;
 
+import com.demo.neverlate.utils.Offsets;
+import com.demo.neverlate.validation.ValidOffset;
+import com.demo.neverlate.validation.ValidZoneId;
 import jakarta.validation.constraints.NotEmpty;
-import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
+import java.time.ZoneOffset;
+
 /**
  * DTO (Data Transfer Object) pour la gestion des fuseaux horaires.
  * Ce DTO est utilisé pour transférer les informations relatives aux fuseaux horaires entre la couche front-end et back-end.
@@ -37,9 +41,28 @@ public class TimeZoneDTO {
 
     /**
      * Le décalage horaire du fuseau par rapport à UTC.
-     * Ce champ ne doit pas être vide et doit respecter le format +/-HH:mm (exemple : "+02:00").
+     * Ce champ doit respecter le format +/-HH:mm (exemple : "+02:00"). Il est obligatoire, sauf si un identifiant IANA
+     * est fourni : le décalage renvoyé est alors le décalage actuel de ce fuseau (heure d'été comprise).
      */
-    @NotEmpty(message = "Le décalage horaire est obligatoire")
-    @Pattern(regexp = "^(\\+|-)[0-9]{2}:[0-9]{2}$", message = "Le décalage horaire doit être au format +/-HH:mm")
+    @ValidOffset
     private String offset;
+
+    /**
+     * L'identifiant IANA du fuseau horaire (exemple : "Europe/Paris"), facultatif.
+     */
+    @ValidZoneId
+    private String zoneId;
+
+    /**
+     * Constructeur utilisé par les projections JPQL, à partir du décalage stocké en base.
+     *
+     * @param id     l'ID du fuseau horaire
+     * @param label  le nom du fuseau horaire
+     * @param city   la ville associée
+     * @param offset le décalage horaire stocké
+     * @param zoneId l'identifiant IANA du fuseau horaire
+     */
+    public TimeZoneDTO(Long id, String label, String city, ZoneOffset offset, String zoneId) {
+        this(id, label, city, Offsets.format(offset), zoneId);
+    }
 }
@@ -0,0 +1,25 @@
+package com.demo.neverlate.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Page de fuseaux horaires obtenue par pagination par clé (keyset).
+ * Le curseur est opaque pour le client : il suffit de le renvoyer pour obtenir la page suivante.
+ */
+@Getter
+@AllArgsConstructor
+public class TimeZonePage {
+
+    /**
+     * Les fuseaux horaires de la page, triés par position puis par ID croissants.
+     */
+    private final List<TimeZoneDTO> items;
+
+    /**
+     * Le curseur de la page suivante, ou null s'il n'y a plus de résultats.
+     */
+    private final String nextCursor;
+}
@@ -0,0 +1,27 @@
+package com.demo.neverlate.dto;
+
+import java.time.ZoneOffset;
+
+/**
+ * Ligne d'une page de fuseaux horaires : le {@link TimeZoneDTO} renvoyé au client et sa position dans la liste,
+ * nécessaire au curseur de la page suivante.
+ *
+ * @param position la position du fuseau horaire dans la liste de l'utilisateur
+ * @param timeZone le fuseau horaire
+ */
+public record TimeZonePageRow(int position, TimeZoneDTO timeZone) {
+
+    /**
+     * Constructeur utilisé par les projections JPQL, à partir du décalage stocké en base.
+     *
+     * @param position la position du fuseau horaire
+     * @param id       l'ID du fuseau horaire
+     * @param label    le nom du fuseau horaire
+     * @param city     la ville associée
+     * @param offset   le décalage horaire stocké
+     * @param zoneId   l'identifiant IANA du fuseau horaire
+     */
+    public TimeZonePageRow(int position, Long id, String label, String city, ZoneOffset offset, String zoneId) {
+        this(position, new TimeZoneDTO(id, label, city, offset, zoneId));
+    }
+}
@@ -0,0 +1,19 @@
+package com.demo.neverlate.exception;
+
+/**
+ * Levée lorsque le pool de hachage des mots de passe est saturé.
+ * Le client est invité à réessayer après le délai indiqué.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.demo.neverlate.exception;
+
+/**
+ * Levée lorsqu'un client dépasse le nombre de tentatives d'authentification autorisées.
+ * Le client est invité à réessayer après le délai indiqué.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -3,8 +3,12 @@ package com.demo.neverlate.mapper;
 import com.demo.neverlate.dto.TimeZoneDTO;
 import com.demo.neverlate.model.TimeZone;
 import com.demo.neverlate.model.User;
+import com.demo.neverlate.model.Zone;
+import com.demo.neverlate.utils.Offsets;
 import org.springframework.stereotype.Component;
 
+import java.time.ZoneOffset;
+
 /**
  * Mapper pour convertir entre l'entité {@link TimeZone} et le DTO {@link TimeZoneDTO}.
  * Ce mapper permet de convertir les données entrantes sous forme de DTO en entités pour la base de données,
@@ -15,22 +19,39 @@ public class TimeZoneMapper {
 
     /**
      * Convertit un {@link TimeZoneDTO} en une entité {@link TimeZone}.
-     * Associe également le fuseau horaire à l'utilisateur courant.
+     * Associe également le fuseau horaire à l'utilisateur courant et à sa zone partagée.
      *
      * @param timeZoneDTO l'objet {@link TimeZoneDTO} à convertir
      * @param user l'utilisateur associé au fuseau horaire
+     * @param zone la zone partagée correspondant au DTO (voir {@link #toZone(TimeZoneDTO)})
      * @return l'entité {@link TimeZone} correspondante
      */
-    public TimeZone toEntity(TimeZoneDTO timeZoneDTO, User user) {
+    public TimeZone toEntity(TimeZoneDTO timeZoneDTO, User user, Zone zone) {
         TimeZone timeZone = new TimeZone();
         timeZone.setId(timeZoneDTO.getId());
         timeZone.setLabel(timeZoneDTO.getLabel());
-        timeZone.setCity(timeZoneDTO.getCity());
-        timeZone.setOffset(timeZoneDTO.getOffset());
+        timeZone.setZone(zone);
         timeZone.setUser(user);  // Associer le TimeZone à l'utilisateur courant
         return timeZone;
     }
 
+    /**
+     * Construit la zone partagée (non enregistrée) décrite par un {@link TimeZoneDTO} : sa ville, son décalage et
+     * son identifiant IANA, avec la clé naturelle correspondante.
+     *
+     * @param timeZoneDTO l'objet {@link TimeZoneDTO} dont le décalage est renseigné
+     * @return la zone correspondante, sans ID
+     */
+    public Zone toZone(TimeZoneDTO timeZoneDTO) {
+        ZoneOffset offset = Offsets.parse(timeZoneDTO.getOffset());
+        return Zone.builder()
+                .naturalKey(Zone.keyOf(timeZoneDTO.getCity(), offset, timeZoneDTO.getZoneId()))
+                .city(timeZoneDTO.getCity())
+                .offset(offset)
+                .zoneId(timeZoneDTO.getZoneId())
+                .build();
+    }
+
     /**
      * Convertit une entité {@link TimeZone} en un DTO {@link TimeZoneDTO}.
      *
@@ -41,8 +62,9 @@ public class TimeZoneMapper {
         TimeZoneDTO timeZoneDTO = new TimeZoneDTO();
         timeZoneDTO.setId(timeZone.getId());
         timeZoneDTO.setLabel(timeZone.getLabel());
-        timeZoneDTO.setCity(timeZone.getCity());
-        timeZoneDTO.setOffset(timeZone.getOffset());
+        timeZoneDTO.setCity(timeZone.getZone().getCity());
+        timeZoneDTO.setOffset(Offsets.format(timeZone.getZone().getOffset()));
+        timeZoneDTO.setZoneId(timeZone.getZone().getZoneId());
         return timeZoneDTO;
     }
 }
@@ -2,8 +2,6 @@ package com.demo.neverlate.mapper;
 
 import com.demo.neverlate.dto.UserDTO;
 import com.demo.neverlate.model.User;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,12 +12,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class UserMapper {
 
-    @Autowired
-    private PasswordEncoder passwordEncoder;
-
     /**
      * Convertit un {@link UserDTO} en une entité {@link User}.
-     * Le mot de passe de l'utilisateur est encodé avant d'être sauvegardé.
+     * Le mot de passe est recopié en clair : son encodage est à la charge du service, qui le fait une seule fois.
      *
      * @param userDTO l'objet {@link UserDTO} à convertir
      * @return l'entité {@link User} correspondante
@@ -27,7 +22,7 @@ public class UserMapper {
     public User toEntity(UserDTO userDTO) {
         User user = new User();
         user.setUsername(userDTO.getUsername());
-        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));  // Encodage du mot de passe
+        user.setPassword(userDTO.getPassword());
         user.setEmail(userDTO.getEmail());
         return user;
     }
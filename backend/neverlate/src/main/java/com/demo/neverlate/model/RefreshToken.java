@@ -0,0 +1,76 @@
+package com.demo.neverlate.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+
+/**
+ * Entité représentant un token de rafraîchissement délivré à un utilisateur.
+ * Seule l'empreinte SHA-256 du token est stockée : le token lui-même n'est connu que du client.
+ * Chaque utilisation fait tourner le token (l'ancien est révoqué et un nouveau est délivré).
+ */
+@Entity
+@Table(name = "refresh_tokens",
+        indexes = {
+                @Index(name = "idx_refresh_tokens_user_id", columnList = "user_id"),
+                @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    /**
+     * L'ID unique du token, généré automatiquement.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * L'empreinte SHA-256 (hexadécimale) du token, unique.
+     */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /**
+     * L'utilisateur auquel le token a été délivré. Ses tokens sont supprimés avec lui.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    /**
+     * La date de création du token.
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    /**
+     * La date d'expiration du token.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * La date de révocation du token, nulle tant qu'il est utilisable.
+     */
+    @Column(name = "revoked_at")
+    private Instant revokedAt;
+
+    /**
+     * Indique si le token peut encore être utilisé.
+     *
+     * @param now la date courante
+     * @return true si le token n'est ni révoqué ni expiré
+     */
+    public boolean isActiveAt(Instant now) {
+        return revokedAt == null && expiresAt.isAfter(now);
+    }
+}
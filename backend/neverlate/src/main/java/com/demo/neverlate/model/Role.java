@@ -2,6 +2,9 @@ package com.demo.neverlate.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -9,9 +12,12 @@ import java.util.Set;
 /**
  * Entité représentant un rôle dans le système de gestion des utilisateurs.
  * Un rôle est associé à plusieurs utilisateurs et est utilisé pour déterminer les droits d'accès dans l'application.
+ * Les rôles ne sont jamais modifiés une fois créés : ils sont conservés en lecture seule dans le cache de second niveau.
  */
 @Entity
 @Table(name = "roles")
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 @Getter
 @Setter
 @Builder
@@ -4,12 +4,16 @@ import jakarta.persistence.*;
 import lombok.*;
 
 /**
- * Entité représentant un fuseau horaire personnalisé associé à un utilisateur.
- * Chaque utilisateur peut avoir plusieurs fuseaux horaires associés, et ces fuseaux horaires
- * sont utilisés pour gérer les conversions d'heures dans différentes villes.
+ * Entité représentant un fuseau horaire ajouté par un utilisateur.
+ * Elle ne contient que ce qui est propre à l'utilisateur (son nom pour ce fuseau et sa position dans la liste) ;
+ * la ville, le décalage et l'identifiant IANA appartiennent à la {@link Zone} partagée qu'elle référence.
  */
 @Entity
-@Table(name = "time_zones")
+@Table(name = "user_time_zones",
+        indexes = {
+                @Index(name = "idx_user_time_zones_user_id_position", columnList = "user_id, position, id"),
+                @Index(name = "idx_user_time_zones_user_id_label", columnList = "user_id, label")
+        })
 @Getter
 @Setter
 @AllArgsConstructor
@@ -20,33 +24,36 @@ public class TimeZone {
 
     /**
      * L'ID unique du fuseau horaire, généré automatiquement.
+     * Les IDs sont réservés par blocs de 50 dans une séquence (optimiseur « pooled ») : contrairement à une colonne
+     * auto-incrémentée, l'insertion n'a pas besoin d'un aller-retour par ligne et peut être regroupée en lots JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_time_zones_seq")
+    @SequenceGenerator(name = "user_time_zones_seq", sequenceName = "user_time_zones_seq", allocationSize = 50)
     private Long id;
 
     /**
-     * Le nom du fuseau horaire, qui ne peut pas être nul.
-     * Par exemple, "Pacific Standard Time" ou "Europe/Paris".
+     * Le nom donné par l'utilisateur au fuseau horaire, qui ne peut pas être nul.
+     * Par exemple, "Pacific Standard Time" ou "Bureau de Paris".
      */
     @NonNull
     @Column(nullable = false)
     private String label;
 
     /**
-     * La ville associée au fuseau horaire.
-     * Ce champ est facultatif (nullable = true).
+     * La position du fuseau horaire dans la liste de l'utilisateur, attribuée à la suite des siens à sa création.
+     * Deux créations concurrentes peuvent recevoir la même position : l'ID les départage.
      */
-    @Column(nullable = true)
-    private String city;
+    @Column(nullable = false)
+    private int position;
 
     /**
-     * Le décalage horaire par rapport à UTC (format +/-HH:mm), qui ne peut pas être nul.
-     * Par exemple, "+02:00" pour un décalage de 2 heures par rapport à UTC.
+     * La zone partagée : ville, décalage horaire et identifiant IANA.
      */
     @NonNull
-    @Column(name = "timezone_offset", nullable = false)
-    private String offset;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "zone_id", nullable = false)
+    private Zone zone;
 
     /**
      * L'utilisateur auquel ce fuseau horaire est associé.
@@ -56,6 +63,4 @@ public class TimeZone {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
-
-
 }
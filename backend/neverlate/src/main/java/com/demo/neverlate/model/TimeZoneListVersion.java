@@ -0,0 +1,50 @@
+package com.demo.neverlate.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Entité représentant la version de la liste des fuseaux horaires d'un utilisateur.
+ * La version est incrémentée par chaque modification de la liste ; elle sert d'ETag aux requêtes de lecture.
+ * Elle est conservée hors de la table {@code users} pour que ces incréments ne touchent pas les utilisateurs.
+ */
+@Entity
+@Table(name = "time_zone_list_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimeZoneListVersion {
+
+    /**
+     * L'ID de l'utilisateur, clé primaire partagée avec {@link User}.
+     */
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * L'utilisateur propriétaire de la liste. Sa version est supprimée avec lui.
+     */
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    /**
+     * La version de la liste, incrémentée à chaque création, modification ou suppression d'un fuseau horaire.
+     */
+    @Column(nullable = false)
+    private long version;
+
+    /**
+     * Le prochain changement de décalage (heure d'été...) parmi les fuseaux IANA de la liste, en secondes depuis
+     * l'époque, ou null si la liste n'en comporte pas. Les décalages renvoyés changeant à cet instant, l'ETag aussi.
+     */
+    @Column(name = "offsets_valid_until")
+    private Long offsetsValidUntil;
+}
@@ -2,6 +2,9 @@ package com.demo.neverlate.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.Date;
@@ -11,9 +14,15 @@ import java.util.Set;
 /**
  * Entité représentant un utilisateur dans le système.
  * Chaque utilisateur possède un ensemble de rôles et peut avoir plusieurs fuseaux horaires personnalisés.
+ * <p>
+ * L'utilisateur et ses rôles sont conservés dans le cache de second niveau. La date de dernière connexion étant écrite
+ * directement en JDBC ({@code LastLoginBuffer}), la valeur en cache peut être en retard : les mises à jour n'écrivent
+ * que les colonnes modifiées, pour ne jamais la remplacer par cette valeur.
  */
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -23,10 +32,11 @@ import java.util.Set;
 public class User {
 
     /**
-     * L'ID unique de l'utilisateur, généré automatiquement.
+     * L'ID unique de l'utilisateur, généré automatiquement par blocs de 50 (séquence, optimiseur « pooled »).
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -70,7 +80,7 @@ public class User {
      * Relation Many-to-Many avec l'entité {@link Role}.
      */
     @ManyToMany(fetch = FetchType.EAGER)
-
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles")
     @JoinTable(name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "role_id"))
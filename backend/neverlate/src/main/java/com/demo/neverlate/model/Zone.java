@@ -0,0 +1,84 @@
+package com.demo.neverlate.model;
+
+import com.demo.neverlate.utils.Offsets;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import java.time.ZoneOffset;
+
+/**
+ * Entité représentant un fuseau horaire partagé : une ville et son fuseau (identifiant IANA ou décalage fixe).
+ * <p>
+ * Une même zone est référencée par tous les utilisateurs qui l'ont ajoutée ({@link TimeZone}), chacun avec son propre
+ * nom. Les zones ne sont jamais modifiées : modifier le fuseau d'un utilisateur le fait pointer vers une autre zone.
+ * Elles sont donc conservées en lecture seule dans le cache de second niveau, une fois pour tous les utilisateurs.
+ */
+@Entity
+@Table(name = "zones",
+        uniqueConstraints = @UniqueConstraint(name = "uk_zones_zone_key", columnNames = "zone_key"))
+@Immutable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "zones")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Zone {
+
+    /**
+     * Longueur maximale de la clé naturelle : identifiant IANA (64), séparateur et ville (255).
+     */
+    public static final int KEY_LENGTH = 320;
+
+    /**
+     * L'ID unique de la zone, tiré de la séquence {@code zones_seq} : les zones sont insérées par MERGE, l'ID étant la
+     * valeur par défaut de la colonne (voir {@code ZoneRepository.insertIfAbsent}).
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "zones_seq")
+    @SequenceGenerator(name = "zones_seq", sequenceName = "zones_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * La clé naturelle de la zone (voir {@link #keyOf(String, ZoneOffset, String)}), unique.
+     */
+    @Column(name = "zone_key", nullable = false, length = KEY_LENGTH)
+    private String naturalKey;
+
+    /**
+     * La ville associée au fuseau horaire, facultative.
+     */
+    @Column(nullable = true)
+    private String city;
+
+    /**
+     * Le décalage horaire par rapport à UTC, stocké en nombre entier de secondes.
+     * Pour un fuseau IANA, il s'agit du décalage au moment de la création de la zone : le décalage réel est calculé
+     * à partir de l'identifiant IANA.
+     */
+    @Convert(converter = ZoneOffsetSecondsConverter.class)
+    @Column(name = "offset_seconds", nullable = false)
+    private ZoneOffset offset;
+
+    /**
+     * L'identifiant IANA du fuseau horaire (par exemple "America/New_York"), facultatif.
+     */
+    @Column(name = "iana_id", length = 64)
+    private String zoneId;
+
+    /**
+     * Calcule la clé naturelle d'une zone. Pour un fuseau IANA, le décalage n'en fait pas partie : il ne dépend que
+     * de la date à laquelle la zone a été saisie.
+     *
+     * @param city   la ville (ou null)
+     * @param offset le décalage horaire
+     * @param zoneId l'identifiant IANA (ou null)
+     * @return la clé, par exemple "Europe/Paris|Paris" ou "+05:30|Kolkata" ("+05:30" sans ville)
+     */
+    public static String keyOf(String city, ZoneOffset offset, String zoneId) {
+        String zone = zoneId != null ? zoneId : Offsets.format(offset);
+        return city == null ? zone : zone + "|" + city;
+    }
+}
@@ -0,0 +1,25 @@
+package com.demo.neverlate.model;
+
+import com.demo.neverlate.utils.Offsets;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.time.ZoneOffset;
+
+/**
+ * Convertisseur JPA stockant un {@link ZoneOffset} sous forme d'un nombre entier de secondes.
+ * Les décalages lus en base sont les instances uniques fournies par {@link Offsets}.
+ */
+@Converter
+public class ZoneOffsetSecondsConverter implements AttributeConverter<ZoneOffset, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(ZoneOffset offset) {
+        return offset == null ? null : offset.getTotalSeconds();
+    }
+
+    @Override
+    public ZoneOffset convertToEntityAttribute(Integer totalSeconds) {
+        return totalSeconds == null ? null : Offsets.ofTotalSeconds(totalSeconds);
+    }
+}
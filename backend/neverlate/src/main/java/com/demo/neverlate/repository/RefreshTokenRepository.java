@@ -0,0 +1,60 @@
+package com.demo.neverlate.repository;
+
+import com.demo.neverlate.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Référentiel (Repository) pour gérer les tokens de rafraîchissement {@link RefreshToken}.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Trouve un token par son empreinte, avec son utilisateur.
+     *
+     * @param tokenHash l'empreinte SHA-256 du token
+     * @return un objet {@link Optional} contenant le token s'il existe, sinon un {@link Optional} vide
+     */
+    @Query("select t from RefreshToken t join fetch t.user where t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Révoque un token s'il ne l'est pas déjà. La condition sur {@code revokedAt} garantit
+     * qu'un même token ne peut être utilisé qu'une seule fois, même par des requêtes concurrentes.
+     *
+     * @param id        l'ID du token
+     * @param revokedAt la date de révocation
+     * @return 1 si le token a été révoqué par cet appel, 0 s'il l'était déjà
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :revokedAt where t.id = :id and t.revokedAt is null")
+    int revokeIfActive(@Param("id") Long id, @Param("revokedAt") Instant revokedAt);
+
+    /**
+     * Révoque tous les tokens encore actifs d'un utilisateur.
+     *
+     * @param userId    l'ID de l'utilisateur
+     * @param revokedAt la date de révocation
+     * @return le nombre de tokens révoqués
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.revokedAt = :revokedAt where t.user.id = :userId and t.revokedAt is null")
+    int revokeAllForUser(@Param("userId") Long userId, @Param("revokedAt") Instant revokedAt);
+
+    /**
+     * Supprime les tokens expirés avant la date donnée.
+     *
+     * @param before la date limite
+     * @return le nombre de tokens supprimés
+     */
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") Instant before);
+}
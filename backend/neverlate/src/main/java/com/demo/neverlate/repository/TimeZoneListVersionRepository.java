@@ -0,0 +1,28 @@
+package com.demo.neverlate.repository;
+
+import com.demo.neverlate.model.TimeZoneListVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Référentiel (Repository) pour gérer les versions des listes de fuseaux horaires {@link TimeZoneListVersion}.
+ * Les modifications passent par des requêtes de mise à jour atomiques, sûres face aux écritures concurrentes.
+ */
+@Repository
+public interface TimeZoneListVersionRepository extends JpaRepository<TimeZoneListVersion, Long> {
+
+    /**
+     * Incrémente la version de la liste d'un utilisateur.
+     *
+     * @param userId            l'identifiant de l'utilisateur
+     * @param offsetsValidUntil le prochain changement de décalage des fuseaux IANA de la liste, ou null
+     * @return 1 si la version a été incrémentée, 0 si l'utilisateur n'a pas encore de version
+     */
+    @Modifying
+    @Query("update TimeZoneListVersion v set v.version = v.version + 1, v.offsetsValidUntil = :offsetsValidUntil "
+            + "where v.userId = :userId")
+    int increment(@Param("userId") Long userId, @Param("offsetsValidUntil") Long offsetsValidUntil);
+}
@@ -1,12 +1,25 @@
 package com.demo.neverlate.repository;
 
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.dto.TimeZonePageRow;
 import com.demo.neverlate.model.TimeZone;
 import com.demo.neverlate.model.User;
+import com.demo.neverlate.model.Zone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Référentiel (Repository) pour gérer les opérations CRUD sur l'entité {@link TimeZone}.
@@ -15,6 +28,21 @@ import java.util.Optional;
 @Repository
 public interface TimeZoneRepository extends JpaRepository<TimeZone, Long> {
 
+    /**
+     * Nombre de lignes lues à chaque aller-retour lors d'un parcours en flux.
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Trouve un fuseau horaire par son ID parmi ceux d'un utilisateur, avec sa zone partagée (une seule requête).
+     *
+     * @param id     l'ID du fuseau horaire
+     * @param userId l'identifiant de l'utilisateur propriétaire
+     * @return un objet {@link Optional} contenant le fuseau horaire s'il existe et appartient à l'utilisateur
+     */
+    @EntityGraph(attributePaths = "zone")
+    Optional<TimeZone> findByIdAndUserId(Long id, Long userId);
+
     /**
      * Trouve tous les fuseaux horaires associés à un utilisateur donné.
      *
@@ -23,6 +51,88 @@ public interface TimeZoneRepository extends JpaRepository<TimeZone, Long> {
      */
     List<TimeZone> findByUser(User user);
 
+    /**
+     * Trouve tous les fuseaux horaires associés à l'identifiant d'un utilisateur,
+     * sans nécessiter l'entité {@link User}.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return une liste de fuseaux horaires associés à l'utilisateur
+     */
+    List<TimeZone> findByUserId(Long userId);
+
+    /**
+     * Retourne les fuseaux horaires d'un utilisateur directement sous forme de DTO, triés par position puis par ID.
+     * Aucune entité n'est chargée dans le contexte de persistance.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return les fuseaux horaires de l'utilisateur
+     */
+    @Query("select new com.demo.neverlate.dto.TimeZoneDTO(t.id, t.label, z.city, z.offset, z.zoneId) "
+            + "from TimeZone t join t.zone z where t.user.id = :userId order by t.position, t.id")
+    List<TimeZoneDTO> findDtosByUserId(@Param("userId") Long userId);
+
+    /**
+     * Retourne les identifiants IANA distincts des fuseaux horaires d'un utilisateur.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return les identifiants IANA utilisés par l'utilisateur
+     */
+    @Query("select distinct z.zoneId from TimeZone t join t.zone z where t.user.id = :userId and z.zoneId is not null")
+    List<String> findZoneIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Parcourt les fuseaux horaires d'un utilisateur, triés par position puis par ID, sans les charger tous en mémoire :
+     * les lignes sont lues par blocs de {@value #STREAM_FETCH_SIZE} au fil du parcours.
+     * Le flux doit être consommé dans une transaction, puis fermé.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return le flux des fuseaux horaires de l'utilisateur
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.demo.neverlate.dto.TimeZoneDTO(t.id, t.label, z.city, z.offset, z.zoneId) "
+            + "from TimeZone t join t.zone z where t.user.id = :userId order by t.position, t.id")
+    Stream<TimeZoneDTO> streamDtosByUserId(@Param("userId") Long userId);
+
+    /**
+     * Retourne les fuseaux horaires d'un utilisateur sous forme de DTO, triés par décalage horaire
+     * (tri sur la colonne entière de la zone), puis par ID.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return les fuseaux horaires de l'utilisateur, d'ouest en est
+     */
+    @Query("select new com.demo.neverlate.dto.TimeZoneDTO(t.id, t.label, z.city, z.offset, z.zoneId) "
+            + "from TimeZone t join t.zone z where t.user.id = :userId order by z.offset, t.id")
+    List<TimeZoneDTO> findDtosByUserIdOrderByOffset(@Param("userId") Long userId);
+
+    /**
+     * Retourne une page de fuseaux horaires d'un utilisateur avec leur position (pagination par clé) :
+     * les fuseaux horaires situés après ({@code afterPosition}, {@code afterId}), triés par position puis par ID.
+     *
+     * @param userId        l'identifiant de l'utilisateur
+     * @param afterPosition la position du dernier fuseau horaire de la page précédente
+     * @param afterId       l'ID du dernier fuseau horaire de la page précédente
+     * @param limit         le nombre maximal de résultats
+     * @return les fuseaux horaires de la page
+     */
+    @Query("select new com.demo.neverlate.dto.TimeZonePageRow(t.position, t.id, t.label, z.city, z.offset, z.zoneId) "
+            + "from TimeZone t join t.zone z where t.user.id = :userId "
+            + "and (t.position > :afterPosition or (t.position = :afterPosition and t.id > :afterId)) "
+            + "order by t.position, t.id")
+    List<TimeZonePageRow> findRowsByUserIdAfter(@Param("userId") Long userId, @Param("afterPosition") int afterPosition,
+                                                @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Retourne la position à attribuer au prochain fuseau horaire d'un utilisateur : la suite de sa liste.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @return la position suivant la dernière, ou 0 si la liste est vide
+     */
+    @Query("select coalesce(max(t.position) + 1, 0) from TimeZone t where t.user.id = :userId")
+    int findNextPositionByUserId(@Param("userId") Long userId);
+
     /**
      * Trouve un fuseau horaire par son nom et l'utilisateur associé.
      *
@@ -31,4 +141,58 @@ public interface TimeZoneRepository extends JpaRepository<TimeZone, Long> {
      * @return un objet {@link Optional} contenant le fuseau horaire s'il existe
      */
     Optional<TimeZone> findByLabelAndUser(String label, User user);
+
+    /**
+     * Met à jour un fuseau horaire en une seule requête, uniquement s'il appartient à l'utilisateur donné.
+     *
+     * @param id     l'ID du fuseau horaire
+     * @param userId l'ID du propriétaire attendu
+     * @param label  le nouveau nom
+     * @param zone   la nouvelle zone partagée
+     * @return le nombre de lignes modifiées (0 si le fuseau horaire n'existe pas ou appartient à un autre utilisateur)
+     */
+    @Modifying
+    @Query("update TimeZone t set t.label = :label, t.zone = :zone where t.id = :id and t.user.id = :userId")
+    int updateByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId, @Param("label") String label,
+                            @Param("zone") Zone zone);
+
+    /**
+     * Supprime un fuseau horaire en une seule requête, uniquement s'il appartient à l'utilisateur donné.
+     *
+     * @param id     l'ID du fuseau horaire
+     * @param userId l'ID du propriétaire attendu
+     * @return le nombre de lignes supprimées (0 si le fuseau horaire n'existe pas ou appartient à un autre utilisateur)
+     */
+    @Modifying
+    @Query("delete from TimeZone t where t.id = :id and t.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    /**
+     * Trouve, parmi des IDs donnés, les fuseaux horaires appartenant à un utilisateur (une seule requête).
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param ids    les IDs recherchés
+     * @return les fuseaux horaires trouvés
+     */
+    @Query("select t from TimeZone t join fetch t.zone where t.user.id = :userId and t.id in :ids")
+    List<TimeZone> findByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Retourne, parmi des IDs donnés, ceux des fuseaux horaires appartenant à un utilisateur.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param ids    les IDs recherchés
+     * @return les IDs trouvés
+     */
+    @Query("select t.id from TimeZone t where t.user.id = :userId and t.id in :ids")
+    List<Long> findIdsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Retourne, parmi des IDs donnés, ceux qui existent (quel que soit leur propriétaire).
+     *
+     * @param ids les IDs recherchés
+     * @return les IDs existants
+     */
+    @Query("select t.id from TimeZone t where t.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,14 +1,25 @@
 package com.demo.neverlate.repository;
 
 import com.demo.neverlate.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Référentiel (Repository) pour gérer les opérations CRUD sur l'entité {@link User}.
  * Ce repository fournit également une méthode personnalisée pour rechercher un utilisateur par son nom d'utilisateur.
+ * Les recherches par nom d'utilisateur et par email passent par le cache de requêtes : il conserve l'ID trouvé,
+ * l'utilisateur et ses rôles étant lus dans le cache de second niveau. Toute écriture Hibernate sur la table
+ * {@code users} invalide ces résultats.
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -19,6 +30,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param username le nom d'utilisateur de l'utilisateur recherché
      * @return un objet {@link Optional} contenant l'utilisateur s'il existe, sinon un {@link Optional} vide
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByUsername(String username);
 
     /**
@@ -27,5 +39,34 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @param email l'email de l'utilisateur recherché
      * @return un objet {@link Optional} contenant l'utilisateur s'il existe, sinon un {@link Optional} vide
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
+
+    /**
+     * Verrouille la ligne d'un utilisateur jusqu'à la fin de la transaction (SELECT ... FOR UPDATE),
+     * pour sérialiser une première création de données qui lui sont propres.
+     *
+     * @param id l'identifiant de l'utilisateur
+     * @return l'identifiant, si l'utilisateur existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select u.id from User u where u.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+
+    /**
+     * Compte les utilisateurs par coût BCrypt du hachage de leur mot de passe (caractères 5 et 6 de {@code $2a$10$...}).
+     *
+     * @return le nombre d'utilisateurs pour chaque coût présent en base
+     */
+    @Query("select substring(u.password, 5, 2) as cost, count(u) as users from User u group by substring(u.password, 5, 2)")
+    List<PasswordCostCount> countByPasswordCost();
+
+    /**
+     * Projection du nombre d'utilisateurs par coût BCrypt.
+     */
+    interface PasswordCostCount {
+        String getCost();
+
+        long getUsers();
+    }
 }
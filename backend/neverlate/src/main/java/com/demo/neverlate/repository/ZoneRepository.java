@@ -0,0 +1,50 @@
+package com.demo.neverlate.repository;
+
+import com.demo.neverlate.model.Zone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Référentiel (Repository) pour gérer les opérations CRUD sur l'entité {@link Zone}.
+ * Les zones étant partagées entre les utilisateurs, elles sont recherchées par leur clé naturelle.
+ */
+@Repository
+public interface ZoneRepository extends JpaRepository<Zone, Long> {
+
+    /**
+     * Trouve les zones correspondant à des clés naturelles données (une seule requête).
+     *
+     * @param naturalKeys les clés recherchées (voir {@link Zone#keyOf})
+     * @return les zones trouvées
+     */
+    List<Zone> findByNaturalKeyIn(Collection<String> naturalKeys);
+
+    /**
+     * Insère une zone si aucune zone n'a sa clé naturelle, dans la transaction courante (MERGE H2 sur la clé).
+     * Si une autre transaction vient d'insérer la même clé, l'instruction attend sa validation puis réécrit les mêmes
+     * valeurs au lieu d'échouer sur la contrainte d'unicité. L'ID, absent de la liste des colonnes, n'est jamais
+     * modifié : une nouvelle zone reçoit la valeur suivante de {@code zones_seq} (valeur par défaut de la colonne).
+     * Seule la région des zones est invalidée dans le cache de second niveau.
+     *
+     * @param naturalKey    la clé naturelle de la zone (voir {@link Zone#keyOf})
+     * @param city          la ville, ou null
+     * @param offsetSeconds le décalage horaire, en secondes
+     * @param zoneId        l'identifiant IANA, ou null
+     * @return le nombre de lignes insérées ou réécrites
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "zones"))
+    @Query(value = "merge into zones (zone_key, city, offset_seconds, iana_id) key (zone_key) "
+            + "values (:naturalKey, :city, :offsetSeconds, :zoneId)", nativeQuery = true)
+    int insertIfAbsent(@Param("naturalKey") String naturalKey, @Param("city") String city,
+                       @Param("offsetSeconds") int offsetSeconds, @Param("zoneId") String zoneId);
+}
@@ -0,0 +1,49 @@
+package com.demo.neverlate.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtre appliquant la limite de débit par adresse IP aux points d'accès de connexion et d'inscription,
+ * avant tout traitement de la requête. La limite par nom d'utilisateur, qui nécessite de lire le corps
+ * de la requête, est appliquée par le contrôleur.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private final AuthRateLimiter authRateLimiter;
+
+    public AuthRateLimitFilter(AuthRateLimiter authRateLimiter) {
+        this.authRateLimiter = authRateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.equals("/api/auth/login") && !path.equals("/api/auth/register");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        long retryAfterSeconds = authRateLimiter.acquireForClient(request.getRemoteAddr());
+        if (retryAfterSeconds > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.getWriter().write("{\"error\": \"Trop de tentatives, veuillez réessayer plus tard\"}");
+            return;
+        }
+
+        chain.doFilter(request, response);
+    }
+}
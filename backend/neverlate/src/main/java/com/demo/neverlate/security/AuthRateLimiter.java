@@ -0,0 +1,93 @@
+package com.demo.neverlate.security;
+
+import com.demo.neverlate.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limites de débit des points d'accès d'authentification (connexion et inscription).
+ * Chaque tentative exécute un hachage BCrypt : les limites, par adresse IP du client et par nom
+ * d'utilisateur, empêchent une rafale de tentatives de monopoliser le processeur.
+ */
+public class AuthRateLimiter {
+
+    private final RateLimiter clientLimiter;
+    private final RateLimiter usernameLimiter;
+    private final Counter clientRejections;
+    private final Counter usernameRejections;
+
+    /**
+     * @param clientLimiter   le limiteur par adresse IP du client
+     * @param usernameLimiter le limiteur par nom d'utilisateur
+     * @param meterRegistry   le registre des métriques
+     */
+    public AuthRateLimiter(RateLimiter clientLimiter, RateLimiter usernameLimiter, MeterRegistry meterRegistry) {
+        this.clientLimiter = clientLimiter;
+        this.usernameLimiter = usernameLimiter;
+        this.clientRejections = Counter.builder("neverlate.auth.rate-limit.rejected")
+                .description("Tentatives d'authentification refusées par la limite de débit")
+                .tag("key", "client")
+                .register(meterRegistry);
+        this.usernameRejections = Counter.builder("neverlate.auth.rate-limit.rejected")
+                .description("Tentatives d'authentification refusées par la limite de débit")
+                .tag("key", "username")
+                .register(meterRegistry);
+        Gauge.builder("neverlate.auth.rate-limit.keys", clientLimiter, RateLimiter::size)
+                .description("Clés suivies par la limite de débit")
+                .tag("key", "client")
+                .register(meterRegistry);
+        Gauge.builder("neverlate.auth.rate-limit.keys", usernameLimiter, RateLimiter::size)
+                .description("Clés suivies par la limite de débit")
+                .tag("key", "username")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Consomme une tentative pour une adresse IP.
+     *
+     * @param clientAddress l'adresse IP du client
+     * @return 0 si la tentative est acceptée, sinon le délai en secondes avant de réessayer
+     */
+    public long acquireForClient(String clientAddress) {
+        long waitNanos = clientLimiter.tryAcquire(clientAddress);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        clientRejections.increment();
+        return toRetryAfterSeconds(waitNanos);
+    }
+
+    /**
+     * Consomme une tentative de connexion pour un nom d'utilisateur.
+     *
+     * @param username le nom d'utilisateur
+     * @throws RateLimitExceededException si trop de tentatives ont visé ce nom d'utilisateur
+     */
+    public void checkUsername(String username) {
+        if (username == null) {
+            return;
+        }
+        long waitNanos = usernameLimiter.tryAcquire(username);
+        if (waitNanos != 0) {
+            usernameRejections.increment();
+            throw new RateLimitExceededException("Too many login attempts for this user", toRetryAfterSeconds(waitNanos));
+        }
+    }
+
+    /**
+     * Libère périodiquement les clés inactives.
+     */
+    @Scheduled(fixedDelayString = "${neverlate.rate-limit.eviction-interval:PT1M}")
+    public void evictIdle() {
+        clientLimiter.evictIdle();
+        usernameLimiter.evictIdle();
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
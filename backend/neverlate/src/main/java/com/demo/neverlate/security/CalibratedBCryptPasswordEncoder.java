@@ -0,0 +1,121 @@
+package com.demo.neverlate.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Encodeur BCrypt dont le coût est choisi au démarrage en fonction de la machine.
+ * Le coût retenu est le plus élevé dont la durée de hachage médiane mesurée reste dans le budget de latence.
+ * Les hachages stockés avec un coût inférieur sont signalés comme à mettre à niveau, ce qui permet
+ * à Spring Security de les réencoder lors de la prochaine connexion réussie.
+ */
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedBCryptPasswordEncoder.class);
+
+    private static final String CALIBRATION_PASSWORD = "neverlate-calibration";
+
+    // Nombre de mesures par coût : la médiane écarte un hachage ralenti (ramasse-miettes, machine chargée)
+    private static final int SAMPLES = 5;
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * Mesure le coût de BCrypt sur la machine courante et retourne un encodeur configuré
+     * avec le coût le plus élevé tenant dans le budget.
+     *
+     * @param latencyBudget la durée maximale souhaitée pour un hachage
+     * @param minStrength   le coût minimal, utilisé même s'il dépasse le budget
+     * @param maxStrength   le coût maximal
+     * @return l'encodeur calibré
+     */
+    public static CalibratedBCryptPasswordEncoder calibrate(Duration latencyBudget, int minStrength, int maxStrength) {
+        long budgetNanos = latencyBudget.toNanos();
+
+        // Premier hachage à coût minimal pour écarter le temps de chargement et de compilation JIT
+        measure(4);
+
+        int strength = minStrength;
+        long elapsed = measure(strength);
+        // Chaque incrément du coût double le temps de calcul : inutile de mesurer au-delà du budget prévisible
+        while (strength < maxStrength && elapsed * 2 <= budgetNanos) {
+            long next = measure(strength + 1);
+            if (next > budgetNanos) {
+                break;
+            }
+            strength++;
+            elapsed = next;
+        }
+
+        if (elapsed > budgetNanos) {
+            log.warn("BCrypt cost {} takes {} ms, above the {} ms budget", strength,
+                    Duration.ofNanos(elapsed).toMillis(), latencyBudget.toMillis());
+        } else {
+            log.info("BCrypt cost calibrated to {} ({} ms per hash, budget {} ms)", strength,
+                    Duration.ofNanos(elapsed).toMillis(), latencyBudget.toMillis());
+        }
+        return new CalibratedBCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Mesure la durée médiane d'un hachage au coût donné.
+     */
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(CALIBRATION_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    /**
+     * Extrait le coût d'un hachage BCrypt (format {@code $2a$10$...}).
+     *
+     * @param encodedPassword le hachage stocké
+     * @return le coût, ou -1 si le hachage n'est pas au format BCrypt
+     */
+    public static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    /**
+     * Retourne le coût utilisé pour les nouveaux hachages.
+     *
+     * @return le coût BCrypt cible
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Un hachage n'est mis à niveau que si son coût est inférieur au coût cible. Un coût supérieur est conservé :
+     * deux instances (ou deux démarrages) calibrées différemment réencoderaient sinon le hachage à chaque connexion.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost != -1 && cost < strength;
+    }
+}
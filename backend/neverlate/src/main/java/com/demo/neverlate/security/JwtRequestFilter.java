@@ -1,5 +1,6 @@
 package com.demo.neverlate.security;
 
+import com.demo.neverlate.config.AuthenticatedUser;
 import com.demo.neverlate.config.CustomUserPrincipal;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
@@ -19,12 +20,44 @@ import java.io.IOException;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    /**
+     * Source du principal de l'utilisateur authentifié.
+     */
+    public enum PrincipalSource {
+        /**
+         * Le principal est construit à partir des revendications du token, sans accès à la base de données.
+         * Les tokens qui ne portent pas ces revendications sont traités comme en mode {@link #DATABASE}.
+         */
+        CLAIMS,
+        /**
+         * Le principal est chargé en base (à travers le {@link PrincipalCache}).
+         */
+        DATABASE
+    }
+
     private final UserDetailsService userDetailsService;
     private final JwtTokenUtil jwtTokenUtil;
+    private final PrincipalCache principalCache;
+    private final PrincipalSource principalSource;
+    private final TokenDenylist tokenDenylist;
 
-    public JwtRequestFilter(UserDetailsService userDetailsService, JwtTokenUtil jwtTokenUtil) {
+    public JwtRequestFilter(UserDetailsService userDetailsService, JwtTokenUtil jwtTokenUtil,
+                            PrincipalCache principalCache, PrincipalSource principalSource,
+                            TokenDenylist tokenDenylist) {
         this.userDetailsService = userDetailsService;
         this.jwtTokenUtil = jwtTokenUtil;
+        this.principalCache = principalCache;
+        this.principalSource = principalSource;
+        this.tokenDenylist = tokenDenylist;
+    }
+
+    /**
+     * Les points d'accès d'authentification sont publics et traitent eux-mêmes les tokens qu'ils reçoivent :
+     * un token d'accès expiré ne doit pas empêcher de se déconnecter ou de le rafraîchir.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/api/auth/");
     }
 
     @Override
@@ -33,13 +66,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
+        VerifiedToken verifiedToken = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwtToken = authorizationHeader.substring(7);
+            String jwtToken = authorizationHeader.substring(7);
             try {
-                username = jwtTokenUtil.extractUsername(jwtToken);
+                // Signature vérifiée une seule fois par requête (et une seule fois par token grâce au cache)
+                verifiedToken = jwtTokenUtil.verify(jwtToken);
             } catch (ExpiredJwtException e) {
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("{\"error\": \"Le token JWT a expiré\"}");
@@ -57,14 +90,20 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 response.getWriter().write("{\"error\": \"Le token JWT est invalide\"}");
                 return;
             }
+
+            // Vérification en mémoire de la révocation (déconnexion), sans accès à la base de données
+            if (tokenDenylist.isRevoked(verifiedToken.tokenId(), verifiedToken.expiresAt())) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("{\"error\": \"Le token JWT a été révoqué\"}");
+                return;
+            }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Charger l'utilisateur via UserDetailsService (tu récupères ici ton CustomUserPrincipal)
-            CustomUserPrincipal userPrincipal = (CustomUserPrincipal) this.userDetailsService.loadUserByUsername(username);
+        if (verifiedToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser userPrincipal = resolvePrincipal(verifiedToken);
 
-            // Valider le token JWT avec l'utilisateur chargé
-            if (jwtTokenUtil.validateToken(jwtToken, userPrincipal)) {
+            // Valider le token déjà vérifié avec l'utilisateur chargé, sans le reparser
+            if (jwtTokenUtil.validateToken(verifiedToken, userPrincipal)) {
                 // Créer le token d'authentification en utilisant les détails de CustomUserPrincipal
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userPrincipal, null, userPrincipal.getAuthorities());
@@ -78,4 +117,21 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
+
+    /**
+     * Construit le principal à partir des revendications du token si possible,
+     * sinon le charge en base à travers le cache des principaux.
+     *
+     * @param verifiedToken le token vérifié
+     * @return le principal de l'utilisateur authentifié
+     */
+    private AuthenticatedUser resolvePrincipal(VerifiedToken verifiedToken) {
+        if (principalSource == PrincipalSource.CLAIMS && verifiedToken.hasIdentityClaims()) {
+            return new AuthenticatedUser(verifiedToken.userId(), verifiedToken.subject(), verifiedToken.roles());
+        }
+        return principalCache.get(verifiedToken.subject(), username -> {
+            CustomUserPrincipal loaded = (CustomUserPrincipal) userDetailsService.loadUserByUsername(username);
+            return AuthenticatedUser.from(loaded.getUser());
+        });
+    }
 }
\ No newline at end of file
@@ -1,26 +1,130 @@
 package com.demo.neverlate.security;
 
+import com.demo.neverlate.config.AuthenticatedUser;
+import com.demo.neverlate.config.CustomUserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * Classe utilitaire pour la gestion des JWT.
+ * Le parser est construit une seule fois, et les tokens déjà vérifiés sont conservés dans un cache borné
+ * (indexé par l'empreinte SHA-256 du token) jusqu'à leur expiration.
  */
 @Component
 public class JwtTokenUtil {
 
+    /**
+     * Revendication contenant l'identifiant de l'utilisateur.
+     */
+    public static final String USER_ID_CLAIM = "uid";
+
+    /**
+     * Revendication contenant les noms des rôles de l'utilisateur.
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    /**
+     * Taille maximale par défaut du cache des tokens vérifiés.
+     */
+    public static final long DEFAULT_CACHE_MAX_SIZE = 10_000;
+
+    /**
+     * Durée de validité par défaut d'un token d'accès.
+     */
+    public static final Duration DEFAULT_ACCESS_TOKEN_TTL = Duration.ofMinutes(15);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponible", e);
+        }
+    });
+
     // Générer une clé sécurisée pour HS256
     private final SecretKey SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
+
+    // Parser immuable et thread-safe, partagé par toutes les vérifications
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
+
+    private final Cache<TokenDigest, VerifiedToken> verifiedTokens;
+
+    private final Duration accessTokenTtl;
+
+    public JwtTokenUtil() {
+        this(DEFAULT_CACHE_MAX_SIZE, DEFAULT_ACCESS_TOKEN_TTL);
+    }
+
+    /**
+     * @param cacheMaxSize   le nombre maximal de tokens vérifiés conservés en cache (0 pour désactiver le cache)
+     * @param accessTokenTtl la durée de validité des tokens d'accès générés
+     */
+    public JwtTokenUtil(long cacheMaxSize, Duration accessTokenTtl) {
+        this.accessTokenTtl = accessTokenTtl;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    /**
+     * Vérifie la signature et la date d'expiration d'un token JWT, une seule fois par token.
+     * Les appels suivants pour le même token sont servis depuis le cache jusqu'à son expiration.
+     *
+     * @param token le token JWT
+     * @return le {@link VerifiedToken} correspondant
+     * @throws io.jsonwebtoken.JwtException si le token est expiré, malformé ou mal signé
+     * @throws IllegalArgumentException si le token est vide
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT vide");
+        }
+        TokenDigest key = TokenDigest.of(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && !cached.isExpiredAt(Instant.now())) {
+            return cached;
+        }
+
+        // Absent du cache ou expiré : le parser lève ExpiredJwtException dans ce dernier cas
+        Claims claims = extractAllClaims(token);
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.getExpiration().toInstant(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                extractUserId(claims),
+                extractRoles(claims),
+                claims.getId());
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
     /**
      * Récupère le nom d'utilisateur (subject) à partir du token JWT.
      *
@@ -61,11 +165,20 @@ public class JwtTokenUtil {
      * @return les revendications contenues dans le token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static Long extractUserId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        return userId instanceof Number number ? number.longValue() : null;
+    }
+
+    private static List<String> extractRoles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(roles instanceof Collection<?> values)) {
+            return null;
+        }
+        return values.stream().map(String::valueOf).toList();
     }
 
     /**
@@ -89,29 +202,70 @@ public class JwtTokenUtil {
         return createToken(claims, username);
     }
 
+    /**
+     * Génère un token JWT portant l'identifiant et les rôles de l'utilisateur,
+     * ce qui permet de reconstruire le principal sans accès à la base de données.
+     *
+     * @param userId   l'identifiant de l'utilisateur
+     * @param username le nom d'utilisateur
+     * @param roles    les noms des rôles de l'utilisateur
+     * @return le token JWT généré
+     */
+    public String generateToken(Long userId, String username, Collection<String> roles) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, userId);
+        claims.put(ROLES_CLAIM, List.copyOf(roles));
+        return createToken(claims, username);
+    }
+
     /**
      * Génère un token JWT pour les détails d'un utilisateur.
+     * Si l'identifiant de l'utilisateur est connu, il est inclus dans le token avec ses rôles.
      *
      * @param userDetails les détails de l'utilisateur
      * @return le token JWT généré
      */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(userDetails.getUsername());
+        Long userId = null;
+        if (userDetails instanceof CustomUserPrincipal principal) {
+            userId = principal.getId();
+        } else if (userDetails instanceof AuthenticatedUser principal) {
+            userId = principal.getId();
+        }
+        if (userId == null) {
+            return generateToken(userDetails.getUsername());
+        }
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return generateToken(userId, userDetails.getUsername(), roles);
+    }
+
+    /**
+     * Retourne la durée de validité des tokens d'accès.
+     *
+     * @return la durée de validité
+     */
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
     }
 
     /**
-     * Crée un token JWT avec les revendications et le sujet donnés.
+     * Crée un token JWT de courte durée avec les revendications et le sujet donnés.
+     * Chaque token reçoit un identifiant unique ({@code jti}) permettant de le révoquer.
      *
      * @param claims   les revendications à inclure dans le token
      * @param subject  le sujet (nom d'utilisateur)
      * @return le token JWT généré
      */
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 heures
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + accessTokenTtl.toMillis()))
                 .signWith(SECRET_KEY)
                 .compact();
     }
@@ -124,7 +278,51 @@ public class JwtTokenUtil {
      * @return true si le token est valide, false sinon
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
+    }
+
+    /**
+     * Valide un token déjà vérifié pour un utilisateur donné, sans reparser le token.
+     *
+     * @param verifiedToken le token vérifié
+     * @param userDetails   les détails de l'utilisateur
+     * @return true si le token appartient à l'utilisateur et n'est pas expiré, false sinon
+     */
+    public boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return verifiedToken.subject().equals(userDetails.getUsername())
+                && !verifiedToken.isExpiredAt(Instant.now());
+    }
+
+    /**
+     * Clé du cache : empreinte SHA-256 du token, pour ne pas conserver les tokens eux-mêmes en mémoire.
+     */
+    private record TokenDigest(long w0, long w1, long w2, long w3) {
+
+        static TokenDigest of(String token) {
+            MessageDigest digest = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+        }
+    }
+
+    /**
+     * Politique d'expiration : une entrée expire en même temps que le token qu'elle représente.
+     */
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
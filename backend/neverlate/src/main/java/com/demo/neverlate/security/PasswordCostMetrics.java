@@ -0,0 +1,49 @@
+package com.demo.neverlate.security;
+
+import com.demo.neverlate.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publie la répartition des coûts BCrypt des mots de passe stockés
+ * ({@code neverlate.password.hash.cost.users}, une série par coût) ainsi que le coût cible.
+ * La répartition est recalculée périodiquement : elle montre la progression de la mise à niveau
+ * des hachages lors des connexions.
+ */
+@Component
+public class PasswordCostMetrics {
+
+    private final UserRepository userRepository;
+    private final MultiGauge usersByCost;
+
+    public PasswordCostMetrics(UserRepository userRepository, PasswordHashingService passwordHashingService,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.usersByCost = MultiGauge.builder("neverlate.password.hash.cost.users")
+                .description("Nombre d'utilisateurs par coût BCrypt du mot de passe stocké")
+                .register(meterRegistry);
+        if (passwordHashingService.getDelegate() instanceof CalibratedBCryptPasswordEncoder bcrypt) {
+            Gauge.builder("neverlate.password.hash.cost.target", bcrypt, CalibratedBCryptPasswordEncoder::getStrength)
+                    .description("Coût BCrypt utilisé pour les nouveaux hachages")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Recalcule la répartition des coûts au démarrage puis à intervalle régulier.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${neverlate.security.bcrypt.metrics-refresh:PT10M}",
+            initialDelayString = "${neverlate.security.bcrypt.metrics-refresh:PT10M}")
+    public void refresh() {
+        usersByCost.register(userRepository.countByPasswordCost().stream()
+                .<MultiGauge.Row<?>>map(count -> MultiGauge.Row.of(Tags.of("cost", count.getCost()), count.getUsers()))
+                .toList(), true);
+    }
+}
@@ -0,0 +1,164 @@
+package com.demo.neverlate.security;
+
+import com.demo.neverlate.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service de hachage des mots de passe.
+ * Les opérations coûteuses (BCrypt) de l'encodeur délégué sont exécutées sur un pool borné,
+ * dimensionné par défaut sur le nombre de cœurs, avec une file d'attente de taille fixe.
+ * Lorsque la file est pleine, les demandes sont rejetées immédiatement avec une
+ * {@link PasswordHashingUnavailableException} (HTTP 503 + Retry-After) au lieu d'occuper
+ * les threads du serveur qui servent le reste de l'API.
+ */
+public class PasswordHashingService implements PasswordEncoder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final long retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * @param delegate          l'encodeur effectuant le hachage
+     * @param threads           le nombre de threads de hachage
+     * @param queueCapacity     la taille maximale de la file d'attente
+     * @param timeout           le délai maximal d'attente d'un résultat (file d'attente comprise)
+     * @param retryAfterSeconds le délai suggéré au client en cas de saturation
+     * @param meterRegistry     le registre des métriques
+     */
+    public PasswordHashingService(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout,
+                                  long retryAfterSeconds, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("neverlate.password.hash")
+                .description("Durée d'une opération de hachage de mot de passe")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("neverlate.password.hash")
+                .description("Durée d'une opération de hachage de mot de passe")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("neverlate.password.hash.rejected")
+                .description("Demandes de hachage rejetées pour cause de saturation")
+                .register(meterRegistry);
+        Gauge.builder("neverlate.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Demandes de hachage en attente")
+                .register(meterRegistry);
+        Gauge.builder("neverlate.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Opérations de hachage en cours")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Retourne l'encodeur effectuant réellement le hachage.
+     *
+     * @return l'encodeur délégué
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Retourne le nombre de demandes en attente dans la file.
+     *
+     * @return la profondeur de la file d'attente
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Exécute une opération de hachage sur le pool et attend son résultat.
+     *
+     * @param task  l'opération à exécuter
+     * @param timer le timer mesurant la durée de l'opération
+     * @param <T>   le type du résultat
+     * @return le résultat de l'opération
+     * @throws PasswordHashingUnavailableException si le pool est saturé ou si le délai est dépassé
+     */
+    private <T> T execute(Callable<T> task, Timer timer) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingUnavailableException("Password hashing capacity exceeded", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new PasswordHashingUnavailableException("Password hashing timed out", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Password hashing interrupted", retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * Fabrique de threads démons nommés pour le pool de hachage.
+     */
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.demo.neverlate.security;
+
+import com.demo.neverlate.config.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache borné des principaux {@link AuthenticatedUser}, indexé par nom d'utilisateur.
+ * Il évite de recharger l'utilisateur et ses rôles en base à chaque requête lorsque le token
+ * ne porte pas les revendications nécessaires. Les entrées doivent être invalidées explicitement
+ * dès que le mot de passe ou les rôles d'un utilisateur changent.
+ */
+public class PrincipalCache {
+
+    private final Cache<String, AuthenticatedUser> principals;
+
+    /**
+     * @param maxSize le nombre maximal de principaux conservés (0 pour désactiver le cache)
+     * @param ttl     la durée de vie d'une entrée
+     */
+    public PrincipalCache(long maxSize, Duration ttl) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Retourne le principal d'un utilisateur, en le chargeant si nécessaire.
+     *
+     * @param username le nom d'utilisateur
+     * @param loader   la fonction de chargement utilisée en cas d'absence dans le cache
+     * @return le principal de l'utilisateur
+     */
+    public AuthenticatedUser get(String username, Function<String, AuthenticatedUser> loader) {
+        return principals.get(username, loader);
+    }
+
+    /**
+     * Invalide le principal d'un utilisateur, par exemple après un changement de mot de passe ou de rôles.
+     *
+     * @param username le nom d'utilisateur
+     */
+    public void invalidate(String username) {
+        principals.invalidate(username);
+    }
+
+    /**
+     * Invalide tous les principaux en cache.
+     */
+    public void invalidateAll() {
+        principals.invalidateAll();
+    }
+}
@@ -0,0 +1,112 @@
+package com.demo.neverlate.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Limiteur de débit par clé (nom d'utilisateur, adresse IP...), équivalent à un seau à jetons.
+ * <p>
+ * L'état d'une clé se résume à une seule valeur, la date théorique d'arrivée de la prochaine requête
+ * (algorithme GCRA), mise à jour par compare-and-set : aucune requête ne prend de verrou et une requête
+ * acceptée pour une clé déjà connue ne fait aucune allocation.
+ * <p>
+ * Une clé inactive dont le seau est de nouveau plein a le même état qu'une clé inconnue : elle peut être
+ * supprimée sans rien perdre, ce que fait {@link #evictIdle()}. Le nombre de clés suivies est borné ;
+ * au-delà, les nouvelles clés partagent un tableau fixe de seaux répartis par hachage, plus sévère
+ * mais de taille constante.
+ */
+public class RateLimiter {
+
+    private static final int OVERFLOW_STRIPES = 1024;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLongArray overflow = new AtomicLongArray(OVERFLOW_STRIPES);
+
+    /**
+     * @param capacity le nombre de requêtes autorisées en rafale pour une clé
+     * @param period   la durée au bout de laquelle un seau vide est de nouveau plein
+     * @param maxKeys  le nombre maximal de clés suivies individuellement
+     */
+    public RateLimiter(int capacity, Duration period, int maxKeys) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        for (int i = 0; i < OVERFLOW_STRIPES; i++) {
+            overflow.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Consomme un jeton pour la clé.
+     *
+     * @param key la clé limitée
+     * @return 0 si la requête est acceptée, sinon le délai en nanosecondes avant qu'un jeton soit disponible
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                return tryAcquireOverflow(key, now);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        while (true) {
+            long theoreticalArrival = bucket.get();
+            long next = Math.max(theoreticalArrival, now) + emissionIntervalNanos;
+            long excess = next - now - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(theoreticalArrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private long tryAcquireOverflow(String key, long now) {
+        int stripe = (key.hashCode() ^ (key.hashCode() >>> 16)) & (OVERFLOW_STRIPES - 1);
+        while (true) {
+            long theoreticalArrival = overflow.get(stripe);
+            long next = Math.max(theoreticalArrival, now) + emissionIntervalNanos;
+            long excess = next - now - burstToleranceNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (overflow.compareAndSet(stripe, theoreticalArrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Supprime les clés dont le seau est de nouveau plein.
+     * Une requête concurrente sur une clé supprimée peut ne pas être comptée : elle bénéficie au plus d'un jeton de plus.
+     *
+     * @return le nombre de clés supprimées
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    /**
+     * Retourne le nombre de clés suivies individuellement.
+     *
+     * @return le nombre de clés
+     */
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,199 @@
+package com.demo.neverlate.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Liste en mémoire des tokens d'accès révoqués (identifiants {@code jti}).
+ * <p>
+ * Les identifiants sont rangés dans des compartiments selon la date d'expiration de leur token :
+ * un compartiment couvre une tranche de temps et est recyclé dès que tous ses tokens ont expiré.
+ * Chaque compartiment associe un filtre de Bloom, qui écarte sans allocation la quasi-totalité des
+ * tokens non révoqués, à un ensemble exact qui confirme les réponses positives.
+ * <p>
+ * La vérification ne consulte que le compartiment correspondant à l'expiration du token : elle est en O(1)
+ * et n'accède jamais à la base de données. La liste est propre à chaque instance de l'application.
+ */
+public class TokenDenylist {
+
+    private static final int HASH_FUNCTIONS = 4;
+
+    private final long bucketWidthSeconds;
+    private final Bucket[] buckets;
+    private final int bitsPerBucket;
+
+    // Tokens expirant au-delà de l'horizon couvert par les compartiments (durée de vie plus longue que prévu)
+    private final Map<String, Instant> overflow = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxTokenTtl             la durée de vie maximale d'un token d'accès
+     * @param bucketWidth             la tranche de temps couverte par un compartiment
+     * @param expectedRevocationsPerBucket le nombre de révocations attendues par compartiment (dimensionne le filtre)
+     */
+    public TokenDenylist(Duration maxTokenTtl, Duration bucketWidth, int expectedRevocationsPerBucket) {
+        this.bucketWidthSeconds = Math.max(1, bucketWidth.toSeconds());
+        int bucketCount = (int) (maxTokenTtl.toSeconds() / bucketWidthSeconds) + 2;
+        // Environ 10 bits par révocation attendue, arrondi à la puissance de deux supérieure
+        this.bitsPerBucket = Integer.highestOneBit(Math.max(64, expectedRevocationsPerBucket * 10) - 1) << 1;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket(bitsPerBucket);
+        }
+    }
+
+    /**
+     * Révoque un token jusqu'à son expiration.
+     *
+     * @param tokenId   l'identifiant du token
+     * @param expiresAt la date d'expiration du token
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        long epoch = epochOf(expiresAt);
+        if (epoch - currentEpoch() >= buckets.length - 1) {
+            overflow.put(tokenId, expiresAt);
+            return;
+        }
+        Bucket bucket = buckets[slotOf(epoch)];
+        synchronized (bucket) {
+            if (bucket.epoch != epoch) {
+                // Le compartiment ne contient plus que des tokens expirés : il est recyclé
+                bucket.reset(epoch);
+            }
+            bucket.add(tokenId);
+        }
+    }
+
+    /**
+     * Indique si un token a été révoqué. Ce chemin est appelé pour chaque requête authentifiée.
+     *
+     * @param tokenId   l'identifiant du token
+     * @param expiresAt la date d'expiration du token
+     * @return true si le token est révoqué
+     */
+    public boolean isRevoked(String tokenId, Instant expiresAt) {
+        if (tokenId == null) {
+            return false;
+        }
+        long epoch = epochOf(expiresAt);
+        Bucket bucket = buckets[slotOf(epoch)];
+        if (bucket.epoch == epoch && bucket.size.get() > 0 && bucket.mightContain(tokenId)
+                && bucket.tokenIds.contains(tokenId)) {
+            return true;
+        }
+        return !overflow.isEmpty() && overflow.containsKey(tokenId);
+    }
+
+    /**
+     * Libère les compartiments dont tous les tokens ont expiré.
+     */
+    @Scheduled(fixedDelayString = "${neverlate.jwt.denylist.purge-interval:PT1M}")
+    public void purgeExpired() {
+        long currentEpoch = currentEpoch();
+        for (Bucket bucket : buckets) {
+            if (bucket.epoch < currentEpoch && bucket.size.get() > 0) {
+                synchronized (bucket) {
+                    if (bucket.epoch < currentEpoch) {
+                        bucket.reset(Long.MIN_VALUE);
+                    }
+                }
+            }
+        }
+        Instant now = Instant.now();
+        overflow.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    private long epochOf(Instant expiresAt) {
+        return expiresAt.getEpochSecond() / bucketWidthSeconds;
+    }
+
+    private long currentEpoch() {
+        return Instant.now().getEpochSecond() / bucketWidthSeconds;
+    }
+
+    private int slotOf(long epoch) {
+        return (int) Math.floorMod(epoch, (long) buckets.length);
+    }
+
+    /**
+     * Compartiment couvrant une tranche de dates d'expiration.
+     */
+    private static final class Bucket {
+
+        private final AtomicLongArray bits;
+        private final int mask;
+        private final Set<String> tokenIds = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger size = new AtomicInteger();
+        private volatile long epoch = Long.MIN_VALUE;
+
+        Bucket(int bitCount) {
+            this.bits = new AtomicLongArray(bitCount >>> 6);
+            this.mask = bitCount - 1;
+        }
+
+        void reset(long newEpoch) {
+            tokenIds.clear();
+            for (int i = 0; i < bits.length(); i++) {
+                bits.set(i, 0L);
+            }
+            size.set(0);
+            epoch = newEpoch;
+        }
+
+        void add(String tokenId) {
+            long h1 = hash(tokenId, 0x9E3779B97F4A7C15L);
+            long h2 = hash(tokenId, 0xC2B2AE3D27D4EB4FL) | 1L;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) ((h1 + i * h2) & mask);
+                long word;
+                do {
+                    word = bits.get(bit >>> 6);
+                } while (!bits.compareAndSet(bit >>> 6, word, word | (1L << bit)));
+            }
+            // L'ensemble exact est alimenté après le filtre : une lecture concurrente qui le consulte
+            // a forcément vu les bits positionnés
+            if (tokenIds.add(tokenId)) {
+                size.incrementAndGet();
+            }
+        }
+
+        boolean mightContain(String tokenId) {
+            long h1 = hash(tokenId, 0x9E3779B97F4A7C15L);
+            long h2 = hash(tokenId, 0xC2B2AE3D27D4EB4FL) | 1L;
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (int) ((h1 + i * h2) & mask);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Hachage 64 bits des caractères de l'identifiant, sans allocation.
+         */
+        private static long hash(String value, long seed) {
+            long h = seed;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001B3L;
+            }
+            // Mélange final (fmix64 de MurmurHash3)
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            h ^= h >>> 33;
+            h *= 0xC4CEB9FE1A85EC53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.demo.neverlate.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Résultat typé de la vérification d'un token JWT.
+ * Une instance n'est produite qu'après vérification de la signature, elle peut donc être réutilisée
+ * sans reparser le token tant qu'elle n'est pas expirée.
+ *
+ * @param subject   le sujet du token (nom d'utilisateur)
+ * @param expiresAt la date d'expiration du token
+ * @param issuedAt  la date d'émission du token
+ * @param userId    l'identifiant de l'utilisateur, ou null si le token ne le contient pas
+ * @param roles     les noms des rôles de l'utilisateur, ou null si le token ne les contient pas
+ * @param tokenId   l'identifiant unique du token (revendication {@code jti}), utilisé pour la révocation
+ */
+public record VerifiedToken(String subject, Instant expiresAt, Instant issuedAt, Long userId, List<String> roles,
+                            String tokenId) {
+
+    /**
+     * Indique si le token porte suffisamment de revendications pour construire le principal sans base de données.
+     *
+     * @return true si l'identifiant et les rôles de l'utilisateur sont présents
+     */
+    public boolean hasIdentityClaims() {
+        return userId != null && roles != null;
+    }
+
+    /**
+     * Indique si le token est expiré à l'instant donné.
+     *
+     * @param now l'instant de référence
+     * @return true si le token est expiré, false sinon
+     */
+    public boolean isExpiredAt(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
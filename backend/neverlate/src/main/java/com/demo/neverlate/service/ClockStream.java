@@ -0,0 +1,367 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.utils.Offsets;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Flux d'horloge (Server-Sent Events) : chaque abonné reçoit l'instant UTC du serveur et l'heure locale de chacun
+ * de ses fuseaux horaires, toutes les minutes ou toutes les secondes.
+ * <p>
+ * Un seul thread cadence les envois pour tous les abonnés. Les écritures sont non bloquantes ({@link WriteListener}) :
+ * aucune connexion n'occupe de thread, et un abonné qui ne lit plus ne retarde pas les autres. Chaque abonné garde au
+ * plus un message en attente (le plus récent remplace le précédent) ; s'il ne lit plus rien pendant
+ * {@code slow-consumer-timeout}, il est déconnecté. Les heures locales sont calculées une fois par fuseau et par tick,
+ * quel que soit le nombre d'abonnés qui les partagent.
+ */
+@Component
+public class ClockStream {
+
+    private static final Logger log = LoggerFactory.getLogger(ClockStream.class);
+
+    // Délai de reconnexion suggéré au client, envoyé en tête de flux
+    private static final String RETRY = "retry: 5000\n\n";
+
+    private static final DateTimeFormatter LOCAL_DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final ZoneConversionEngine zoneConversionEngine;
+    private final int maxSubscribers;
+    private final Duration maxStreamDuration;
+    private final Duration slowConsumerTimeout;
+    private final Set<Subscriber> minuteSubscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> secondSubscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter evictions;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "clock-ticker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Utilisés uniquement par le thread de cadencement
+    private final StringBuilder message = new StringBuilder(256);
+    private final Map<Object, String> localTimes = new HashMap<>();
+
+    Clock clock = Clock.systemUTC();
+
+    public ClockStream(ZoneConversionEngine zoneConversionEngine, MeterRegistry meterRegistry,
+                       @Value("${neverlate.clock.max-subscribers:50000}") int maxSubscribers,
+                       @Value("${neverlate.clock.max-stream-duration:15m}") Duration maxStreamDuration,
+                       @Value("${neverlate.clock.slow-consumer-timeout:30s}") Duration slowConsumerTimeout) {
+        this.zoneConversionEngine = zoneConversionEngine;
+        this.maxSubscribers = maxSubscribers;
+        this.maxStreamDuration = maxStreamDuration;
+        this.slowConsumerTimeout = slowConsumerTimeout;
+        Gauge.builder("neverlate.clock.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Nombre de flux d'horloge ouverts")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("neverlate.clock.evictions")
+                .description("Nombre d'abonnés déconnectés car ils ne lisaient plus le flux")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduleTick(clock.instant().getEpochSecond() + 1);
+    }
+
+    /**
+     * Arrête le cadencement et ferme les flux ouverts.
+     */
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+        minuteSubscribers.forEach(Subscriber::close);
+        secondSubscribers.forEach(Subscriber::close);
+    }
+
+    /**
+     * Ouvre un flux d'horloge sur la requête, passée en mode asynchrone. Le premier tick est envoyé immédiatement.
+     *
+     * @param request     la requête
+     * @param response    la réponse
+     * @param timeZones   les fuseaux horaires de l'abonné (leur liste est figée pour la durée du flux)
+     * @param everySecond true pour un tick par seconde, false pour un tick par minute
+     * @return false si le nombre maximal d'abonnés est atteint (la requête n'est alors pas modifiée)
+     * @throws IOException si la réponse ne peut pas être écrite
+     */
+    public boolean subscribe(HttpServletRequest request, HttpServletResponse response, List<TimeZoneDTO> timeZones,
+                             boolean everySecond) throws IOException {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return false;
+        }
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+        // Pas de mise en tampon par un éventuel proxy inverse
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(maxStreamDuration.toMillis());
+        Subscriber subscriber = new Subscriber(asyncContext, response.getOutputStream(), timeZones, everySecond);
+        asyncContext.addListener(subscriber);
+        (everySecond ? secondSubscribers : minuteSubscribers).add(subscriber);
+        subscriber.offer(RETRY + render(new StringBuilder(256), new HashMap<>(), subscriber,
+                clock.instant().getEpochSecond()));
+        // Déclenche onWritePossible, sur un thread du conteneur, dès que la connexion est prête
+        subscriber.out.setWriteListener(subscriber);
+        return true;
+    }
+
+    /**
+     * Retourne le nombre de flux ouverts.
+     *
+     * @return le nombre d'abonnés
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Planifie le tick d'une seconde, aligné sur son début. Chaque tick planifie le suivant à partir de la seconde
+     * attendue, et non de l'heure de réveil, pour ne sauter ni répéter aucune seconde.
+     */
+    private void scheduleTick(long epochSecond) {
+        long delay = Math.max(0, epochSecond * 1000 - clock.millis());
+        ticker.schedule(() -> {
+            try {
+                tick(epochSecond);
+            } catch (RuntimeException e) {
+                log.warn("Clock tick failed", e);
+            } finally {
+                if (!ticker.isShutdown()) {
+                    // Après une pause prolongée (GC, mise en veille), les secondes manquées sont abandonnées
+                    scheduleTick(Math.max(epochSecond + 1, clock.instant().getEpochSecond()));
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Envoie le tick d'un instant aux abonnés concernés.
+     *
+     * @param epochSecond l'instant, en secondes depuis l'époque
+     */
+    void tick(long epochSecond) {
+        localTimes.clear();
+        long now = clock.millis();
+        for (Subscriber subscriber : secondSubscribers) {
+            subscriber.tick(render(message, localTimes, subscriber, epochSecond), now);
+        }
+        if (Math.floorMod(epochSecond, 60) == 0) {
+            for (Subscriber subscriber : minuteSubscribers) {
+                subscriber.tick(render(message, localTimes, subscriber, epochSecond), now);
+            }
+        }
+    }
+
+    /**
+     * Construit l'évènement d'un tick pour un abonné :
+     * <pre>
+     * event: tick
+     * data: {"instant":"2024-03-10T07:00:00Z","zones":[{"id":1,"local":"2024-03-10T03:00:00-04:00"}, ...]}
+     * </pre>
+     * Les heures locales déjà calculées pour ce tick sont reprises de {@code localTimes}.
+     */
+    private String render(StringBuilder message, Map<Object, String> localTimes, Subscriber subscriber,
+                          long epochSecond) {
+        message.setLength(0);
+        message.append("event: tick\ndata: {\"instant\":\"");
+        LOCAL_DATE_TIME.formatTo(LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC), message);
+        message.append("Z\",\"zones\":[");
+        for (int zone = 0; zone < subscriber.ids.length; zone++) {
+            if (zone > 0) {
+                message.append(',');
+            }
+            String zoneId = subscriber.zoneIds[zone];
+            ZoneOffset fixedOffset = subscriber.fixedOffsets[zone];
+            String local = localTimes.computeIfAbsent(zoneId != null ? zoneId : fixedOffset,
+                    key -> localTime(zoneId, fixedOffset, epochSecond));
+            message.append("{\"id\":").append(subscriber.ids[zone]).append(",\"local\":\"").append(local).append("\"}");
+        }
+        return message.append("]}\n\n").toString();
+    }
+
+    private String localTime(String zoneId, ZoneOffset fixedOffset, long epochSecond) {
+        ZoneOffset offset = zoneConversionEngine.periodAt(zoneId, fixedOffset, epochSecond).offset();
+        return LOCAL_DATE_TIME.format(LocalDateTime.ofEpochSecond(epochSecond, 0, offset)) + Offsets.format(offset);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if ((subscriber.everySecond ? secondSubscribers : minuteSubscribers).remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Un flux ouvert. Les écritures viennent du thread de cadencement ou, quand la connexion redevient disponible,
+     * d'un thread du conteneur : elles sont sérialisées par le verrou de l'abonné.
+     */
+    final class Subscriber implements WriteListener, AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final ServletOutputStream out;
+        private final long[] ids;
+        private final String[] zoneIds;
+        private final ZoneOffset[] fixedOffsets;
+        private final boolean everySecond;
+
+        // Message en attente d'écriture (le plus récent seulement)
+        private byte[] pending;
+        // true tant que la connexion n'a pas signalé qu'elle acceptait de nouvelles écritures
+        private boolean blocked = true;
+        private long blockedSince;
+        private boolean needsFlush;
+        private boolean closed;
+
+        Subscriber(AsyncContext asyncContext, ServletOutputStream out, List<TimeZoneDTO> timeZones, boolean everySecond) {
+            this.asyncContext = asyncContext;
+            this.out = out;
+            this.everySecond = everySecond;
+            int count = timeZones.size();
+            this.ids = new long[count];
+            this.zoneIds = new String[count];
+            this.fixedOffsets = new ZoneOffset[count];
+            for (int i = 0; i < count; i++) {
+                TimeZoneDTO timeZone = timeZones.get(i);
+                ids[i] = timeZone.getId();
+                zoneIds[i] = timeZone.getZoneId();
+                fixedOffsets[i] = Offsets.parse(timeZone.getOffset());
+            }
+            this.blockedSince = clock.millis();
+        }
+
+        synchronized void offer(String event) {
+            pending = event.getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Transmet un tick : écrit immédiatement si la connexion est disponible, sinon remplace le message en attente.
+         * Un abonné bloqué depuis trop longtemps est déconnecté.
+         */
+        synchronized void tick(String event, long now) {
+            if (closed) {
+                return;
+            }
+            if (blocked && now - blockedSince > slowConsumerTimeout.toMillis()) {
+                evictions.increment();
+                close();
+                return;
+            }
+            pending = event.getBytes(StandardCharsets.UTF_8);
+            if (!blocked) {
+                drain(now);
+            }
+        }
+
+        @Override
+        public synchronized void onWritePossible() {
+            if (!closed) {
+                blocked = false;
+                drain(clock.millis());
+            }
+        }
+
+        /**
+         * Écrit tant que la connexion l'accepte. Dès que {@code isReady()} renvoie false, le conteneur rappellera
+         * {@link #onWritePossible()} une fois les données précédentes envoyées.
+         */
+        private void drain(long now) {
+            try {
+                while (out.isReady()) {
+                    if (pending != null) {
+                        byte[] event = pending;
+                        pending = null;
+                        out.write(event);
+                        needsFlush = true;
+                    } else if (needsFlush) {
+                        needsFlush = false;
+                        out.flush();
+                    } else {
+                        return;
+                    }
+                }
+                blocked = true;
+                blockedSince = now;
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending = null;
+            unsubscribe(this);
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // Requête déjà terminée (client déconnecté, délai dépassé)
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            synchronized (this) {
+                closed = true;
+                pending = null;
+            }
+            unsubscribe(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // Durée maximale atteinte : le client se reconnecte (et se réauthentifie)
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
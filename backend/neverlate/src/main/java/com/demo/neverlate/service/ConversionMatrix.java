@@ -0,0 +1,243 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.utils.Offsets;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Matrice instants × fuseaux horaires, écrite en JSON au fur et à mesure de son calcul :
+ * <pre>
+ * {"zones": [{"id": 1, "label": "...", "city": "...", "zoneId": "..."}, ...],
+ *  "rows": [{"instant": "2024-03-10T07:00:00Z", "local": ["2024-03-10T03:00:00-04:00", ...]}, ...]}
+ * </pre>
+ * Aucune ligne n'est conservée : une petite requête est écrite directement dans la réponse ; une grande est
+ * découpée en tranches de lignes calculées en parallèle, dont seules quelques-unes sont en mémoire à la fois,
+ * puis écrites dans l'ordre. Le décalage de chaque fuseau n'est résolu qu'une fois par période de décalage
+ * constant (et par tranche), et non pour chaque cellule.
+ */
+public class ConversionMatrix {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    private final InstantSequence instants;
+    private final long[] ids;
+    private final String[] labels;
+    private final String[] cities;
+    private final String[] zoneIds;
+    private final ZoneOffset[] fixedOffsets;
+    private final ZoneConversionEngine engine;
+    private final JsonFactory jsonFactory;
+    private final ForkJoinPool pool;
+    private final int rowsPerChunk;
+
+    ConversionMatrix(InstantSequence instants, long[] ids, String[] labels, String[] cities, String[] zoneIds,
+                     ZoneOffset[] fixedOffsets, ZoneConversionEngine engine, JsonFactory jsonFactory,
+                     ForkJoinPool pool, int cellsPerChunk) {
+        this.instants = instants;
+        this.ids = ids;
+        this.labels = labels;
+        this.cities = cities;
+        this.zoneIds = zoneIds;
+        this.fixedOffsets = fixedOffsets;
+        this.engine = engine;
+        this.jsonFactory = jsonFactory;
+        this.pool = pool;
+        this.rowsPerChunk = Math.max(1, cellsPerChunk / Math.max(1, ids.length));
+    }
+
+    /**
+     * Écrit la matrice en JSON. Le flux n'est pas fermé.
+     *
+     * @param out le flux de sortie
+     * @throws IOException si l'écriture échoue (client déconnecté...)
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("zones");
+        for (int zone = 0; zone < ids.length; zone++) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", ids[zone]);
+            generator.writeStringField("label", labels[zone]);
+            generator.writeStringField("city", cities[zone]);
+            generator.writeStringField("zoneId", zoneIds[zone]);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("rows");
+        if (instants.size() <= rowsPerChunk) {
+            new RowWriter().write(generator, 0, instants.size(), false);
+        } else {
+            // Les tranches sont écrites telles quelles entre le début et la fin du tableau
+            generator.flush();
+            writeChunks(out);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    /**
+     * Calcule les tranches dans le pool et les écrit dans l'ordre.
+     * Le nombre de tranches en cours borne la mémoire utilisée, quelle que soit la taille de la requête.
+     */
+    private void writeChunks(OutputStream out) throws IOException {
+        int size = instants.size();
+        int chunkCount = (size + rowsPerChunk - 1) / rowsPerChunk;
+        int window = pool.getParallelism() * 2;
+        ArrayDeque<ForkJoinTask<byte[]>> pending = new ArrayDeque<>(window);
+        int submitted = 0;
+        try {
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                while (submitted < chunkCount && pending.size() < window) {
+                    int from = submitted * rowsPerChunk;
+                    int to = Math.min(size, from + rowsPerChunk);
+                    pending.add(pool.submit(() -> renderChunk(from, to)));
+                    submitted++;
+                }
+                byte[] rows = pending.poll().join();
+                if (chunk > 0) {
+                    out.write(',');
+                }
+                out.write(rows);
+            }
+        } finally {
+            // Client déconnecté ou erreur : les tranches restantes ne sont pas calculées
+            pending.forEach(task -> task.cancel(false));
+        }
+    }
+
+    private byte[] renderChunk(int from, int to) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream((to - from) * (ids.length + 1) * 32);
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+            generator.setRootValueSeparator(null);
+            new RowWriter().write(generator, from, to, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Écriture des lignes d'une tranche. Chaque instance est propre à un thread et mémorise, pour chaque fuseau,
+     * la période de décalage courante et la date locale déjà formatée.
+     */
+    private final class RowWriter {
+
+        // Un emplacement par fuseau, plus un pour l'instant UTC
+        private final ZoneConversionEngine.Period[] periods = new ZoneConversionEngine.Period[ids.length];
+        private final long[] days = new long[ids.length + 1];
+        private final char[][] dates = new char[ids.length + 1][10];
+        private final char[] buffer = new char[32];
+
+        RowWriter() {
+            Arrays.fill(days, Long.MIN_VALUE);
+        }
+
+        void write(JsonGenerator generator, int from, int to, boolean separators) throws IOException {
+            int utcSlot = ids.length;
+            for (int row = from; row < to; row++) {
+                long epochSecond = instants.epochSecond(row);
+                if (separators && row > from) {
+                    generator.writeRaw(',');
+                }
+                generator.writeStartObject();
+                generator.writeFieldName("instant");
+                generator.writeString(buffer, 0, format(utcSlot, epochSecond, 0, "Z"));
+                generator.writeArrayFieldStart("local");
+                for (int zone = 0; zone < ids.length; zone++) {
+                    ZoneConversionEngine.Period period = periods[zone];
+                    if (period == null || !period.contains(epochSecond)) {
+                        period = engine.periodAt(zoneIds[zone], fixedOffsets[zone], epochSecond);
+                        periods[zone] = period;
+                    }
+                    ZoneOffset offset = period.offset();
+                    generator.writeString(buffer, 0,
+                            format(zone, epochSecond, offset.getTotalSeconds(), suffixOf(offset)));
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        }
+
+        /**
+         * Formate la date et heure locale ({@code yyyy-MM-ddTHH:mm:ss} suivi du suffixe) dans le tampon, sans allocation
+         * tant que la date locale ne change pas.
+         *
+         * @return la longueur écrite
+         */
+        private int format(int slot, long epochSecond, int offsetSeconds, String suffix) {
+            long local = epochSecond + offsetSeconds;
+            long day = Math.floorDiv(local, SECONDS_PER_DAY);
+            int secondOfDay = (int) Math.floorMod(local, SECONDS_PER_DAY);
+            char[] date = dates[slot];
+            if (days[slot] != day) {
+                LocalDate localDate = LocalDate.ofEpochDay(day);
+                int year = localDate.getYear();
+                date[0] = (char) ('0' + year / 1000);
+                date[1] = (char) ('0' + year / 100 % 10);
+                date[2] = (char) ('0' + year / 10 % 10);
+                date[3] = (char) ('0' + year % 10);
+                date[4] = '-';
+                twoDigits(date, 5, localDate.getMonthValue());
+                date[7] = '-';
+                twoDigits(date, 8, localDate.getDayOfMonth());
+                days[slot] = day;
+            }
+            System.arraycopy(date, 0, buffer, 0, 10);
+            buffer[10] = 'T';
+            twoDigits(buffer, 11, secondOfDay / 3600);
+            buffer[13] = ':';
+            twoDigits(buffer, 14, secondOfDay / 60 % 60);
+            buffer[16] = ':';
+            twoDigits(buffer, 17, secondOfDay % 60);
+            suffix.getChars(0, suffix.length(), buffer, 19);
+            return 19 + suffix.length();
+        }
+
+        /**
+         * Suffixe du décalage : {@code +/-HH:mm}, ou {@code +/-HH:mm:ss} pour les décalages historiques à la seconde
+         * près (heure solaire locale, avant l'adoption d'un fuseau), pour rester cohérent avec l'heure locale écrite.
+         */
+        private static String suffixOf(ZoneOffset offset) {
+            return offset.getTotalSeconds() % 60 == 0 ? Offsets.format(offset) : offset.getId();
+        }
+
+        private static void twoDigits(char[] target, int index, int value) {
+            target[index] = (char) ('0' + value / 10);
+            target[index + 1] = (char) ('0' + value % 10);
+        }
+    }
+
+    /**
+     * Suite des instants à convertir, en secondes depuis l'époque : une liste explicite ou une plage à pas constant,
+     * dont les instants sont calculés à la demande.
+     */
+    record InstantSequence(long[] explicit, long start, long step, int size) {
+
+        static InstantSequence of(long[] epochSeconds) {
+            return new InstantSequence(epochSeconds, 0, 0, epochSeconds.length);
+        }
+
+        static InstantSequence range(long start, long step, int size) {
+            return new InstantSequence(null, start, step, size);
+        }
+
+        long epochSecond(int index) {
+            return explicit != null ? explicit[index] : start + index * step;
+        }
+    }
+}
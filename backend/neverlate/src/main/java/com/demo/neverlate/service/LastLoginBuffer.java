@@ -0,0 +1,105 @@
+package com.demo.neverlate.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tampon d'écriture différée des dates de dernière connexion.
+ * Les connexions successives d'un même utilisateur sont fusionnées (seule la plus récente est conservée),
+ * puis les mises à jour sont écrites périodiquement par lots JDBC, ainsi qu'à l'arrêt de l'application.
+ * La connexion n'attend donc plus d'écriture sur la table {@code users}.
+ */
+@Component
+public class LastLoginBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginBuffer.class);
+
+    private static final String UPDATE_LAST_LOGIN = "UPDATE users SET last_login = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public LastLoginBuffer(JdbcTemplate jdbcTemplate,
+                           @Value("${neverlate.last-login.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Enregistre une connexion, sans accès à la base de données.
+     *
+     * @param userId  l'identifiant de l'utilisateur
+     * @param loginAt la date de connexion
+     */
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+
+    /**
+     * Retourne le nombre d'utilisateurs dont la dernière connexion n'est pas encore écrite.
+     *
+     * @return le nombre de mises à jour en attente
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Écrit les connexions en attente par lots.
+     * En cas d'échec, les entrées du lot sont remises dans le tampon pour la prochaine tentative.
+     */
+    @Scheduled(fixedDelayString = "${neverlate.last-login.flush-interval:PT5S}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt == null) {
+                continue;
+            }
+            batch.add(new Object[]{Timestamp.valueOf(loginAt), userId});
+            if (batch.size() == batchSize) {
+                write(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void write(List<Object[]> batch) {
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, batch);
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} last login updates, they will be retried", batch.size(), e);
+            for (Object[] row : batch) {
+                record((Long) row[1], ((Timestamp) row[0]).toLocalDateTime());
+            }
+        }
+    }
+
+    /**
+     * Vide le tampon à l'arrêt de l'application pour ne perdre aucune connexion.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
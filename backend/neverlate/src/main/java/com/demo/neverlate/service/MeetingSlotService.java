@@ -0,0 +1,285 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.MeetingSlotDTO;
+import com.demo.neverlate.dto.MeetingSlotRequest;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.InvalidTimeFormatException;
+import com.demo.neverlate.exception.TimeZoneNotFoundException;
+import com.demo.neverlate.exception.UnauthorizedActionException;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.utils.Offsets;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recherche des créneaux de réunion : les périodes pendant lesquelles tous les fuseaux horaires demandés
+ * (ou un quorum d'entre eux) sont en heures ouvrées.
+ * <p>
+ * Les heures ouvrées de chaque fuseau sont converties en intervalles d'instants, jour par jour, avec le décalage
+ * applicable à chaque date (heure d'été comprise). Les bornes de ces intervalles sont ensuite triées et parcourues
+ * une seule fois en comptant les fuseaux disponibles : le coût dépend du nombre d'intervalles
+ * (jours × fuseaux), et non de la durée de la période en minutes.
+ */
+@Service
+public class MeetingSlotService {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final Duration DEFAULT_MIN_DURATION = Duration.ofMinutes(30);
+    private static final Instant MIN_INSTANT = Instant.parse("0001-01-02T00:00:00Z");
+    private static final Instant MAX_INSTANT = Instant.parse("9999-12-31T00:00:00Z");
+
+    // Codage d'une borne dans un long : instant, type (0 : fin, 1 : début) et indice du fuseau
+    private static final int ZONE_BITS = 20;
+    private static final long ZONE_MASK = (1L << ZONE_BITS) - 1;
+    private static final long OPEN_FLAG = 1L << ZONE_BITS;
+    private static final int TIME_SHIFT = ZONE_BITS + 1;
+
+    @Autowired
+    private TimeZoneRepository timeZoneRepository;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private ZoneConversionEngine zoneConversionEngine;
+
+    @Value("${neverlate.meetings.default-working-hours.start:09:00}")
+    private LocalTime defaultStart = LocalTime.of(9, 0);
+
+    @Value("${neverlate.meetings.default-working-hours.end:18:00}")
+    private LocalTime defaultEnd = LocalTime.of(18, 0);
+
+    @Value("${neverlate.meetings.max-days:366}")
+    private int maxDays = 366;
+
+    /**
+     * Recherche les créneaux de réunion communs aux fuseaux horaires de l'utilisateur courant.
+     *
+     * @param request La période, la durée minimale, le quorum et les heures ouvrées de chaque fuseau.
+     * @return Les créneaux, triés chronologiquement.
+     * @throws InvalidTimeFormatException si la requête est invalide.
+     * @throws TimeZoneNotFoundException si un fuseau horaire demandé n'existe pas.
+     * @throws UnauthorizedActionException si un fuseau horaire demandé appartient à un autre utilisateur.
+     */
+    @Operation(summary = "Find meeting slots across the timezones of the current user")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Meeting slots found"),
+            @ApiResponse(responseCode = "400", description = "Invalid range, duration, quorum or working hours"),
+            @ApiResponse(responseCode = "403", description = "Unauthorized to access a time zone"),
+            @ApiResponse(responseCode = "404", description = "Time zone not found")
+    })
+    public List<MeetingSlotDTO> findSlots(MeetingSlotRequest request) {
+        if (request.getStart() == null || request.getEnd() == null || !request.getEnd().isAfter(request.getStart())) {
+            throw new InvalidTimeFormatException("A range with a start before its end is required");
+        }
+        if (request.getStart().isBefore(MIN_INSTANT) || request.getEnd().isAfter(MAX_INSTANT)) {
+            throw new InvalidTimeFormatException("Range out of supported bounds");
+        }
+        if (Duration.between(request.getStart(), request.getEnd()).toDays() >= maxDays) {
+            throw new InvalidTimeFormatException("Range must not exceed " + maxDays + " days");
+        }
+        Duration minDuration = request.getMinDuration() != null ? request.getMinDuration() : DEFAULT_MIN_DURATION;
+        if (minDuration.isNegative() || minDuration.isZero()) {
+            throw new InvalidTimeFormatException("Minimum duration must be positive");
+        }
+
+        List<TimeZoneDTO> timeZones = selectTimeZones(request.getTimeZoneIds());
+        if (timeZones.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int quorum = request.getQuorum() != null ? request.getQuorum() : timeZones.size();
+        if (quorum < 1 || quorum > timeZones.size()) {
+            throw new InvalidTimeFormatException("Quorum must be between 1 and " + timeZones.size());
+        }
+
+        Map<Long, MeetingSlotRequest.WorkingHours> workingHours =
+                request.getWorkingHours() != null ? request.getWorkingHours() : Collections.emptyMap();
+        LocalTime[] starts = new LocalTime[timeZones.size()];
+        LocalTime[] ends = new LocalTime[timeZones.size()];
+        for (int zone = 0; zone < timeZones.size(); zone++) {
+            MeetingSlotRequest.WorkingHours hours = workingHours.get(timeZones.get(zone).getId());
+            starts[zone] = hours != null ? hours.getStart() : defaultStart;
+            ends[zone] = hours != null ? hours.getEnd() : defaultEnd;
+            if (starts[zone] == null || ends[zone] == null) {
+                throw new InvalidTimeFormatException("Working hours require a start and an end");
+            }
+        }
+
+        return sweep(timeZones, starts, ends, request.getStart().getEpochSecond(), request.getEnd().getEpochSecond(),
+                minDuration.getSeconds(), quorum);
+    }
+
+    /**
+     * Sélectionne les fuseaux horaires demandés parmi ceux de l'utilisateur courant (une seule requête).
+     */
+    private List<TimeZoneDTO> selectTimeZones(List<Long> ids) {
+        List<TimeZoneDTO> timeZones = timeZoneRepository.findDtosByUserId(timeZoneService.getCurrentUserId());
+        if (ids == null) {
+            return timeZones;
+        }
+        Map<Long, TimeZoneDTO> byId = new HashMap<>();
+        for (TimeZoneDTO timeZone : timeZones) {
+            byId.put(timeZone.getId(), timeZone);
+        }
+        List<TimeZoneDTO> selected = new ArrayList<>(ids.size());
+        for (Long id : new LinkedHashSet<>(ids)) {
+            TimeZoneDTO timeZone = byId.get(id);
+            if (timeZone == null) {
+                if (id != null && timeZoneRepository.existsById(id)) {
+                    throw new UnauthorizedActionException("Unauthorized to access this TimeZone");
+                }
+                throw new TimeZoneNotFoundException("Time zone not found with ID " + id);
+            }
+            selected.add(timeZone);
+        }
+        return selected;
+    }
+
+    /**
+     * Construit les intervalles d'heures ouvrées de chaque fuseau puis parcourt leurs bornes dans l'ordre.
+     */
+    private List<MeetingSlotDTO> sweep(List<TimeZoneDTO> timeZones, LocalTime[] starts, LocalTime[] ends,
+                                       long rangeStart, long rangeEnd, long minSeconds, int quorum) {
+        int zoneCount = timeZones.size();
+        // Dates locales couvrant la période quel que soit le décalage (au plus 18 heures)
+        long firstDay = Math.floorDiv(rangeStart, SECONDS_PER_DAY) - 1;
+        long lastDay = Math.floorDiv(rangeEnd, SECONDS_PER_DAY) + 1;
+        long[] events = new long[(int) (2 * (lastDay - firstDay + 1) * zoneCount)];
+        int eventCount = 0;
+
+        for (int zone = 0; zone < zoneCount; zone++) {
+            TimeZoneDTO timeZone = timeZones.get(zone);
+            ZoneCursor cursor = new ZoneCursor(timeZone.getZoneId(), Offsets.parse(timeZone.getOffset()), rangeStart);
+            int startSecond = starts[zone].toSecondOfDay();
+            // Une fin antérieure ou égale au début désigne une plage qui se termine le lendemain
+            int endSecond = ends[zone].toSecondOfDay()
+                    + (ends[zone].isAfter(starts[zone]) ? 0 : (int) SECONDS_PER_DAY);
+            long openStart = Long.MIN_VALUE;
+            long openEnd = Long.MIN_VALUE;
+            for (long day = firstDay; day <= lastDay; day++) {
+                long start = Math.max(rangeStart, cursor.toEpochSecond(day, startSecond));
+                long end = Math.min(rangeEnd, cursor.toEpochSecond(day, endSecond));
+                if (start >= end) {
+                    continue;
+                }
+                // Les intervalles contigus d'un même fuseau sont fusionnés : un fuseau n'est jamais compté deux fois
+                if (openStart != Long.MIN_VALUE && start <= openEnd) {
+                    openEnd = Math.max(openEnd, end);
+                    continue;
+                }
+                if (openStart != Long.MIN_VALUE) {
+                    events[eventCount++] = (openStart << TIME_SHIFT) | OPEN_FLAG | zone;
+                    events[eventCount++] = (openEnd << TIME_SHIFT) | zone;
+                }
+                openStart = start;
+                openEnd = end;
+            }
+            if (openStart != Long.MIN_VALUE) {
+                events[eventCount++] = (openStart << TIME_SHIFT) | OPEN_FLAG | zone;
+                events[eventCount++] = (openEnd << TIME_SHIFT) | zone;
+            }
+        }
+        Arrays.sort(events, 0, eventCount);
+
+        List<MeetingSlotDTO> slots = new ArrayList<>();
+        boolean[] inside = new boolean[zoneCount];
+        boolean[] throughout = new boolean[zoneCount];
+        int available = 0;
+        long slotStart = Long.MIN_VALUE;
+        int index = 0;
+        while (index < eventCount) {
+            long time = events[index] >> TIME_SHIFT;
+            int groupStart = index;
+            while (index < eventCount && events[index] >> TIME_SHIFT == time) {
+                int zone = (int) (events[index] & ZONE_MASK);
+                boolean open = (events[index] & OPEN_FLAG) != 0;
+                inside[zone] = open;
+                available += open ? 1 : -1;
+                index++;
+            }
+
+            if (slotStart == Long.MIN_VALUE) {
+                if (available >= quorum) {
+                    slotStart = time;
+                    System.arraycopy(inside, 0, throughout, 0, zoneCount);
+                }
+            } else if (available < quorum) {
+                if (time - slotStart >= minSeconds) {
+                    slots.add(slot(timeZones, throughout, slotStart, time));
+                }
+                slotStart = Long.MIN_VALUE;
+            } else {
+                // Le créneau continue : les fuseaux sortis à cet instant ne sont pas disponibles pendant tout le créneau
+                for (int event = groupStart; event < index; event++) {
+                    if ((events[event] & OPEN_FLAG) == 0) {
+                        throughout[(int) (events[event] & ZONE_MASK)] = false;
+                    }
+                }
+            }
+        }
+        return slots;
+    }
+
+    private static MeetingSlotDTO slot(List<TimeZoneDTO> timeZones, boolean[] throughout, long start, long end) {
+        List<Long> ids = new ArrayList<>();
+        for (int zone = 0; zone < throughout.length; zone++) {
+            if (throughout[zone]) {
+                ids.add(timeZones.get(zone).getId());
+            }
+        }
+        return new MeetingSlotDTO(Instant.ofEpochSecond(start), Instant.ofEpochSecond(end), ids);
+    }
+
+    /**
+     * Conversion des dates et heures locales successives d'un fuseau en instants. La période de décalage constant
+     * est conservée d'un jour à l'autre : les règles de la base tz ne sont consultées qu'à l'approche d'une transition.
+     */
+    private final class ZoneCursor {
+
+        private final String zoneId;
+        private final ZoneOffset fixedOffset;
+        private ZoneConversionEngine.Period period;
+
+        ZoneCursor(String zoneId, ZoneOffset fixedOffset, long epochSecond) {
+            this.zoneId = zoneId;
+            this.fixedOffset = fixedOffset;
+            this.period = zoneConversionEngine.periodAt(zoneId, fixedOffset, epochSecond);
+        }
+
+        /**
+         * @param epochDay    la date locale, en jours depuis l'époque
+         * @param secondOfDay l'heure locale, en secondes depuis minuit (éventuellement au-delà de 24 heures)
+         * @return l'instant correspondant, en secondes depuis l'époque
+         */
+        long toEpochSecond(long epochDay, int secondOfDay) {
+            long local = epochDay * SECONDS_PER_DAY + secondOfDay;
+            long epochSecond = local - period.offset().getTotalSeconds();
+            // À plus d'un jour d'une transition, aucune ambiguïté possible entre deux décalages
+            if (period.contains(epochSecond - SECONDS_PER_DAY) && period.contains(epochSecond + SECONDS_PER_DAY)) {
+                return epochSecond;
+            }
+            LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC);
+            ZoneOffset offset = zoneConversionEngine.offsetForLocal(zoneId, fixedOffset, localDateTime);
+            epochSecond = localDateTime.toEpochSecond(offset);
+            period = zoneConversionEngine.periodAt(zoneId, fixedOffset, epochSecond);
+            return epochSecond;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.neverlate.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Cache borné des prochains changements de décalage recalculés, indexé par identifiant d'utilisateur.
+ * <p>
+ * Une fois passé le changement enregistré avec la version d'une liste, le suivant est recalculé en lecture, sans être
+ * enregistré (voir {@link TimeZoneListVersionService#currentETag(Long)}). Il est conservé ici avec la version pour
+ * laquelle il a été calculé : les fuseaux d'une version ne changeant pas, il reste exact jusqu'à ce qu'il soit
+ * lui-même passé. Une modification de la liste changeant la version, l'entrée n'est plus servie ensuite, sans
+ * invalidation.
+ */
+@Component
+public class OffsetChangeCache {
+
+    private final Cache<Long, Entry> changes;
+
+    public OffsetChangeCache(MeterRegistry meterRegistry,
+                             @Value("${neverlate.timezones.list-cache.max-size:10000}") long maxSize) {
+        this.changes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, changes, "offsetChanges");
+    }
+
+    /**
+     * Retourne le prochain changement de décalage des fuseaux d'un utilisateur pour une version donnée de sa liste,
+     * en le calculant si celui en cache est absent, d'une autre version ou déjà passé.
+     *
+     * @param userId  l'identifiant de l'utilisateur
+     * @param version la version courante de la liste
+     * @param now     l'instant présent, en secondes depuis l'époque
+     * @param loader  le calcul du prochain changement
+     * @return l'instant du changement en secondes depuis l'époque, ou null si aucun n'est prévu
+     */
+    public Long get(Long userId, long version, long now, Supplier<Long> loader) {
+        Entry entry = changes.getIfPresent(userId);
+        if (entry != null && entry.version() == version
+                && (entry.offsetsValidUntil() == null || now < entry.offsetsValidUntil())) {
+            return entry.offsetsValidUntil();
+        }
+        Long offsetsValidUntil = loader.get();
+        changes.put(userId, new Entry(version, offsetsValidUntil));
+        return offsetsValidUntil;
+    }
+
+    private record Entry(long version, Long offsetsValidUntil) {
+    }
+}
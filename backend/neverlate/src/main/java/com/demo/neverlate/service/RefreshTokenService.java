@@ -0,0 +1,162 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.exception.InvalidRefreshTokenException;
+import com.demo.neverlate.model.RefreshToken;
+import com.demo.neverlate.model.User;
+import com.demo.neverlate.repository.RefreshTokenRepository;
+import com.demo.neverlate.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Service de gestion des tokens de rafraîchissement.
+ * Les tokens sont des valeurs aléatoires opaques dont seule l'empreinte SHA-256 est stockée.
+ * Chaque rafraîchissement révoque le token présenté et en délivre un nouveau ; la réutilisation
+ * d'un token déjà consommé est traitée comme un vol et révoque tous les tokens de l'utilisateur.
+ * <p>
+ * Toutes les recherches de token précèdent une écriture (rotation, révocation) et doivent voir l'état de révocation
+ * le plus récent : elles sont faites dans des transactions en écriture, sur la base primaire, jamais sur un réplica.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final Duration refreshTokenTtl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Constructeur avec injection des dépendances.
+     *
+     * @param refreshTokenRepository Le repository des tokens de rafraîchissement
+     * @param userRepository Le repository des utilisateurs
+     * @param refreshTokenTtl La durée de vie d'un token de rafraîchissement
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               @Value("${neverlate.jwt.refresh-token-ttl:14d}") Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    /**
+     * Délivre un nouveau token de rafraîchissement à un utilisateur.
+     *
+     * @param userId l'ID de l'utilisateur
+     * @return le token, à transmettre au client
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userRepository.getReferenceById(userId), Instant.now());
+    }
+
+    /**
+     * Consomme un token de rafraîchissement et en délivre un nouveau.
+     *
+     * @param rawToken le token présenté par le client
+     * @return le nouveau token et l'utilisateur auquel il appartient
+     * @throws InvalidRefreshTokenException si le token est inconnu, expiré ou déjà utilisé
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public RotatedToken rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken current = find(rawToken);
+
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        if (current.getRevokedAt() != null || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            // Token déjà consommé : il a probablement été dérobé, toute la session de l'utilisateur est révoquée
+            int revoked = refreshTokenRepository.revokeAllForUser(current.getUser().getId(), now);
+            log.warn("Refresh token reuse detected for user {}, {} active token(s) revoked",
+                    current.getUser().getId(), revoked);
+            throw new InvalidRefreshTokenException("Refresh token already used");
+        }
+
+        User user = current.getUser();
+        return new RotatedToken(issue(user, now), user);
+    }
+
+    /**
+     * Révoque un token de rafraîchissement (déconnexion). Un token inconnu ou déjà révoqué est ignoré.
+     *
+     * @param rawToken le token présenté par le client
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeIfActive(token.getId(), Instant.now()));
+    }
+
+    /**
+     * Supprime périodiquement les tokens expirés.
+     */
+    @Scheduled(fixedDelayString = "${neverlate.jwt.refresh-token-cleanup-interval:PT1H}")
+    @Transactional
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(Instant.now());
+        if (deleted > 0) {
+            log.debug("{} expired refresh token(s) deleted", deleted);
+        }
+    }
+
+    private String issue(User user, Instant now) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(rawToken))
+                .user(user)
+                .createdAt(now)
+                .expiresAt(now.plus(refreshTokenTtl))
+                .build());
+        return rawToken;
+    }
+
+    private RefreshToken find(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token is missing");
+        }
+        return refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Résultat d'un rafraîchissement : le nouveau token et son utilisateur.
+     *
+     * @param refreshToken le nouveau token de rafraîchissement
+     * @param user         l'utilisateur
+     */
+    public record RotatedToken(String refreshToken, User user) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.mapper.TimeZoneMapper;
+import com.demo.neverlate.model.Zone;
+import com.demo.neverlate.repository.ZoneRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service de résolution des zones partagées ({@link Zone}) référencées par les fuseaux horaires des utilisateurs.
+ * <p>
+ * Une zone est identifiée par sa clé naturelle : les zones existantes sont lues en une seule requête, les zones
+ * manquantes sont créées dans la transaction de l'appelant, puis relues. La création est un MERGE sur la clé
+ * naturelle : si un autre utilisateur crée la même zone au même moment, elle attend la validation de l'autre
+ * transaction au lieu d'échouer sur la contrainte d'unicité, et la zone créée par l'autre est simplement relue.
+ * <p>
+ * Les zones qui ne sont plus référencées sont conservées : elles seront réutilisées au prochain ajout.
+ */
+@Service
+public class SharedZoneService {
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private TimeZoneMapper timeZoneMapper;
+
+    /**
+     * Retourne la zone partagée décrite par un fuseau horaire, en la créant si elle n'existe pas.
+     *
+     * @param timeZoneDTO le fuseau horaire, dont le décalage est renseigné
+     * @return la zone partagée, gérée par la transaction courante
+     */
+    public Zone resolve(TimeZoneDTO timeZoneDTO) {
+        return resolveAll(List.of(timeZoneDTO)).get(timeZoneMapper.toZone(timeZoneDTO).getNaturalKey());
+    }
+
+    /**
+     * Retourne les zones partagées décrites par des fuseaux horaires, en créant celles qui n'existent pas.
+     * Les zones existantes sont lues en une requête, les zones manquantes insérées puis relues en une requête.
+     *
+     * @param timeZoneDTOs les fuseaux horaires, dont le décalage est renseigné
+     * @return les zones partagées, par clé naturelle (voir {@link Zone#keyOf})
+     */
+    public Map<String, Zone> resolveAll(Collection<TimeZoneDTO> timeZoneDTOs) {
+        Map<String, Zone> wanted = new LinkedHashMap<>();
+        for (TimeZoneDTO timeZoneDTO : timeZoneDTOs) {
+            Zone zone = timeZoneMapper.toZone(timeZoneDTO);
+            wanted.putIfAbsent(zone.getNaturalKey(), zone);
+        }
+        if (wanted.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Zone> zones = byKey(zoneRepository.findByNaturalKeyIn(wanted.keySet()));
+        if (zones.size() < wanted.size()) {
+            List<Zone> missing = new ArrayList<>();
+            wanted.forEach((key, zone) -> {
+                if (!zones.containsKey(key)) {
+                    missing.add(zone);
+                }
+            });
+            insert(missing);
+            List<String> missingKeys = missing.stream().map(Zone::getNaturalKey).toList();
+            zones.putAll(byKey(zoneRepository.findByNaturalKeyIn(missingKeys)));
+        }
+        return zones;
+    }
+
+    /**
+     * Insère les zones manquantes dans la transaction de l'appelant. Une zone créée au même moment par une autre
+     * requête n'interrompt pas la transaction : elle est relue ensuite.
+     */
+    private void insert(List<Zone> zones) {
+        for (Zone zone : zones) {
+            zoneRepository.insertIfAbsent(zone.getNaturalKey(), zone.getCity(), zone.getOffset().getTotalSeconds(),
+                    zone.getZoneId());
+        }
+    }
+
+    private static Map<String, Zone> byKey(List<Zone> zones) {
+        Map<String, Zone> byKey = new HashMap<>();
+        for (Zone zone : zones) {
+            byKey.put(zone.getNaturalKey(), zone);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,293 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.BatchResultDTO;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.InvalidBatchException;
+import com.demo.neverlate.exception.InvalidTimeFormatException;
+import com.demo.neverlate.mapper.TimeZoneMapper;
+import com.demo.neverlate.model.TimeZone;
+import com.demo.neverlate.model.User;
+import com.demo.neverlate.model.Zone;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.repository.UserRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service des opérations par lots sur les fuseaux horaires de l'utilisateur courant.
+ * <p>
+ * Chaque lot est appliqué dans une seule transaction : les éléments valides sont enregistrés, les éléments invalides
+ * (validation, fuseau introuvable ou appartenant à un autre utilisateur) sont signalés sans interrompre le lot.
+ * Les IDs étant réservés par blocs dans une séquence, les insertions et mises à jour sont regroupées en lots JDBC
+ * ({@code hibernate.jdbc.batch_size}) et les suppressions tiennent en une seule requête.
+ */
+@Service
+public class TimeZoneBatchService {
+
+    @Autowired
+    private TimeZoneRepository timeZoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TimeZoneMapper timeZoneMapper;
+
+    @Autowired
+    private SharedZoneService sharedZoneService;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TimeZoneListVersionService timeZoneListVersionService;
+
+    @Value("${neverlate.timezones.batch.max-size:500}")
+    private int maxBatchSize = 500;
+
+    /**
+     * Crée plusieurs fuseaux horaires pour l'utilisateur courant.
+     *
+     * @param timeZoneDTOs Les fuseaux horaires à créer.
+     * @return Le résultat de chaque création (201 et l'ID créé, ou l'erreur).
+     * @throws InvalidBatchException si le lot est vide ou trop volumineux.
+     */
+    @Operation(summary = "Create several timezones for the current user")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch applied, see the status of each item"),
+            @ApiResponse(responseCode = "400", description = "Empty or too large batch")
+    })
+    @Transactional
+    public BatchResultDTO createAll(List<TimeZoneDTO> timeZoneDTOs) {
+        checkSize(timeZoneDTOs);
+        Long currentUserId = timeZoneService.getCurrentUserId();
+        User currentUser = userRepository.getReferenceById(currentUserId);
+
+        BatchResultDTO.ItemResult[] results = new BatchResultDTO.ItemResult[timeZoneDTOs.size()];
+        List<TimeZoneDTO> valid = new ArrayList<>(timeZoneDTOs.size());
+        List<Integer> indexes = new ArrayList<>(timeZoneDTOs.size());
+        for (int index = 0; index < timeZoneDTOs.size(); index++) {
+            TimeZoneDTO timeZoneDTO = timeZoneDTOs.get(index);
+            String error = validate(timeZoneDTO);
+            if (error != null) {
+                results[index] = new BatchResultDTO.ItemResult(index, null, 400, error);
+                continue;
+            }
+            timeZoneDTO.setId(null);
+            valid.add(timeZoneDTO);
+            indexes.add(index);
+        }
+
+        // Zones partagées du lot : une lecture, et une insertion groupée des zones manquantes
+        Map<String, Zone> zones = sharedZoneService.resolveAll(valid);
+        // Positions à la suite de la liste, dans l'ordre du lot
+        int position = valid.isEmpty() ? 0 : timeZoneRepository.findNextPositionByUserId(currentUserId);
+        List<TimeZone> timeZones = new ArrayList<>(valid.size());
+        for (TimeZoneDTO timeZoneDTO : valid) {
+            Zone zone = zones.get(timeZoneMapper.toZone(timeZoneDTO).getNaturalKey());
+            TimeZone timeZone = timeZoneMapper.toEntity(timeZoneDTO, currentUser, zone);
+            timeZone.setPosition(position++);
+            timeZones.add(timeZone);
+        }
+
+        // Les IDs sont attribués par la séquence dès l'appel ; les insertions partent en lots à la validation
+        timeZoneRepository.saveAll(timeZones);
+        for (int i = 0; i < timeZones.size(); i++) {
+            int index = indexes.get(i);
+            results[index] = new BatchResultDTO.ItemResult(index, timeZones.get(i).getId(), 201, null);
+        }
+        if (!timeZones.isEmpty()) {
+            timeZoneListVersionService.increment(currentUserId);
+        }
+        return result(results);
+    }
+
+    /**
+     * Met à jour plusieurs fuseaux horaires de l'utilisateur courant.
+     * Les fuseaux concernés sont chargés en une seule requête, puis modifiés : les mises à jour partent en lots.
+     *
+     * @param timeZoneDTOs Les fuseaux horaires à mettre à jour (avec leur ID).
+     * @return Le résultat de chaque mise à jour (200, ou l'erreur).
+     * @throws InvalidBatchException si le lot est vide ou trop volumineux.
+     */
+    @Operation(summary = "Update several timezones of the current user")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch applied, see the status of each item"),
+            @ApiResponse(responseCode = "400", description = "Empty or too large batch")
+    })
+    @Transactional
+    public BatchResultDTO updateAll(List<TimeZoneDTO> timeZoneDTOs) {
+        checkSize(timeZoneDTOs);
+        BatchResultDTO.ItemResult[] results = new BatchResultDTO.ItemResult[timeZoneDTOs.size()];
+
+        Set<Long> ids = new HashSet<>();
+        for (int index = 0; index < timeZoneDTOs.size(); index++) {
+            TimeZoneDTO timeZoneDTO = timeZoneDTOs.get(index);
+            Long id = timeZoneDTO != null ? timeZoneDTO.getId() : null;
+            String error = id == null ? "Time zone ID is required" : validate(timeZoneDTO);
+            if (error == null && !ids.add(id)) {
+                error = "Time zone " + id + " appears more than once in the batch";
+            }
+            if (error != null) {
+                results[index] = new BatchResultDTO.ItemResult(index, id, 400, error);
+            }
+        }
+
+        Long currentUserId = timeZoneService.getCurrentUserId();
+        Map<Long, TimeZone> owned = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (TimeZone timeZone : timeZoneRepository.findByUserIdAndIdIn(currentUserId, ids)) {
+                owned.put(timeZone.getId(), timeZone);
+            }
+        }
+        Set<Long> existing = missingOwnersExisting(ids, owned.keySet());
+        List<TimeZoneDTO> updates = new ArrayList<>(owned.size());
+        for (int index = 0; index < timeZoneDTOs.size(); index++) {
+            if (results[index] == null && owned.containsKey(timeZoneDTOs.get(index).getId())) {
+                updates.add(timeZoneDTOs.get(index));
+            }
+        }
+        Map<String, Zone> zones = sharedZoneService.resolveAll(updates);
+
+        for (int index = 0; index < timeZoneDTOs.size(); index++) {
+            if (results[index] != null) {
+                continue;
+            }
+            TimeZoneDTO timeZoneDTO = timeZoneDTOs.get(index);
+            TimeZone timeZone = owned.get(timeZoneDTO.getId());
+            if (timeZone == null) {
+                results[index] = notFoundOrUnauthorized(index, timeZoneDTO.getId(), existing);
+                continue;
+            }
+            // Entité gérée : la modification est écrite à la validation de la transaction
+            timeZone.setLabel(timeZoneDTO.getLabel());
+            timeZone.setZone(zones.get(timeZoneMapper.toZone(timeZoneDTO).getNaturalKey()));
+            results[index] = new BatchResultDTO.ItemResult(index, timeZoneDTO.getId(), 200, null);
+        }
+        if (!owned.isEmpty()) {
+            timeZoneListVersionService.increment(currentUserId);
+        }
+        return result(results);
+    }
+
+    /**
+     * Supprime plusieurs fuseaux horaires de l'utilisateur courant, en une seule requête de suppression.
+     *
+     * @param ids Les IDs des fuseaux horaires à supprimer.
+     * @return Le résultat de chaque suppression (204, ou l'erreur).
+     * @throws InvalidBatchException si le lot est vide ou trop volumineux.
+     */
+    @Operation(summary = "Delete several timezones of the current user")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Batch applied, see the status of each item"),
+            @ApiResponse(responseCode = "400", description = "Empty or too large batch")
+    })
+    @Transactional
+    public BatchResultDTO deleteAll(List<Long> ids) {
+        checkSize(ids);
+        Set<Long> requested = ids.stream().filter(id -> id != null).collect(Collectors.toSet());
+        Long currentUserId = timeZoneService.getCurrentUserId();
+        Set<Long> owned = requested.isEmpty() ? Set.of()
+                : new HashSet<>(timeZoneRepository.findIdsByUserIdAndIdIn(currentUserId, requested));
+        Set<Long> existing = missingOwnersExisting(requested, owned);
+        if (!owned.isEmpty()) {
+            timeZoneRepository.deleteAllByIdInBatch(owned);
+            timeZoneListVersionService.increment(currentUserId);
+        }
+
+        BatchResultDTO.ItemResult[] results = new BatchResultDTO.ItemResult[ids.size()];
+        Set<Long> deleted = new HashSet<>();
+        for (int index = 0; index < ids.size(); index++) {
+            Long id = ids.get(index);
+            if (id == null) {
+                results[index] = new BatchResultDTO.ItemResult(index, null, 400, "Time zone ID is required");
+            } else if (!owned.contains(id)) {
+                results[index] = notFoundOrUnauthorized(index, id, existing);
+            } else if (!deleted.add(id)) {
+                results[index] = new BatchResultDTO.ItemResult(index, id, 400,
+                        "Time zone " + id + " appears more than once in the batch");
+            } else {
+                results[index] = new BatchResultDTO.ItemResult(index, id, 204, null);
+            }
+        }
+        return result(results);
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidBatchException("Batch must contain at least one item");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new InvalidBatchException("Batch must not exceed " + maxBatchSize + " items");
+        }
+    }
+
+    /**
+     * Valide un élément comme le ferait {@code @Valid} sur une requête unitaire, puis le complète.
+     *
+     * @return le message d'erreur, ou null si l'élément est valide
+     */
+    String validate(TimeZoneDTO timeZoneDTO) {
+        if (timeZoneDTO == null) {
+            return "Time zone is required";
+        }
+        Set<ConstraintViolation<TimeZoneDTO>> violations = validator.validate(timeZoneDTO);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            timeZoneService.normalize(timeZoneDTO);
+            return null;
+        } catch (InvalidTimeFormatException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Parmi les IDs non trouvés chez l'utilisateur courant, retourne ceux qui existent (requête exécutée
+     * uniquement s'il y en a) : ils appartiennent à un autre utilisateur.
+     */
+    private Set<Long> missingOwnersExisting(Set<Long> requested, Set<Long> owned) {
+        Set<Long> missing = new HashSet<>(requested);
+        missing.removeAll(owned);
+        return missing.isEmpty() ? Set.of() : new HashSet<>(timeZoneRepository.findExistingIds(missing));
+    }
+
+    private static BatchResultDTO.ItemResult notFoundOrUnauthorized(int index, Long id, Set<Long> existing) {
+        if (existing.contains(id)) {
+            return new BatchResultDTO.ItemResult(index, id, 403, "Unauthorized to modify this TimeZone");
+        }
+        return new BatchResultDTO.ItemResult(index, id, 404, "Time zone not found with ID " + id);
+    }
+
+    private static BatchResultDTO result(BatchResultDTO.ItemResult[] results) {
+        int failed = 0;
+        for (BatchResultDTO.ItemResult result : results) {
+            if (result.getStatus() >= 400) {
+                failed++;
+            }
+        }
+        return new BatchResultDTO(results.length - failed, failed, List.of(results));
+    }
+}
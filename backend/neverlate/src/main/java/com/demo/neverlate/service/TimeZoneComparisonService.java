@@ -0,0 +1,131 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.TimeZoneComparisonDTO;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.TimeZoneNotFoundException;
+import com.demo.neverlate.exception.UnauthorizedActionException;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.utils.Offsets;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service de comparaison des fuseaux horaires : pour un fuseau de référence et une date et heure locale,
+ * calcule la date et heure locale dans chacun des autres fuseaux horaires de l'utilisateur.
+ */
+@Service
+public class TimeZoneComparisonService {
+
+    // Formats identiques à ceux de l'interface (fr-FR et en-GB sur 12 heures), créés une seule fois par langue
+    private static final DateTimeFormatter FRENCH_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm", Locale.FRANCE);
+    private static final DateTimeFormatter ENGLISH_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy, hh:mm a", Locale.UK);
+
+    @Autowired
+    private TimeZoneRepository timeZoneRepository;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private ZoneConversionEngine zoneConversionEngine;
+
+    /**
+     * Compare un fuseau horaire de l'utilisateur courant avec tous ses autres fuseaux horaires.
+     *
+     * @param id L'identifiant du fuseau horaire de référence.
+     * @param at La date et heure locale dans le fuseau de référence, ou null pour l'instant présent.
+     * @param language La langue de formatage ("FR" ou "EN").
+     * @return La date et heure locale dans chacun des autres fuseaux horaires.
+     * @throws TimeZoneNotFoundException si le fuseau horaire de référence n'existe pas.
+     * @throws UnauthorizedActionException si le fuseau horaire de référence appartient à un autre utilisateur.
+     */
+    @Operation(summary = "Compare a timezone with all other timezones of the current user")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Comparison computed successfully"),
+            @ApiResponse(responseCode = "403", description = "Unauthorized to access this time zone"),
+            @ApiResponse(responseCode = "404", description = "Time zone not found")
+    })
+    public TimeZoneComparisonDTO compare(Long id, LocalDateTime at, String language) {
+        // Une seule requête : tous les fuseaux de l'utilisateur, projetés en DTO et triés d'ouest en est
+        List<TimeZoneDTO> timeZones = timeZoneRepository.findDtosByUserIdOrderByOffset(timeZoneService.getCurrentUserId());
+
+        TimeZoneDTO reference = null;
+        for (TimeZoneDTO timeZone : timeZones) {
+            if (timeZone.getId().equals(id)) {
+                reference = timeZone;
+                break;
+            }
+        }
+        if (reference == null) {
+            if (timeZoneRepository.existsById(id)) {
+                throw new UnauthorizedActionException("Unauthorized to access this TimeZone");
+            }
+            throw new TimeZoneNotFoundException("Time zone not found with ID " + id);
+        }
+
+        // Le décalage d'un fuseau IANA dépend de la date comparée (heure d'été) : il est résolu pour cet instant
+        ZoneOffset referenceOffset;
+        LocalDateTime referenceDateTime;
+        if (at != null) {
+            referenceDateTime = at;
+            referenceOffset = zoneConversionEngine.offsetForLocal(reference.getZoneId(),
+                    Offsets.parse(reference.getOffset()), at);
+        } else {
+            Instant now = Instant.now();
+            referenceOffset = zoneConversionEngine.offsetAt(reference.getZoneId(),
+                    Offsets.parse(reference.getOffset()), now);
+            referenceDateTime = LocalDateTime.ofInstant(now, referenceOffset).truncatedTo(ChronoUnit.MINUTES);
+        }
+        reference.setOffset(Offsets.format(referenceOffset));
+        Instant instant = referenceDateTime.toInstant(referenceOffset);
+        DateTimeFormatter formatter = formatterFor(language);
+
+        // Un seul passage : chaque heure locale se déduit de l'écart entre les décalages à cet instant
+        List<TimeZoneComparisonDTO.ComparedTimeZone> comparisons = new ArrayList<>(timeZones.size() - 1);
+        boolean sorted = true;
+        for (TimeZoneDTO timeZone : timeZones) {
+            if (timeZone == reference) {
+                continue;
+            }
+            ZoneOffset offset = zoneConversionEngine.offsetAt(timeZone.getZoneId(),
+                    Offsets.parse(timeZone.getOffset()), instant);
+            LocalDateTime localDateTime = referenceDateTime.plusSeconds(
+                    offset.getTotalSeconds() - referenceOffset.getTotalSeconds());
+            if (!comparisons.isEmpty() && localDateTime.isBefore(comparisons.get(comparisons.size() - 1).getLocalDateTime())) {
+                sorted = false;
+            }
+            comparisons.add(new TimeZoneComparisonDTO.ComparedTimeZone(timeZone.getId(), timeZone.getLabel(),
+                    timeZone.getCity(), Offsets.format(offset), localDateTime, formatter.format(localDateTime)));
+        }
+        if (!sorted) {
+            // Le tri SQL porte sur le décalage enregistré, qui peut différer de celui de l'instant comparé
+            comparisons.sort(Comparator.comparing(TimeZoneComparisonDTO.ComparedTimeZone::getLocalDateTime));
+        }
+
+        return new TimeZoneComparisonDTO(reference, referenceDateTime, instant, comparisons);
+    }
+
+    /**
+     * Retourne le formateur correspondant à la langue de l'interface (anglais par défaut).
+     *
+     * @param language La langue ("FR" ou "EN").
+     * @return Le formateur de date et heure.
+     */
+    private static DateTimeFormatter formatterFor(String language) {
+        return "FR".equalsIgnoreCase(language) ? FRENCH_FORMATTER : ENGLISH_FORMATTER;
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.ConversionRequest;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.InvalidTimeFormatException;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.utils.Offsets;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Service de conversion en masse : convertit une liste ou une plage d'instants dans tous les fuseaux horaires
+ * de l'utilisateur courant.
+ */
+@Service
+public class TimeZoneConversionService {
+
+    // Bornes garantissant une année locale sur quatre chiffres quel que soit le décalage (au plus 18 heures)
+    private static final long MIN_EPOCH_SECOND = LocalDate.of(1, 1, 2).toEpochDay() * 86_400;
+    private static final long MAX_EPOCH_SECOND = LocalDate.of(9999, 12, 31).toEpochDay() * 86_400;
+
+    @Autowired
+    private TimeZoneRepository timeZoneRepository;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private ZoneConversionEngine zoneConversionEngine;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ForkJoinPool conversionPool;
+
+    @Value("${neverlate.timezones.convert.max-instants:100000}")
+    private int maxInstants = 100_000;
+
+    @Value("${neverlate.timezones.convert.chunk-cells:16384}")
+    private int chunkCells = 16_384;
+
+    /**
+     * Prépare la matrice de conversion des instants demandés dans les fuseaux horaires de l'utilisateur courant.
+     * La requête est validée et les fuseaux horaires chargés ici ; le calcul n'a lieu qu'à l'écriture de la matrice.
+     *
+     * @param request La liste ou la plage d'instants à convertir.
+     * @return La matrice, à écrire dans la réponse.
+     * @throws InvalidTimeFormatException si la requête est invalide ou dépasse le nombre maximal d'instants.
+     */
+    @Operation(summary = "Convert instants into all timezones of the current user")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Conversion matrix streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid instants, range or step")
+    })
+    public ConversionMatrix prepare(ConversionRequest request) {
+        ConversionMatrix.InstantSequence instants = toSequence(request);
+        List<TimeZoneDTO> timeZones = timeZoneRepository.findDtosByUserIdOrderByOffset(timeZoneService.getCurrentUserId());
+
+        int count = timeZones.size();
+        long[] ids = new long[count];
+        String[] labels = new String[count];
+        String[] cities = new String[count];
+        String[] zoneIds = new String[count];
+        ZoneOffset[] fixedOffsets = new ZoneOffset[count];
+        for (int i = 0; i < count; i++) {
+            TimeZoneDTO timeZone = timeZones.get(i);
+            ids[i] = timeZone.getId();
+            labels[i] = timeZone.getLabel();
+            cities[i] = timeZone.getCity();
+            zoneIds[i] = timeZone.getZoneId();
+            fixedOffsets[i] = Offsets.parse(timeZone.getOffset());
+        }
+        return new ConversionMatrix(instants, ids, labels, cities, zoneIds, fixedOffsets, zoneConversionEngine,
+                objectMapper.getFactory(), conversionPool, chunkCells);
+    }
+
+    /**
+     * Valide la requête et la convertit en suite d'instants (à la seconde près).
+     *
+     * @param request La requête.
+     * @return La suite d'instants.
+     * @throws InvalidTimeFormatException si la requête est invalide.
+     */
+    private ConversionMatrix.InstantSequence toSequence(ConversionRequest request) {
+        boolean hasRange = request.getStart() != null || request.getEnd() != null || request.getStep() != null;
+        if (request.getInstants() != null) {
+            if (hasRange) {
+                throw new InvalidTimeFormatException("Provide either a list of instants or a range, not both");
+            }
+            List<Instant> list = request.getInstants();
+            checkCount(list.size());
+            long[] epochSeconds = new long[list.size()];
+            for (int i = 0; i < epochSeconds.length; i++) {
+                Instant instant = list.get(i);
+                if (instant == null) {
+                    throw new InvalidTimeFormatException("Instants must not be null");
+                }
+                epochSeconds[i] = checkBounds(instant);
+            }
+            return ConversionMatrix.InstantSequence.of(epochSeconds);
+        }
+
+        if (request.getStart() == null || request.getEnd() == null || request.getStep() == null) {
+            throw new InvalidTimeFormatException("Provide a list of instants or a range with start, end and step");
+        }
+        long start = checkBounds(request.getStart());
+        long end = checkBounds(request.getEnd());
+        Duration step = request.getStep();
+        if (step.getSeconds() < 1 || step.getNano() != 0) {
+            throw new InvalidTimeFormatException("Step must be a whole number of seconds, at least one");
+        }
+        if (end < start) {
+            throw new InvalidTimeFormatException("Range end must not be before its start");
+        }
+        long count = (end - start) / step.getSeconds() + 1;
+        checkCount(count);
+        return ConversionMatrix.InstantSequence.range(start, step.getSeconds(), (int) count);
+    }
+
+    private void checkCount(long count) {
+        if (count > maxInstants) {
+            throw new InvalidTimeFormatException("Too many instants: " + count + " (maximum " + maxInstants + ")");
+        }
+    }
+
+    private static long checkBounds(Instant instant) {
+        long epochSecond = instant.getEpochSecond();
+        if (epochSecond < MIN_EPOCH_SECOND || epochSecond >= MAX_EPOCH_SECOND) {
+            throw new InvalidTimeFormatException("Instant out of supported range: " + instant);
+        }
+        return epochSecond;
+    }
+}
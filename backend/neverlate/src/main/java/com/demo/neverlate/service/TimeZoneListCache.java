@@ -0,0 +1,95 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cache borné des listes de fuseaux horaires, indexé par identifiant d'utilisateur.
+ * <p>
+ * Chaque liste est conservée avec l'ETag de la version lue avant son chargement (voir
+ * {@link TimeZoneListVersionService#currentETag(Long)}) et n'est servie que pour ce même ETag. Une modification
+ * incrémentant la version dans sa propre transaction, une liste antérieure à une modification validée n'est jamais
+ * resservie, même si une lecture concurrente la remet en cache après l'invalidation. L'invalidation, exécutée après
+ * la validation de la transaction, libère seulement l'entrée au plus tôt. L'ETag changeant aussi aux changements
+ * d'heure, les décalages en cache des fuseaux IANA restent exacts.
+ * <p>
+ * Les listes en cache sont partagées entre les requêtes : elles sont non modifiables, et leurs éléments ne doivent
+ * pas être modifiés.
+ */
+@Component
+public class TimeZoneListCache {
+
+    private final Cache<Long, Entry> lists;
+    private final Counter stale;
+
+    public TimeZoneListCache(MeterRegistry meterRegistry,
+                             @Value("${neverlate.timezones.list-cache.max-size:10000}") long maxSize,
+                             @Value("${neverlate.timezones.list-cache.ttl:10m}") Duration ttl) {
+        this.lists = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, lists, "timezoneLists");
+        this.stale = Counter.builder("neverlate.timezones.list-cache.stale")
+                .description("Listes trouvées en cache mais d'une version antérieure, rechargées")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retourne la liste des fuseaux horaires d'un utilisateur pour une version donnée, en la chargeant si la liste
+     * en cache est absente ou d'une autre version.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     * @param eTag   l'ETag de la version courante, lu avant l'appel
+     * @param loader la fonction de chargement de la liste
+     * @return la liste des fuseaux horaires, non modifiable
+     */
+    public List<TimeZoneDTO> get(Long userId, String eTag, Supplier<List<TimeZoneDTO>> loader) {
+        Entry entry = lists.getIfPresent(userId);
+        if (entry != null) {
+            if (entry.eTag().equals(eTag)) {
+                return entry.timeZones();
+            }
+            stale.increment();
+        }
+        List<TimeZoneDTO> timeZones = List.copyOf(loader.get());
+        lists.put(userId, new Entry(eTag, timeZones));
+        return timeZones;
+    }
+
+    /**
+     * Invalide la liste d'un utilisateur après la validation de la transaction courante, ou immédiatement hors
+     * transaction. Une invalidation avant la validation laisserait une lecture concurrente remettre en cache la
+     * liste non encore modifiée.
+     *
+     * @param userId l'identifiant de l'utilisateur
+     */
+    public void invalidate(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lists.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lists.invalidate(userId);
+            }
+        });
+    }
+
+    private record Entry(String eTag, List<TimeZoneDTO> timeZones) {
+    }
+}
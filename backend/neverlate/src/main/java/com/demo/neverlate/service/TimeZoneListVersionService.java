@@ -0,0 +1,133 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.config.ReadYourWrites;
+import com.demo.neverlate.model.TimeZoneListVersion;
+import com.demo.neverlate.model.User;
+import com.demo.neverlate.repository.TimeZoneListVersionRepository;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+
+/**
+ * Service de gestion de la version des listes de fuseaux horaires, utilisée comme ETag par les lectures.
+ * <p>
+ * La version est créée à l'inscription de l'utilisateur, et toute modification de sa liste l'incrémente dans la même
+ * transaction : les lectures n'écrivent jamais. Les décalages renvoyés pour les fuseaux IANA changeant aussi aux
+ * passages à l'heure d'été ou d'hiver, l'ETag comprend l'instant du prochain changement. Une fois ce changement
+ * passé, le suivant est recalculé en lecture, sans être enregistré, et conservé en mémoire
+ * ({@link OffsetChangeCache}) jusqu'à ce qu'il soit passé à son tour ou que la liste soit modifiée.
+ */
+@Service
+public class TimeZoneListVersionService {
+
+    @Autowired
+    private TimeZoneListVersionRepository timeZoneListVersionRepository;
+
+    @Autowired
+    private TimeZoneRepository timeZoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ZoneConversionEngine zoneConversionEngine;
+
+    @Autowired
+    private TimeZoneListCache timeZoneListCache;
+
+    @Autowired
+    private OffsetChangeCache offsetChangeCache;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Retourne l'ETag (fort) de la liste des fuseaux horaires d'un utilisateur.
+     * Sur le chemin nominal, une seule lecture par clé primaire. À appeler avant de charger la liste : les données
+     * renvoyées sont ainsi au moins aussi récentes que l'ETag.
+     *
+     * @param userId L'identifiant de l'utilisateur.
+     * @return L'ETag, entre guillemets.
+     */
+    @Transactional(readOnly = true)
+    public String currentETag(Long userId) {
+        long now = clock.instant().getEpochSecond();
+        TimeZoneListVersion listVersion = timeZoneListVersionRepository.findById(userId).orElse(null);
+        if (listVersion == null) {
+            // Utilisateur créé sans version : version 0 jusqu'à sa première modification
+            return eTag(userId, 0, offsetChangeCache.get(userId, 0, now, () -> nextOffsetChange(userId, now)));
+        }
+        Long validUntil = listVersion.getOffsetsValidUntil();
+        if (validUntil != null && now >= validUntil) {
+            validUntil = offsetChangeCache.get(userId, listVersion.getVersion(), now,
+                    () -> nextOffsetChange(userId, now));
+        }
+        return eTag(userId, listVersion.getVersion(), validUntil);
+    }
+
+    /**
+     * Crée la version (0) de la liste d'un nouvel utilisateur, dans la transaction de son inscription.
+     *
+     * @param user L'utilisateur qui vient d'être enregistré.
+     */
+    @Transactional
+    public void create(User user) {
+        timeZoneListVersionRepository.save(TimeZoneListVersion.builder().user(user).version(0).build());
+    }
+
+    /**
+     * Incrémente la version de la liste des fuseaux horaires d'un utilisateur, dans la transaction de la modification,
+     * et invalide la liste en cache une fois la transaction validée. Les lectures suivantes de l'utilisateur courant
+     * sont servies par la base primaire le temps que le réplica reçoive la modification.
+     *
+     * @param userId L'identifiant de l'utilisateur.
+     */
+    @Transactional
+    public void increment(Long userId) {
+        Long validUntil = nextOffsetChange(userId, clock.instant().getEpochSecond());
+        if (timeZoneListVersionRepository.increment(userId, validUntil) == 0) {
+            createFirstVersion(userId, validUntil);
+        }
+        timeZoneListCache.invalidate(userId);
+        readYourWrites.recordWrite();
+    }
+
+    /**
+     * Crée, à sa première modification, la version d'un utilisateur créé sans version. La ligne de l'utilisateur est
+     * verrouillée pour que deux premières modifications concurrentes ne créent pas chacune la version : la seconde
+     * l'incrémente.
+     */
+    private void createFirstVersion(Long userId, Long validUntil) {
+        userRepository.lockById(userId);
+        if (timeZoneListVersionRepository.increment(userId, validUntil) == 0) {
+            timeZoneListVersionRepository.save(TimeZoneListVersion.builder()
+                    .user(userRepository.getReferenceById(userId))
+                    .version(1)
+                    .offsetsValidUntil(validUntil)
+                    .build());
+        }
+    }
+
+    /**
+     * Calcule le prochain changement de décalage parmi les fuseaux IANA de l'utilisateur.
+     *
+     * @return l'instant du changement en secondes depuis l'époque, ou null si aucun n'est prévu
+     */
+    private Long nextOffsetChange(Long userId, long now) {
+        long next = Long.MAX_VALUE;
+        for (String zoneId : timeZoneRepository.findZoneIdsByUserId(userId)) {
+            next = Math.min(next, zoneConversionEngine.periodAt(zoneId, null, now).end());
+        }
+        return next == Long.MAX_VALUE ? null : next;
+    }
+
+    private static String eTag(Long userId, long version, Long offsetsValidUntil) {
+        return "\"" + userId + "." + version + (offsetsValidUntil != null ? "." + offsetsValidUntil : "") + "\"";
+    }
+}
@@ -1,30 +1,47 @@
 package com.demo.neverlate.service;
 
+import com.demo.neverlate.config.AuthenticatedUser;
+import com.demo.neverlate.config.CustomUserPrincipal;
 import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.dto.TimeZonePage;
+import com.demo.neverlate.dto.TimeZonePageRow;
+import com.demo.neverlate.exception.InvalidCursorException;
+import com.demo.neverlate.exception.InvalidTimeFormatException;
 import com.demo.neverlate.exception.TimeZoneNotFoundException;
 import com.demo.neverlate.exception.UnauthorizedActionException;
 import com.demo.neverlate.mapper.TimeZoneMapper;
 import com.demo.neverlate.model.TimeZone;
 import com.demo.neverlate.model.User;
+import com.demo.neverlate.model.Zone;
 import com.demo.neverlate.repository.TimeZoneRepository;
 import com.demo.neverlate.repository.UserRepository;
+import com.demo.neverlate.utils.Offsets;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.ByteBuffer;
+import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Service pour gérer les fuseaux horaires (TimeZone) pour les utilisateurs.
+ * Les lectures sont en lecture seule : elles peuvent être servies par un réplica ({@code ReplicaDataSourceConfig}).
  */
 @Service
 public class TimeZoneService {
 
+    // Curseur de pagination : position puis ID du dernier élément de la page
+    private static final int CURSOR_BYTES = Integer.BYTES + Long.BYTES;
+
     @Autowired
     private TimeZoneRepository timeZoneRepository;
 
@@ -34,45 +51,119 @@ public class TimeZoneService {
     @Autowired
     private TimeZoneMapper timeZoneMapper;
 
+    @Autowired
+    private SharedZoneService sharedZoneService;
+
+    @Autowired
+    private ZoneConversionEngine zoneConversionEngine;
+
+    @Autowired
+    private TimeZoneListVersionService timeZoneListVersionService;
+
+    @Autowired
+    private TimeZoneListCache timeZoneListCache;
+
+    @Value("${neverlate.timezones.page.max-limit:500}")
+    private int maxPageLimit = 500;
+
     /**
-     * Récupère tous les fuseaux horaires associés à l'utilisateur courant.
+     * Récupère tous les fuseaux horaires associés à l'utilisateur courant, depuis le cache si la liste en cache
+     * correspond à la version courante.
      *
-     * @return Liste de TimeZoneDTO pour l'utilisateur courant.
+     * @param eTag L'ETag de la version courante de la liste, lu avant l'appel.
+     * @return Liste non modifiable de TimeZoneDTO pour l'utilisateur courant.
      */
     @Operation(summary = "Retrieve all timezones for the current user")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Time zones retrieved successfully"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public List<TimeZoneDTO> findAllForCurrentUser() {
-        User currentUser = getCurrentUser();
-        List<TimeZone> timeZones = timeZoneRepository.findByUser(currentUser);
-        return timeZones.stream().map(timeZoneMapper::toDTO).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<TimeZoneDTO> findAllForCurrentUser(String eTag) {
+        Long currentUserId = getCurrentUserId();
+        // Projection directe en DTO : aucune entité gérée à hydrater puis copier
+        return timeZoneListCache.get(currentUserId, eTag,
+                () -> withCurrentOffsets(timeZoneRepository.findDtosByUserId(currentUserId)));
+    }
+
+    /**
+     * Récupère une page des fuseaux horaires de l'utilisateur courant, triés par position puis par ID (pagination par
+     * clé).
+     * Le coût d'une page ne dépend pas de sa position, contrairement à une pagination par décalage.
+     *
+     * @param limit Le nombre maximal de fuseaux horaires de la page (borné par la configuration).
+     * @param cursor Le curseur renvoyé avec la page précédente, ou null pour la première page.
+     * @return La page de fuseaux horaires et le curseur de la page suivante.
+     * @throws InvalidCursorException si le curseur ou la taille de page est invalide.
+     */
+    @Operation(summary = "Retrieve a page of timezones for the current user")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Time zones retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit")
+    })
+    @Transactional(readOnly = true)
+    public TimeZonePage findPageForCurrentUser(int limit, String cursor) {
+        if (limit < 1) {
+            throw new InvalidCursorException("Page limit must be positive");
+        }
+        int pageSize = Math.min(limit, maxPageLimit);
+        // Première page : avant toute position attribuée
+        ByteBuffer after = cursor == null || cursor.isEmpty()
+                ? ByteBuffer.allocate(CURSOR_BYTES).putInt(Integer.MIN_VALUE).putLong(0L).flip()
+                : decodeCursor(cursor);
+
+        // Un élément de plus que demandé indique s'il existe une page suivante
+        List<TimeZonePageRow> rows = timeZoneRepository.findRowsByUserIdAfter(getCurrentUserId(), after.getInt(),
+                after.getLong(), Limit.of(pageSize + 1));
+        List<TimeZoneDTO> items = withCurrentOffsets(rows.stream().map(TimeZonePageRow::timeZone).toList());
+        if (items.size() <= pageSize) {
+            return new TimeZonePage(items, null);
+        }
+        TimeZonePageRow last = rows.get(pageSize - 1);
+        return new TimeZonePage(items.subList(0, pageSize), encodeCursor(last.position(), last.timeZone().getId()));
     }
 
     /**
-     * Récupère un fuseau horaire par son identifiant.
+     * Récupère un fuseau horaire de l'utilisateur courant par son identifiant.
      *
      * @param id L'identifiant du fuseau horaire.
      * @return Le TimeZoneDTO associé.
      * @throws TimeZoneNotFoundException si le fuseau horaire n'est pas trouvé.
+     * @throws UnauthorizedActionException si le fuseau horaire appartient à un autre utilisateur.
      */
     @Operation(summary = "Find a timezone by ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Time zone found"),
-            @ApiResponse(responseCode = "404", description = "Time zone not found")
+            @ApiResponse(responseCode = "404", description = "Time zone not found"),
+            @ApiResponse(responseCode = "403", description = "Unauthorized to access this time zone")
     })
+    @Transactional(readOnly = true)
     public TimeZoneDTO findById(Long id) {
-        TimeZone timeZone = timeZoneRepository.findById(id)
-                .orElseThrow(() -> new TimeZoneNotFoundException("Time zone not found with ID " + id));
-        return timeZoneMapper.toDTO(timeZone);
+        TimeZone timeZone = timeZoneRepository.findByIdAndUserId(id, getCurrentUserId())
+                .orElseThrow(() -> notFoundOrUnauthorized(id, "Unauthorized to access this TimeZone"));
+        return withCurrentOffset(timeZoneMapper.toDTO(timeZone));
+    }
+
+    /**
+     * Vérifie qu'un fuseau horaire appartient à l'utilisateur courant, par une requête sur son seul identifiant,
+     * sans charger le fuseau horaire.
+     *
+     * @param id L'identifiant du fuseau horaire.
+     * @throws TimeZoneNotFoundException si le fuseau horaire n'est pas trouvé.
+     * @throws UnauthorizedActionException si le fuseau horaire appartient à un autre utilisateur.
+     */
+    @Transactional(readOnly = true)
+    public void checkAccess(Long id) {
+        if (timeZoneRepository.findIdsByUserIdAndIdIn(getCurrentUserId(), Set.of(id)).isEmpty()) {
+            throw notFoundOrUnauthorized(id, "Unauthorized to access this TimeZone");
+        }
     }
 
     /**
      * Crée et sauvegarde un fuseau horaire pour l'utilisateur courant.
      *
      * @param timeZoneDTO Le DTO contenant les informations du fuseau horaire.
-     * @param currentUser L'utilisateur courant.
+     * @param currentUserId L'identifiant de l'utilisateur courant.
      * @return Le TimeZoneDTO du fuseau horaire créé.
      */
     @Operation(summary = "Create a new timezone for the current user")
@@ -80,10 +171,16 @@ public class TimeZoneService {
             @ApiResponse(responseCode = "201", description = "Time zone created successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid request")
     })
-    public TimeZoneDTO saveTimeZone(TimeZoneDTO timeZoneDTO, User currentUser) {
-        TimeZone timeZone = timeZoneMapper.toEntity(timeZoneDTO, currentUser);
+    @Transactional
+    public TimeZoneDTO saveTimeZone(TimeZoneDTO timeZoneDTO, Long currentUserId) {
+        normalize(timeZoneDTO);
+        // Référence vers l'utilisateur sans le charger : seule sa clé est nécessaire pour l'association
+        User currentUser = userRepository.getReferenceById(currentUserId);
+        TimeZone timeZone = timeZoneMapper.toEntity(timeZoneDTO, currentUser, sharedZoneService.resolve(timeZoneDTO));
+        timeZone.setPosition(timeZoneRepository.findNextPositionByUserId(currentUserId));
         TimeZone savedTimeZone = timeZoneRepository.save(timeZone);
-        return timeZoneMapper.toDTO(savedTimeZone);
+        timeZoneListVersionService.increment(currentUserId);
+        return withCurrentOffset(timeZoneMapper.toDTO(savedTimeZone));
     }
 
     /**
@@ -101,21 +198,26 @@ public class TimeZoneService {
             @ApiResponse(responseCode = "404", description = "Time zone not found"),
             @ApiResponse(responseCode = "403", description = "Unauthorized to update this time zone")
     })
+    @Transactional
     public TimeZoneDTO updateTimeZone(Long id, TimeZoneDTO updatedTimeZoneDTO) {
-        TimeZone existingTimeZone = timeZoneRepository.findById(id)
-                .orElseThrow(() -> new TimeZoneNotFoundException("Time zone not found with ID " + id));
-
-        User currentUser = getCurrentUser();
-        if (!existingTimeZone.getUser().equals(currentUser)) {
-            throw new UnauthorizedActionException("Unauthorized to update this TimeZone");
+        normalize(updatedTimeZoneDTO);
+        // Chemin nominal : recherche de la zone partagée (plus son insertion si elle est nouvelle), puis une seule
+        // mise à jour dont la clause WHERE vérifie la propriété, sans lecture préalable du fuseau horaire
+        Zone zone = sharedZoneService.resolve(updatedTimeZoneDTO);
+        Long currentUserId = getCurrentUserId();
+        int updated = timeZoneRepository.updateByIdAndUserId(id, currentUserId, updatedTimeZoneDTO.getLabel(), zone);
+        if (updated == 0) {
+            throw notFoundOrUnauthorized(id, "Unauthorized to update this TimeZone");
         }
+        timeZoneListVersionService.increment(currentUserId);
 
-        existingTimeZone.setLabel(updatedTimeZoneDTO.getLabel());
-        existingTimeZone.setCity(updatedTimeZoneDTO.getCity());
-        existingTimeZone.setOffset(updatedTimeZoneDTO.getOffset());
-
-        TimeZone updatedTimeZone = timeZoneRepository.save(existingTimeZone);
-        return timeZoneMapper.toDTO(updatedTimeZone);
+        return TimeZoneDTO.builder()
+                .id(id)
+                .label(updatedTimeZoneDTO.getLabel())
+                .city(updatedTimeZoneDTO.getCity())
+                .offset(Offsets.format(Offsets.parse(updatedTimeZoneDTO.getOffset())))
+                .zoneId(updatedTimeZoneDTO.getZoneId())
+                .build();
     }
 
     /**
@@ -131,27 +233,119 @@ public class TimeZoneService {
             @ApiResponse(responseCode = "404", description = "Time zone not found"),
             @ApiResponse(responseCode = "403", description = "Unauthorized to delete this time zone")
     })
+    @Transactional
     public void deleteById(Long id) {
-        TimeZone timeZone = timeZoneRepository.findById(id)
-                .orElseThrow(() -> new TimeZoneNotFoundException("Time zone not found with ID " + id));
+        Long currentUserId = getCurrentUserId();
+        if (timeZoneRepository.deleteByIdAndUserId(id, currentUserId) == 0) {
+            throw notFoundOrUnauthorized(id, "Unauthorized to delete this TimeZone");
+        }
+        timeZoneListVersionService.increment(currentUserId);
+    }
 
-        User currentUser = getCurrentUser();
-        if (!timeZone.getUser().equals(currentUser)) {
-            throw new UnauthorizedActionException("Unauthorized to delete this TimeZone");
+    /**
+     * Complète un fuseau horaire reçu du client avant son enregistrement.
+     * Pour un identifiant IANA, le décalage enregistré est son décalage actuel ; sinon le décalage est obligatoire.
+     *
+     * @param timeZoneDTO Le DTO à compléter.
+     * @throws InvalidTimeFormatException si ni le décalage ni l'identifiant IANA ne sont renseignés.
+     */
+    void normalize(TimeZoneDTO timeZoneDTO) {
+        String zoneId = timeZoneDTO.getZoneId();
+        if (zoneId != null && !zoneId.isEmpty()) {
+            timeZoneDTO.setOffset(Offsets.format(zoneConversionEngine.currentOffset(zoneId, null)));
+            return;
         }
+        timeZoneDTO.setZoneId(null);
+        if (timeZoneDTO.getOffset() == null || timeZoneDTO.getOffset().isEmpty()) {
+            throw new InvalidTimeFormatException("Le décalage horaire est obligatoire");
+        }
+    }
 
-        timeZoneRepository.deleteById(id);
+    /**
+     * Remplace le décalage stocké des fuseaux IANA par leur décalage actuel (heure d'été comprise).
+     * Les fuseaux à décalage fixe sont renvoyés tels quels.
+     *
+     * @param timeZones Les fuseaux horaires à compléter.
+     * @return Les mêmes fuseaux horaires.
+     */
+    private List<TimeZoneDTO> withCurrentOffsets(List<TimeZoneDTO> timeZones) {
+        for (TimeZoneDTO timeZone : timeZones) {
+            withCurrentOffset(timeZone);
+        }
+        return timeZones;
+    }
+
+    TimeZoneDTO withCurrentOffset(TimeZoneDTO timeZone) {
+        if (timeZone.getZoneId() != null) {
+            timeZone.setOffset(Offsets.format(zoneConversionEngine.currentOffset(timeZone.getZoneId(), null)));
+        }
+        return timeZone;
     }
 
     /**
-     * Récupère l'utilisateur courant à partir du contexte de sécurité.
+     * Détermine pourquoi une lecture ou une modification limitée au propriétaire n'a trouvé aucune ligne.
+     * Cette requête supplémentaire n'est exécutée qu'en cas d'échec.
      *
-     * @return L'utilisateur courant.
+     * @param id L'identifiant du fuseau horaire.
+     * @param unauthorizedMessage Le message à utiliser si le fuseau horaire appartient à un autre utilisateur.
+     * @return L'exception à lever.
      */
-    private User getCurrentUser() {
+    private RuntimeException notFoundOrUnauthorized(Long id, String unauthorizedMessage) {
+        if (timeZoneRepository.existsById(id)) {
+            return new UnauthorizedActionException(unauthorizedMessage);
+        }
+        return new TimeZoneNotFoundException("Time zone not found with ID " + id);
+    }
+
+    /**
+     * Encode la position et l'ID du dernier élément d'une page en curseur opaque.
+     *
+     * @param lastPosition La position du dernier élément de la page.
+     * @param lastId L'ID du dernier élément de la page.
+     * @return Le curseur.
+     */
+    private static String encodeCursor(int lastPosition, long lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ByteBuffer.allocate(CURSOR_BYTES).putInt(lastPosition).putLong(lastId).array());
+    }
+
+    /**
+     * Décode un curseur produit par {@link #encodeCursor(int, long)}.
+     *
+     * @param cursor Le curseur.
+     * @return La position puis l'ID du dernier élément de la page précédente.
+     * @throws InvalidCursorException si le curseur est invalide.
+     */
+    private static ByteBuffer decodeCursor(String cursor) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
+        if (bytes.length != CURSOR_BYTES) {
+            throw new InvalidCursorException("Invalid page cursor");
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Récupère l'identifiant de l'utilisateur courant à partir du principal du contexte de sécurité.
+     * La base de données n'est interrogée que si le principal ne porte pas l'identifiant.
+     *
+     * @return L'identifiant de l'utilisateur courant.
+     */
+    Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.getId();
+        }
+        if (principal instanceof CustomUserPrincipal customUserPrincipal) {
+            return customUserPrincipal.getId();
+        }
+        return userRepository.findByUsername(authentication.getName())
+                .map(User::getId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
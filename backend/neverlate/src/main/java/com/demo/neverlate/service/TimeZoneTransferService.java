@@ -0,0 +1,304 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.BatchResultDTO;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.InvalidBatchException;
+import com.demo.neverlate.mapper.TimeZoneMapper;
+import com.demo.neverlate.model.TimeZone;
+import com.demo.neverlate.model.User;
+import com.demo.neverlate.model.Zone;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Service d'export et d'import des fuseaux horaires de l'utilisateur courant, en CSV ou en NDJSON (un objet JSON
+ * par ligne).
+ * <p>
+ * Les deux sens fonctionnent en flux : l'export écrit les lignes au fil de leur lecture en base, l'import les lit
+ * au fil de la requête et les enregistre par blocs. La mémoire utilisée ne dépend pas de la taille du fichier.
+ */
+@Service
+public class TimeZoneTransferService {
+
+    /**
+     * Formats d'échange pris en charge.
+     */
+    public enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * Retrouve un format par son nom, sans tenir compte de la casse.
+         *
+         * @throws InvalidBatchException si le format est inconnu
+         */
+        public static Format of(String name) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            throw new InvalidBatchException("Unsupported format: " + name);
+        }
+
+        /**
+         * Retrouve un format par son type de contenu ({@code text/csv} ou {@code application/x-ndjson}).
+         *
+         * @throws InvalidBatchException si le type de contenu n'est pas pris en charge
+         */
+        public static Format ofMediaType(String contentType) {
+            if (contentType != null) {
+                String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+                for (Format format : values()) {
+                    if (format.mediaType.equals(mediaType)) {
+                        return format;
+                    }
+                }
+            }
+            throw new InvalidBatchException("Unsupported content type: " + contentType);
+        }
+    }
+
+    // Colonnes du fichier CSV, dans l'ordre ; la colonne "id" est ignorée à l'import
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("label")
+            .addColumn("city")
+            .addColumn("offset")
+            .addColumn("zoneId")
+            .build()
+            .withHeader();
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Autowired
+    private TimeZoneRepository timeZoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TimeZoneMapper timeZoneMapper;
+
+    @Autowired
+    private SharedZoneService sharedZoneService;
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private TimeZoneBatchService timeZoneBatchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TimeZoneListVersionService timeZoneListVersionService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${neverlate.timezones.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${neverlate.timezones.import.max-reported-errors:100}")
+    private int maxReportedErrors = 100;
+
+    /**
+     * Écrit les fuseaux horaires d'un utilisateur dans le format demandé, au fil de leur lecture en base.
+     * En lecture seule : l'export peut être servi par un réplica.
+     * Appelée hors du thread de la requête : l'utilisateur est donc passé explicitement. Le flux n'est pas fermé.
+     *
+     * @param userId L'identifiant de l'utilisateur.
+     * @param format Le format d'export.
+     * @param out Le flux de sortie.
+     * @throws IOException si l'écriture échoue (client déconnecté...)
+     */
+    @Operation(summary = "Export the timezones of the current user as CSV or NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Time zones streamed"),
+            @ApiResponse(responseCode = "400", description = "Unsupported format")
+    })
+    @Transactional(readOnly = true)
+    public void exportTimeZones(Long userId, Format format, OutputStream out) throws IOException {
+        boolean empty = true;
+        try (Stream<TimeZoneDTO> timeZones = timeZoneRepository.streamDtosByUserId(userId);
+             SequenceWriter writer = writerFor(format).writeValues(out)) {
+            Iterator<TimeZoneDTO> iterator = timeZones.iterator();
+            while (iterator.hasNext()) {
+                writer.write(timeZoneService.withCurrentOffset(iterator.next()));
+                empty = false;
+            }
+        }
+        if (format == Format.NDJSON && !empty) {
+            // Le séparateur n'est écrit qu'entre deux objets : chaque ligne NDJSON se termine par un saut de ligne
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Importe des fuseaux horaires pour l'utilisateur courant, lus au fil du corps de la requête.
+     * Chaque ligne est validée comme une création unitaire ; les lignes invalides sont ignorées et signalées
+     * (dans la limite de {@code max-reported-errors}). Les lignes valides sont enregistrées par blocs, puis
+     * détachées du contexte de persistance.
+     *
+     * @param format Le format du fichier.
+     * @param in Le corps de la requête.
+     * @return Le nombre de lignes importées et en erreur, et les erreurs (position de la ligne, hors en-tête).
+     * @throws InvalidBatchException si le fichier est mal formé : rien n'est alors importé.
+     * @throws IOException si la lecture échoue.
+     */
+    @Operation(summary = "Import timezones for the current user from CSV or NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "File imported, invalid rows reported"),
+            @ApiResponse(responseCode = "400", description = "Malformed file")
+    })
+    @Transactional(rollbackFor = IOException.class)
+    public BatchResultDTO importTimeZones(Format format, InputStream in) throws IOException {
+        Long userId = timeZoneService.getCurrentUserId();
+        // Positions à la suite de la liste, dans l'ordre du fichier
+        int firstPosition = timeZoneRepository.findNextPositionByUserId(userId);
+        List<TimeZoneDTO> chunk = new ArrayList<>(chunkSize);
+        List<BatchResultDTO.ItemResult> errors = new ArrayList<>();
+        int succeeded = 0;
+        int failed = 0;
+        int index = 0;
+
+        try (MappingIterator<TimeZoneDTO> rows = readerFor(format).readValues(in)) {
+            for (; hasNext(rows, index); index++) {
+                TimeZoneDTO timeZoneDTO = next(rows, index);
+                String error = timeZoneBatchService.validate(timeZoneDTO);
+                if (error != null) {
+                    failed++;
+                    if (errors.size() < maxReportedErrors) {
+                        errors.add(new BatchResultDTO.ItemResult(index, null, 400, error));
+                    }
+                    continue;
+                }
+                timeZoneDTO.setId(null);
+                chunk.add(timeZoneDTO);
+                if (chunk.size() == chunkSize) {
+                    succeeded += flush(chunk, userId, firstPosition + succeeded);
+                }
+            }
+        }
+        succeeded += flush(chunk, userId, firstPosition + succeeded);
+        if (succeeded > 0) {
+            timeZoneListVersionService.increment(userId);
+        }
+        return new BatchResultDTO(succeeded, failed, errors);
+    }
+
+    /**
+     * Enregistre un bloc de fuseaux horaires (en lots JDBC), puis vide le contexte de persistance pour que la mémoire
+     * utilisée reste constante. Les zones partagées du bloc sont résolues juste avant : celles d'un bloc précédent
+     * sont détachées par le vidage.
+     *
+     * @param position la position du premier fuseau horaire du bloc
+     * @return le nombre de fuseaux horaires enregistrés
+     */
+    private int flush(List<TimeZoneDTO> chunk, Long userId, int position) {
+        int count = chunk.size();
+        if (count > 0) {
+            Map<String, Zone> zones = sharedZoneService.resolveAll(chunk);
+            User user = userRepository.getReferenceById(userId);
+            List<TimeZone> timeZones = new ArrayList<>(count);
+            for (TimeZoneDTO timeZoneDTO : chunk) {
+                Zone zone = zones.get(timeZoneMapper.toZone(timeZoneDTO).getNaturalKey());
+                TimeZone timeZone = timeZoneMapper.toEntity(timeZoneDTO, user, zone);
+                timeZone.setPosition(position++);
+                timeZones.add(timeZone);
+            }
+            timeZoneRepository.saveAll(timeZones);
+            entityManager.flush();
+            entityManager.clear();
+            chunk.clear();
+        }
+        return count;
+    }
+
+    private static boolean hasNext(MappingIterator<TimeZoneDTO> rows, int index) throws IOException {
+        try {
+            return rows.hasNextValue();
+        } catch (JsonProcessingException e) {
+            throw malformed(index, e);
+        }
+    }
+
+    private static TimeZoneDTO next(MappingIterator<TimeZoneDTO> rows, int index) throws IOException {
+        try {
+            return rows.nextValue();
+        } catch (JsonProcessingException e) {
+            throw malformed(index, e);
+        } catch (RuntimeJsonMappingException e) {
+            throw new InvalidBatchException("Malformed row " + index + ": " + e.getMessage());
+        }
+    }
+
+    private static InvalidBatchException malformed(int index, JsonProcessingException e) {
+        return new InvalidBatchException("Malformed row " + index + ": " + e.getOriginalMessage());
+    }
+
+    private ObjectWriter writerFor(Format format) {
+        if (format == Format.CSV) {
+            return csvMapper.writerFor(TimeZoneDTO.class).with(CSV_SCHEMA);
+        }
+        return objectMapper.writerFor(TimeZoneDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+    }
+
+    private ObjectReader readerFor(Format format) {
+        if (format == Format.CSV) {
+            // Colonnes identifiées par l'en-tête du fichier, dans n'importe quel ordre
+            return csvMapper.readerFor(TimeZoneDTO.class).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(TimeZoneDTO.class);
+    }
+}
@@ -1,18 +1,24 @@
 package com.demo.neverlate.service;
 
+import com.demo.neverlate.config.ReadYourWrites;
 import com.demo.neverlate.dto.UserDTO;
 import com.demo.neverlate.exception.DuplicateUserException;
 import com.demo.neverlate.mapper.UserMapper;
+import com.demo.neverlate.model.Role;
 import com.demo.neverlate.model.User;
 import com.demo.neverlate.repository.UserRepository;
+import com.demo.neverlate.security.PrincipalCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service pour gérer la création des utilisateurs.
@@ -23,6 +29,11 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
+    private final PrincipalCache principalCache;
+    private final LastLoginBuffer lastLoginBuffer;
+    private final ReadYourWrites readYourWrites;
+    private final TimeZoneListVersionService timeZoneListVersionService;
+    private final TransactionOperations transactionOperations;
 
     /**
      * Constructeur avec injection des dépendances.
@@ -30,15 +41,30 @@ public class UserService {
      * @param userRepository Le repository des utilisateurs
      * @param passwordEncoder L'encodeur de mots de passe
      * @param userMapper Le mapper pour convertir entre UserDTO et User
+     * @param principalCache Le cache des principaux authentifiés
+     * @param lastLoginBuffer Le tampon d'écriture différée des dates de dernière connexion
+     * @param readYourWrites Le suivi des écritures récentes, pour les lectures sur un réplica
+     * @param timeZoneListVersionService Le service des versions des listes de fuseaux horaires
+     * @param transactionOperations Les transactions des inscriptions, ouvertes une fois le mot de passe haché
      */
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserMapper userMapper) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserMapper userMapper,
+                       PrincipalCache principalCache, LastLoginBuffer lastLoginBuffer, ReadYourWrites readYourWrites,
+                       TimeZoneListVersionService timeZoneListVersionService,
+                       TransactionOperations transactionOperations) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
+        this.principalCache = principalCache;
+        this.lastLoginBuffer = lastLoginBuffer;
+        this.readYourWrites = readYourWrites;
+        this.timeZoneListVersionService = timeZoneListVersionService;
+        this.transactionOperations = transactionOperations;
     }
 
     /**
-     * Sauvegarde un nouvel utilisateur.
+     * Sauvegarde un nouvel utilisateur. Le mot de passe est haché avant l'ouverture de la transaction, qui ne retient
+     * donc pas de connexion pendant le calcul ; les vérifications d'unicité sont faites dans la transaction
+     * d'écriture, sur la base primaire.
      *
      * @param userDTO Le DTO contenant les informations de l'utilisateur.
      * @throws DuplicateUserException Si le nom d'utilisateur ou l'email existe déjà.
@@ -49,22 +75,12 @@ public class UserService {
             @ApiResponse(responseCode = "409", description = "Duplicate username or email")
     })
     public void saveUser(UserDTO userDTO) {
-        // Vérification si le nom d'utilisateur existe déjà
-        if (userRepository.findByUsername(userDTO.getUsername()).isPresent()) {
-            throw new DuplicateUserException("Username " + userDTO.getUsername() + " already exists");
-        }
-
-        // Vérification si l'email existe déjà
-        if (userRepository.findByEmail(userDTO.getEmail()).isPresent()) {
-            throw new DuplicateUserException("Email " + userDTO.getEmail() + " already exists");
-        }
-
         // Convertir le DTO en entité User et encoder le mot de passe
         User user = userMapper.toEntity(userDTO);
         user.setPassword(passwordEncoder.encode(user.getPassword()));
 
-        // Sauvegarder l'utilisateur dans la base de données
-        userRepository.save(user);
+        transactionOperations.executeWithoutResult(status -> insert(user));
+        readYourWrites.recordWrite(user.getUsername());
     }
 
     /**
@@ -73,27 +89,75 @@ public class UserService {
      * @param username Le nom d'utilisateur à rechercher.
      * @return Un Optional contenant l'utilisateur s'il existe, sinon un Optional vide.
      */
+    @Transactional(readOnly = true)
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return readYourWrites.readFor(username, () -> userRepository.findByUsername(username));
     }
 
     /**
      * Met à jour la date de dernière connexion de l'utilisateur.
+     * L'écriture est différée : elle est fusionnée avec les connexions suivantes et écrite par lots.
+     *
+     * @param userId L'identifiant de l'utilisateur qui vient de se connecter.
+     */
+    public void updateLastLogin(Long userId) {
+        lastLoginBuffer.record(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Remplace le mot de passe (déjà encodé) d'un utilisateur et invalide son principal en cache.
+     *
+     * @param user L'utilisateur à modifier.
+     * @param encodedPassword Le nouveau mot de passe encodé.
+     * @return L'utilisateur enregistré.
+     */
+    public User updatePassword(User user, String encodedPassword) {
+        user.setPassword(encodedPassword);
+        User savedUser = userRepository.save(user);
+        principalCache.invalidate(user.getUsername());
+        readYourWrites.recordWrite(user.getUsername());
+        return savedUser;
+    }
+
+    /**
+     * Remplace les rôles d'un utilisateur et invalide son principal en cache.
      *
-     * @param user L'utilisateur pour lequel mettre à jour le champ lastLogin.
+     * @param user L'utilisateur à modifier.
+     * @param roles Les nouveaux rôles.
+     * @return L'utilisateur enregistré.
      */
-    public void updateLastLogin(User user) {
-        user.setLastLogin(LocalDateTime.now()); // Met à jour le champ lastLogin avec l'heure actuelle
-        userRepository.save(user); // Enregistre les modifications
+    public User updateRoles(User user, Set<Role> roles) {
+        user.setRoles(roles);
+        User savedUser = userRepository.save(user);
+        principalCache.invalidate(user.getUsername());
+        readYourWrites.recordWrite(user.getUsername());
+        return savedUser;
     }
 
     /**
      * Enregistre un nouvel utilisateur en mettant à jour la date de dernière connexion.
+     * Le mot de passe de l'entité, fourni en clair, est encodé ici, avant l'ouverture de la transaction.
      *
      * @param user L'entité utilisateur à enregistrer.
      * @return L'utilisateur enregistré avec la date de dernière connexion mise à jour.
      */
     public User registerNewUser(User user) {
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setLastLogin(LocalDateTime.now()); // Définit lastLogin lors de l'enregistrement
+        User savedUser = transactionOperations.execute(status -> insert(user));
+        readYourWrites.recordWrite(user.getUsername());
+        return savedUser;
+    }
+
+    /**
+     * Vérifie l'unicité du nom d'utilisateur et de l'email, puis enregistre l'utilisateur et la version de sa liste
+     * de fuseaux horaires. À appeler dans la transaction d'écriture.
+     *
+     * @param user L'utilisateur, avec son mot de passe déjà encodé.
+     * @return L'utilisateur enregistré.
+     * @throws DuplicateUserException Si le nom d'utilisateur ou l'email existe déjà.
+     */
+    private User insert(User user) {
         // Vérification si le nom d'utilisateur existe déjà
         if (userRepository.findByUsername(user.getUsername()).isPresent()) {
             throw new DuplicateUserException("Username " + user.getUsername() + " already exists");
@@ -103,7 +167,9 @@ public class UserService {
         if (userRepository.findByEmail(user.getEmail()).isPresent()) {
             throw new DuplicateUserException("Email " + user.getEmail() + " already exists");
         }
-        user.setLastLogin(LocalDateTime.now()); // Définit lastLogin lors de l'enregistrement
-        return userRepository.save(user);
+
+        User savedUser = userRepository.save(user);
+        timeZoneListVersionService.create(savedUser);
+        return savedUser;
     }
 }
@@ -0,0 +1,180 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.CatalogZoneDTO;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.ZoneId;
+import java.time.format.TextStyle;
+import java.time.zone.ZoneRulesProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Catalogue en lecture seule des fuseaux horaires IANA, pour l'autocomplétion de la saisie d'un fuseau horaire.
+ * <p>
+ * Le catalogue est construit une fois au démarrage à partir de la base tz du JDK : pour chaque fuseau, sa ville de
+ * référence (déduite de l'identifiant) et ses noms anglais et français. Les recherches portent sur des préfixes de
+ * mots, sans tenir compte de la casse ni des accents. L'index est un tableau trié de clés, parcouru par recherche
+ * dichotomique : une recherche ne touche ni la base de données ni aucune structure modifiable.
+ */
+@Component
+public class ZoneCatalog {
+
+    // Régions géographiques de la base tz (les alias historiques comme "US/Eastern" ou "Etc/GMT+5" sont ignorés)
+    private static final Pattern GEOGRAPHIC_ZONE =
+            Pattern.compile("(Africa|America|Antarctica|Asia|Atlantic|Australia|Europe|Indian|Pacific)/.+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}/]+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final CatalogZoneDTO[] zones;
+    // Clés triées et, pour chacune, le fuseau indexé : (indice << 1) | 0 si la clé provient de la ville, | 1 sinon
+    private final String[] keys;
+    private final int[] postings;
+    private final String version;
+
+    public ZoneCatalog() {
+        List<CatalogZoneDTO> catalog = new ArrayList<>();
+        for (String zoneId : ZoneId.getAvailableZoneIds()) {
+            if (GEOGRAPHIC_ZONE.matcher(zoneId).matches()) {
+                ZoneId zone = ZoneId.of(zoneId);
+                catalog.add(new CatalogZoneDTO(zoneId, cityOf(zoneId),
+                        zone.getDisplayName(TextStyle.FULL, Locale.ENGLISH),
+                        zone.getDisplayName(TextStyle.FULL, Locale.FRENCH)));
+            }
+        }
+        catalog.sort(Comparator.comparing(CatalogZoneDTO::getCity).thenComparing(CatalogZoneDTO::getZoneId));
+        this.zones = catalog.toArray(CatalogZoneDTO[]::new);
+
+        Map<String, List<Integer>> index = new HashMap<>();
+        for (int zone = 0; zone < zones.length; zone++) {
+            CatalogZoneDTO entry = zones[zone];
+            Set<String> cityKeys = new LinkedHashSet<>(words(entry.getCity()));
+            cityKeys.add(normalize(entry.getCity()));
+            Set<String> otherKeys = new LinkedHashSet<>();
+            otherKeys.add(normalize(entry.getZoneId()));
+            otherKeys.addAll(words(entry.getZoneId()));
+            otherKeys.addAll(words(entry.getNameEn()));
+            otherKeys.addAll(words(entry.getNameFr()));
+            otherKeys.removeAll(cityKeys);
+            for (String key : cityKeys) {
+                index.computeIfAbsent(key, k -> new ArrayList<>()).add(zone << 1);
+            }
+            for (String key : otherKeys) {
+                index.computeIfAbsent(key, k -> new ArrayList<>()).add(zone << 1 | 1);
+            }
+        }
+        List<String> sortedKeys = new ArrayList<>();
+        List<Integer> sortedPostings = new ArrayList<>();
+        index.keySet().stream().sorted().forEach(key -> {
+            for (int posting : index.get(key)) {
+                sortedKeys.add(key);
+                sortedPostings.add(posting);
+            }
+        });
+        this.keys = sortedKeys.toArray(String[]::new);
+        this.postings = sortedPostings.stream().mapToInt(Integer::intValue).toArray();
+        this.version = ZoneRulesProvider.getVersions("UTC").lastKey() + "." + zones.length;
+    }
+
+    /**
+     * Recherche les fuseaux horaires dont la ville, l'identifiant ou l'un des noms contient un mot commençant par la
+     * saisie. Les fuseaux trouvés par leur ville sont proposés en premier, puis par ordre alphabétique de ville.
+     *
+     * @param query la saisie (casse et accents indifférents)
+     * @param limit le nombre maximal de fuseaux renvoyés
+     * @return les fuseaux trouvés, vide si la saisie ne contient ni lettre ni chiffre
+     */
+    public List<CatalogZoneDTO> search(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Fuseaux trouvés par leur ville, puis par un autre mot (un fuseau n'est compté qu'une fois)
+        BitSet byCity = new BitSet(zones.length);
+        BitSet byOther = new BitSet(zones.length);
+        for (int key = lowerBound(prefix); key < keys.length && keys[key].startsWith(prefix); key++) {
+            int posting = postings[key];
+            ((posting & 1) == 0 ? byCity : byOther).set(posting >>> 1);
+        }
+        byOther.andNot(byCity);
+
+        List<CatalogZoneDTO> found = new ArrayList<>(Math.min(limit, byCity.cardinality() + byOther.cardinality()));
+        for (BitSet matches : List.of(byCity, byOther)) {
+            for (int zone = matches.nextSetBit(0); zone >= 0 && found.size() < limit; zone = matches.nextSetBit(zone + 1)) {
+                found.add(zones[zone]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Retourne la version du catalogue (version de la base tz et nombre de fuseaux), utilisable comme ETag.
+     *
+     * @return la version du catalogue
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Retourne le nombre de fuseaux horaires du catalogue.
+     *
+     * @return le nombre de fuseaux horaires
+     */
+    public int size() {
+        return zones.length;
+    }
+
+    private int lowerBound(String prefix) {
+        int index = Arrays.binarySearch(keys, prefix);
+        if (index < 0) {
+            return -index - 1;
+        }
+        // Clés en double (un fuseau par entrée) : retour à la première
+        while (index > 0 && keys[index - 1].equals(prefix)) {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * Ville de référence d'un identifiant IANA : son dernier segment ("America/Argentina/Buenos_Aires" : "Buenos Aires").
+     */
+    private static String cityOf(String zoneId) {
+        return zoneId.substring(zoneId.lastIndexOf('/') + 1).replace('_', ' ');
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATORS.split(stripAccents(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Forme normalisée d'une saisie ou d'une clé : minuscules, sans accents, séparateurs réduits à un espace
+     * (la barre oblique des identifiants IANA est conservée).
+     */
+    static String normalize(String text) {
+        return text == null ? "" : SEPARATORS.matcher(stripAccents(text)).replaceAll(" ").trim();
+    }
+
+    private static String stripAccents(String text) {
+        return COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,180 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.utils.Offsets;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Moteur de conversion des fuseaux horaires.
+ * <p>
+ * Un fuseau horaire est soit un décalage fixe, soit un identifiant IANA (par exemple {@code America/New_York})
+ * dont le décalage dépend de l'instant (heure d'été). Les {@link ZoneRules} de chaque identifiant sont
+ * mises en cache, ainsi que la période courante : l'intervalle entre deux transitions qui contient l'instant
+ * présent, avec son décalage. Le décalage « maintenant » se réduit alors à une comparaison d'intervalle,
+ * sans évaluer les règles de la base tz ; la période n'est recalculée qu'une fois la transition suivante passée.
+ * Les périodes résolues pour d'autres instants sont également conservées (en nombre borné par fuseau).
+ */
+@Component
+public class ZoneConversionEngine {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final int MAX_RESOLVED_PERIODS = 256;
+
+    private final Map<String, ZoneEntry> zones = new ConcurrentHashMap<>();
+
+    /**
+     * Retourne le décalage d'un fuseau horaire à un instant donné.
+     *
+     * @param zoneId      l'identifiant IANA du fuseau, ou null pour un fuseau à décalage fixe
+     * @param fixedOffset le décalage fixe, utilisé en l'absence d'identifiant IANA
+     * @param instant     l'instant
+     * @return le décalage à cet instant
+     */
+    public ZoneOffset offsetAt(String zoneId, ZoneOffset fixedOffset, Instant instant) {
+        if (zoneId == null) {
+            return fixedOffset;
+        }
+        return entry(zoneId).offsetAt(instant.getEpochSecond());
+    }
+
+    /**
+     * Retourne la période de décalage constant qui contient un instant : un appelant qui parcourt des instants
+     * successifs ne résout ainsi le décalage qu'une fois par période, et non une fois par instant.
+     *
+     * @param zoneId      l'identifiant IANA du fuseau, ou null pour un fuseau à décalage fixe
+     * @param fixedOffset le décalage fixe, utilisé en l'absence d'identifiant IANA
+     * @param epochSecond l'instant, en secondes depuis l'époque
+     * @return la période contenant cet instant
+     */
+    public Period periodAt(String zoneId, ZoneOffset fixedOffset, long epochSecond) {
+        if (zoneId == null) {
+            return new Period(Long.MIN_VALUE, Long.MAX_VALUE, fixedOffset);
+        }
+        ZoneEntry entry = entry(zoneId);
+        Period period = entry.current;
+        return period.contains(epochSecond) ? period : entry.resolveCached(epochSecond);
+    }
+
+    /**
+     * Retourne le décalage actuel d'un fuseau horaire.
+     *
+     * @param zoneId      l'identifiant IANA du fuseau, ou null pour un fuseau à décalage fixe
+     * @param fixedOffset le décalage fixe, utilisé en l'absence d'identifiant IANA
+     * @return le décalage actuel
+     */
+    public ZoneOffset currentOffset(String zoneId, ZoneOffset fixedOffset) {
+        return offsetAt(zoneId, fixedOffset, Instant.now());
+    }
+
+    /**
+     * Retourne le décalage d'un fuseau horaire pour une date et heure locale.
+     * Pour une heure locale ambiguë (retour à l'heure d'hiver), le décalage d'avant la transition est retenu ;
+     * pour une heure locale inexistante (passage à l'heure d'été), le décalage d'avant la transition également.
+     *
+     * @param zoneId        l'identifiant IANA du fuseau, ou null pour un fuseau à décalage fixe
+     * @param fixedOffset   le décalage fixe, utilisé en l'absence d'identifiant IANA
+     * @param localDateTime la date et heure locale dans ce fuseau
+     * @return le décalage applicable
+     */
+    public ZoneOffset offsetForLocal(String zoneId, ZoneOffset fixedOffset, LocalDateTime localDateTime) {
+        if (zoneId == null) {
+            return fixedOffset;
+        }
+        ZoneEntry entry = entry(zoneId);
+        Period period = entry.current;
+        long epochSecond = localDateTime.toEpochSecond(period.offset);
+        // Cas le plus fréquent : l'heure locale tombe dans la période courante, à plus d'un jour d'une transition
+        // (aucune ambiguïté possible entre deux décalages)
+        if (period.contains(epochSecond - SECONDS_PER_DAY) && period.contains(epochSecond + SECONDS_PER_DAY)) {
+            return period.offset;
+        }
+        return Offsets.ofTotalSeconds(entry.rules.getOffset(localDateTime).getTotalSeconds());
+    }
+
+    private ZoneEntry entry(String zoneId) {
+        ZoneEntry entry = zones.get(zoneId);
+        if (entry == null) {
+            entry = zones.computeIfAbsent(zoneId, id -> new ZoneEntry(ZoneId.of(id).getRules()));
+        }
+        return entry;
+    }
+
+    /**
+     * Règles d'un fuseau IANA et période courante.
+     */
+    private static final class ZoneEntry {
+
+        private final ZoneRules rules;
+        private volatile Period current;
+
+        // Périodes déjà résolues pour d'autres instants (conversions en masse, recherches sur une plage), par début
+        private final ConcurrentSkipListMap<Long, Period> resolved = new ConcurrentSkipListMap<>();
+
+        ZoneEntry(ZoneRules rules) {
+            this.rules = rules;
+            this.current = resolve(Instant.now().getEpochSecond());
+        }
+
+        ZoneOffset offsetAt(long epochSecond) {
+            Period period = current;
+            if (period.contains(epochSecond)) {
+                return period.offset;
+            }
+            Period resolved = resolveCached(epochSecond);
+            // La période en cache ne suit que l'instant présent : les instants arbitraires ne la remplacent pas
+            long now = Instant.now().getEpochSecond();
+            if (resolved.contains(now)) {
+                current = resolved;
+            }
+            return resolved.offset;
+        }
+
+        /**
+         * Résout la période d'un instant, en réutilisant une période déjà résolue si possible.
+         */
+        Period resolveCached(long epochSecond) {
+            Map.Entry<Long, Period> floor = resolved.floorEntry(epochSecond);
+            if (floor != null && floor.getValue().contains(epochSecond)) {
+                return floor.getValue();
+            }
+            Period period = resolve(epochSecond);
+            if (resolved.size() >= MAX_RESOLVED_PERIODS) {
+                resolved.clear();
+            }
+            resolved.put(period.start, period);
+            return period;
+        }
+
+        private Period resolve(long epochSecond) {
+            Instant instant = Instant.ofEpochSecond(epochSecond);
+            ZoneOffset offset = Offsets.ofTotalSeconds(rules.getOffset(instant).getTotalSeconds());
+            if (rules.isFixedOffset()) {
+                return new Period(Long.MIN_VALUE, Long.MAX_VALUE, offset);
+            }
+            // La transition précédente est recherchée juste après l'instant pour inclure une transition exacte
+            ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            return new Period(previous == null ? Long.MIN_VALUE : previous.toEpochSecond(),
+                    next == null ? Long.MAX_VALUE : next.toEpochSecond(), offset);
+        }
+    }
+
+    /**
+     * Intervalle [start, end[ (en secondes depuis l'époque) pendant lequel le décalage est constant.
+     */
+    public record Period(long start, long end, ZoneOffset offset) {
+
+        public boolean contains(long epochSecond) {
+            return epochSecond >= start && epochSecond < end;
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.demo.neverlate.utils;
 
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.mapper.TimeZoneMapper;
 import com.demo.neverlate.model.Role;
 import com.demo.neverlate.model.TimeZone;
 import com.demo.neverlate.model.User;
 import com.demo.neverlate.repository.RoleRepository;
 import com.demo.neverlate.repository.TimeZoneRepository;
 import com.demo.neverlate.repository.UserRepository;
+import com.demo.neverlate.service.SharedZoneService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -17,8 +21,10 @@ import java.util.Set;
 
 /**
  * Classe utilisée pour peupler la base de données avec des utilisateurs, des rôles et des fuseaux horaires d'exemple lors du démarrage de l'application.
+ * Uniquement avec le profil "dev" (profil par défaut, base en mémoire).
  */
 @Component
+@Profile("dev")
 public class DatabaseSeeder implements CommandLineRunner {
 
     @Autowired
@@ -30,6 +36,12 @@ public class DatabaseSeeder implements CommandLineRunner {
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private SharedZoneService sharedZoneService;
+
+    @Autowired
+    private TimeZoneMapper timeZoneMapper;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -60,7 +72,7 @@ public class DatabaseSeeder implements CommandLineRunner {
                 .build();
         userRepository.save(admin);
 
-        timeZoneRepository.save(TimeZone.builder().label("UTC").city("London").offset("+00:00").user(admin).build());
+        saveTimeZone(admin, "UTC", "London", "+00:00", null);
 
         // Utilisateur 2: Utilisateur classique avec deux fuseaux horaires
         User user = User.builder()
@@ -71,8 +83,8 @@ public class DatabaseSeeder implements CommandLineRunner {
                 .build();
         userRepository.save(user);
 
-        timeZoneRepository.save(TimeZone.builder().label("Eastern Time").city("New York").offset("-05:00").user(user).build());
-        timeZoneRepository.save(TimeZone.builder().label("Central European Time").city("Paris").offset("+01:00").user(user).build());
+        saveTimeZone(user, "Eastern Time", "New York", "-05:00", "America/New_York");
+        saveTimeZone(user, "Central European Time", "Paris", "+01:00", "Europe/Paris");
 
         // Utilisateur 3
         User user3 = User.builder()
@@ -83,9 +95,9 @@ public class DatabaseSeeder implements CommandLineRunner {
                 .build();
         userRepository.save(user3);
 
-        timeZoneRepository.save(TimeZone.builder().label("Pacific Time").city("Los Angeles").offset("-08:00").user(user3).build());
-        timeZoneRepository.save(TimeZone.builder().label("Mountain Time").city("Denver").offset("-07:00").user(user3).build());
-        timeZoneRepository.save(TimeZone.builder().label("Eastern Time").city("New York").offset("-05:00").user(user3).build());
+        saveTimeZone(user3, "Pacific Time", "Los Angeles", "-08:00", "America/Los_Angeles");
+        saveTimeZone(user3, "Mountain Time", "Denver", "-07:00", "America/Denver");
+        saveTimeZone(user3, "Eastern Time", "New York", "-05:00", "America/New_York");
 
         // Utilisateur 4
         User user4 = User.builder()
@@ -96,9 +108,9 @@ public class DatabaseSeeder implements CommandLineRunner {
                 .build();
         userRepository.save(user4);
 
-        timeZoneRepository.save(TimeZone.builder().label("Greenwich Mean Time").city("London").offset("+00:00").user(user4).build());
-        timeZoneRepository.save(TimeZone.builder().label("Central Standard Time").city("Chicago").offset("-06:00").user(user4).build());
-        timeZoneRepository.save(TimeZone.builder().label("China Standard Time").city("Beijing").offset("+08:00").user(user4).build());
+        saveTimeZone(user4, "Greenwich Mean Time", "London", "+00:00", null);
+        saveTimeZone(user4, "Central Standard Time", "Chicago", "-06:00", "America/Chicago");
+        saveTimeZone(user4, "China Standard Time", "Beijing", "+08:00", "Asia/Shanghai");
 
         // Utilisateur 5 à 10 : Ajout de plus d'utilisateurs avec des fuseaux horaires différents
         for (int i = 5; i <= 10; i++) {
@@ -110,12 +122,19 @@ public class DatabaseSeeder implements CommandLineRunner {
                     .build();
             userRepository.save(userX);
 
-            timeZoneRepository.save(TimeZone.builder().label("UTC").city("London").offset("+00:00").user(userX).build());
-            timeZoneRepository.save(TimeZone.builder().label("Central European Time").city("Berlin").offset("+01:00").user(userX).build());
-            timeZoneRepository.save(TimeZone.builder().label("Eastern Time").city("New York").offset("-05:00").user(userX).build());
+            saveTimeZone(userX, "UTC", "London", "+00:00", null);
+            saveTimeZone(userX, "Central European Time", "Berlin", "+01:00", null);
+            saveTimeZone(userX, "Eastern Time", "New York", "-05:00", null);
         }
 
         System.out.println("Utilisateurs, rôles et fuseaux horaires ajoutés dans la base de données.");
     }
 
+    private void saveTimeZone(User user, String label, String city, String offset, String zoneId) {
+        TimeZoneDTO timeZoneDTO = TimeZoneDTO.builder().label(label).city(city).offset(offset).zoneId(zoneId).build();
+        TimeZone timeZone = timeZoneMapper.toEntity(timeZoneDTO, user, sharedZoneService.resolve(timeZoneDTO));
+        timeZone.setPosition(timeZoneRepository.findNextPositionByUserId(user.getId()));
+        timeZoneRepository.save(timeZone);
+    }
+
 }
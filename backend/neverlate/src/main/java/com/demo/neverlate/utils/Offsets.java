@@ -0,0 +1,146 @@
+package com.demo.neverlate.utils;
+
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Utilitaires pour les décalages horaires au format {@code +/-HH:mm} utilisé par l'API.
+ * <p>
+ * L'analyse et la validation ne font aucune allocation. Les instances de {@link ZoneOffset}
+ * et leurs représentations textuelles sont uniques (internées) pour chaque décalage à la minute près :
+ * il n'existe que quelques dizaines de décalages réels, partagés par tous les fuseaux horaires.
+ */
+public final class Offsets {
+
+    /**
+     * Décalage maximal accepté par {@link ZoneOffset}, en minutes.
+     */
+    private static final int MAX_MINUTES = 18 * 60;
+
+    private static final AtomicReferenceArray<ZoneOffset> OFFSETS = new AtomicReferenceArray<>(2 * MAX_MINUTES + 1);
+    private static final AtomicReferenceArray<String> FORMATTED = new AtomicReferenceArray<>(2 * MAX_MINUTES + 1);
+
+    private Offsets() {
+    }
+
+    /**
+     * Indique si une valeur respecte le format {@code +/-HH:mm} et désigne un décalage valide (au plus 18 heures).
+     *
+     * @param value la valeur à vérifier
+     * @return true si la valeur est un décalage valide
+     */
+    public static boolean isValid(CharSequence value) {
+        return toMinutes(value) != Integer.MIN_VALUE;
+    }
+
+    /**
+     * Analyse un décalage au format {@code +/-HH:mm}.
+     *
+     * @param value la valeur à analyser
+     * @return le décalage en secondes
+     * @throws DateTimeException si la valeur n'est pas un décalage valide
+     */
+    public static int parseSeconds(CharSequence value) {
+        int minutes = toMinutes(value);
+        if (minutes == Integer.MIN_VALUE) {
+            throw new DateTimeException("Invalid offset, expected +/-HH:mm: " + value);
+        }
+        return minutes * 60;
+    }
+
+    /**
+     * Analyse un décalage au format {@code +/-HH:mm}.
+     *
+     * @param value la valeur à analyser
+     * @return l'instance unique du décalage
+     * @throws DateTimeException si la valeur n'est pas un décalage valide
+     */
+    public static ZoneOffset parse(CharSequence value) {
+        return ofTotalSeconds(parseSeconds(value));
+    }
+
+    /**
+     * Retourne l'instance unique d'un décalage exprimé en secondes.
+     * Les décalages historiques à la seconde près (heure solaire locale) ne sont pas internés.
+     *
+     * @param totalSeconds le décalage en secondes
+     * @return l'instance du décalage
+     * @throws DateTimeException si le décalage dépasse 18 heures
+     */
+    public static ZoneOffset ofTotalSeconds(int totalSeconds) {
+        if (totalSeconds % 60 != 0) {
+            return ZoneOffset.ofTotalSeconds(totalSeconds);
+        }
+        int index = indexOf(totalSeconds / 60);
+        ZoneOffset offset = OFFSETS.get(index);
+        if (offset == null) {
+            offset = ZoneOffset.ofTotalSeconds(totalSeconds);
+            if (!OFFSETS.compareAndSet(index, null, offset)) {
+                offset = OFFSETS.get(index);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Formate un décalage au format {@code +/-HH:mm} ({@code +00:00} pour UTC, et non {@code Z}).
+     *
+     * @param offset le décalage
+     * @return la représentation unique du décalage
+     */
+    public static String format(ZoneOffset offset) {
+        int minutes = offset.getTotalSeconds() / 60;
+        int index = indexOf(minutes);
+        String formatted = FORMATTED.get(index);
+        if (formatted == null) {
+            int absolute = Math.abs(minutes);
+            formatted = (minutes < 0 ? "-" : "+")
+                    + (char) ('0' + absolute / 600) + (char) ('0' + absolute / 60 % 10) + ':'
+                    + (char) ('0' + absolute % 60 / 10) + (char) ('0' + absolute % 10);
+            if (!FORMATTED.compareAndSet(index, null, formatted)) {
+                formatted = FORMATTED.get(index);
+            }
+        }
+        return formatted;
+    }
+
+    /**
+     * Convertit la valeur en minutes sans allocation.
+     *
+     * @return le décalage en minutes, ou {@link Integer#MIN_VALUE} si la valeur est invalide
+     */
+    private static int toMinutes(CharSequence value) {
+        if (value == null || value.length() != 6 || value.charAt(3) != ':') {
+            return Integer.MIN_VALUE;
+        }
+        char sign = value.charAt(0);
+        if (sign != '+' && sign != '-') {
+            return Integer.MIN_VALUE;
+        }
+        int h1 = digit(value.charAt(1));
+        int h2 = digit(value.charAt(2));
+        int m1 = digit(value.charAt(4));
+        int m2 = digit(value.charAt(5));
+        if ((h1 | h2 | m1 | m2) < 0) {
+            return Integer.MIN_VALUE;
+        }
+        int minutesPart = m1 * 10 + m2;
+        int minutes = (h1 * 10 + h2) * 60 + minutesPart;
+        if (minutesPart > 59 || minutes > MAX_MINUTES) {
+            return Integer.MIN_VALUE;
+        }
+        return sign == '-' ? -minutes : minutes;
+    }
+
+    private static int digit(char c) {
+        return c >= '0' && c <= '9' ? c - '0' : -1;
+    }
+
+    private static int indexOf(int minutes) {
+        if (minutes < -MAX_MINUTES || minutes > MAX_MINUTES) {
+            throw new DateTimeException("Offset out of range: " + minutes + " minutes");
+        }
+        return minutes + MAX_MINUTES;
+    }
+}
@@ -0,0 +1,16 @@
+package com.demo.neverlate.validation;
+
+import com.demo.neverlate.utils.Offsets;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validateur de la contrainte {@link ValidOffset}, sans expression régulière ni allocation.
+ */
+public class OffsetValidator implements ConstraintValidator<ValidOffset, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || value.isEmpty() || Offsets.isValid(value);
+    }
+}
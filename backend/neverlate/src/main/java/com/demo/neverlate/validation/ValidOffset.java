@@ -0,0 +1,27 @@
+package com.demo.neverlate.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Contrainte de validation d'un décalage horaire au format {@code +/-HH:mm} (au plus 18 heures).
+ * Une valeur nulle est considérée comme valide : utiliser {@code @NotEmpty} pour la rendre obligatoire.
+ */
+@Documented
+@Constraint(validatedBy = OffsetValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidOffset {
+
+    String message() default "Le décalage horaire doit être au format +/-HH:mm";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,27 @@
+package com.demo.neverlate.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Contrainte de validation d'un identifiant de fuseau horaire IANA (par exemple {@code Europe/Paris}).
+ * Une valeur nulle ou vide est considérée comme valide.
+ */
+@Documented
+@Constraint(validatedBy = ZoneIdValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidZoneId {
+
+    String message() default "Le fuseau horaire doit être un identifiant IANA (exemple : Europe/Paris)";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,22 @@
+package com.demo.neverlate.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+import java.time.ZoneId;
+import java.util.Set;
+
+/**
+ * Validateur de la contrainte {@link ValidZoneId}.
+ * Seuls les identifiants régionaux de la base tz sont acceptés (pas les décalages du type {@code UTC+01:00}).
+ */
+public class ZoneIdValidator implements ConstraintValidator<ValidZoneId, String> {
+
+    // ZoneId.getAvailableZoneIds() renvoie une nouvelle copie à chaque appel
+    private static final Set<String> ZONE_IDS = Set.copyOf(ZoneId.getAvailableZoneIds());
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || value.isEmpty() || ZONE_IDS.contains(value);
+    }
+}
@@ -0,0 +1,42 @@
+-- Schéma de la version précédant les migrations, tel que Hibernate (ddl-auto=update) le créait.
+-- Une base existante sans historique Flyway est considérée comme étant à cette version (baseline-on-migrate) :
+-- les migrations suivantes la mettent à jour.
+-- Les contraintes portent ici des noms explicites, alors que Hibernate générait les leurs : les migrations suivantes
+-- ne désignent donc aucune contrainte de cette version par son nom.
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255) not null,
+    email varchar(255) not null,
+    password varchar(255) not null,
+    created_at timestamp(6) not null,
+    last_login timestamp(6),
+    primary key (id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email)
+);
+
+create table roles (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    primary key (id),
+    constraint uk_roles_name unique (name)
+);
+
+create table user_roles (
+    user_id bigint not null,
+    role_id bigint not null,
+    primary key (role_id, user_id),
+    constraint fk_user_roles_user_id foreign key (user_id) references users,
+    constraint fk_user_roles_role_id foreign key (role_id) references roles
+);
+
+create table time_zones (
+    id bigint generated by default as identity,
+    label varchar(255) not null,
+    city varchar(255),
+    timezone_offset varchar(255) not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_time_zones_user_id foreign key (user_id) references users
+);
@@ -0,0 +1,13 @@
+-- Tokens de rafraîchissement : seule l'empreinte du token est conservée.
+
+create table refresh_tokens (
+    id bigint generated by default as identity,
+    token_hash varchar(64) not null,
+    user_id bigint not null,
+    created_at timestamp(6) with time zone not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash),
+    constraint fk_refresh_tokens_user_id foreign key (user_id) references users on delete cascade
+);
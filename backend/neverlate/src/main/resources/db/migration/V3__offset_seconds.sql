@@ -0,0 +1,18 @@
+-- Décalages horaires stockés en nombre entier de secondes (offset_seconds) au lieu du texte +HH:mm (timezone_offset).
+-- Un décalage invalide (format inattendu, ou plus de 18 heures) est converti en +00:00.
+
+alter table time_zones add column offset_seconds integer;
+
+update time_zones
+set offset_seconds = case
+    when regexp_like(timezone_offset, '^[+-][0-9]{2}:[0-5][0-9]$')
+            and cast(substring(timezone_offset, 2, 2) as integer) * 60
+                + cast(substring(timezone_offset, 5, 2) as integer) <= 18 * 60
+        then (case when substring(timezone_offset, 1, 1) = '-' then -60 else 60 end)
+            * (cast(substring(timezone_offset, 2, 2) as integer) * 60 + cast(substring(timezone_offset, 5, 2) as integer))
+    else 0
+end;
+
+alter table time_zones alter column offset_seconds set not null;
+
+alter table time_zones drop column timezone_offset;
@@ -0,0 +1,12 @@
+-- IDs des utilisateurs et des fuseaux horaires issus de séquences réservées par blocs de 50 (optimiseur « pooled »)
+-- au lieu de colonnes auto-incrémentées, pour regrouper les insertions en lots JDBC.
+-- Chaque séquence repart un bloc complet au-delà du plus grand ID existant : l'optimiseur réserve les IDs qui
+-- précèdent la valeur lue.
+
+alter table users alter column id drop identity;
+create sequence users_seq start with 1 increment by 50;
+alter sequence users_seq restart with (select coalesce(max(id) + 51, 1) from users);
+
+alter table time_zones alter column id drop identity;
+create sequence time_zones_seq start with 1 increment by 50;
+alter sequence time_zones_seq restart with (select coalesce(max(id) + 51, 1) from time_zones);
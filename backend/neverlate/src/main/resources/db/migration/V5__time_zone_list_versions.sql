@@ -0,0 +1,14 @@
+-- Version de la liste des fuseaux horaires de chaque utilisateur, pour les ETags.
+
+create table time_zone_list_versions (
+    user_id bigint not null,
+    version bigint not null,
+    offsets_valid_until bigint,
+    primary key (user_id),
+    constraint fk_time_zone_list_versions_user_id foreign key (user_id) references users on delete cascade
+);
+
+-- Version 0 des utilisateurs existants ; les suivants reçoivent la leur à l'inscription.
+-- Leurs fuseaux horaires n'ont pas encore d'identifiant IANA, donc pas de changement de décalage prévu.
+insert into time_zone_list_versions (user_id, version, offsets_valid_until)
+select id, 0, null from users;
@@ -0,0 +1,59 @@
+-- Séparation des fuseaux horaires en zones partagées (zones : ville, décalage, identifiant IANA) et en fuseaux des
+-- utilisateurs (user_time_zones : nom donné par l'utilisateur, position dans sa liste, zone référencée).
+-- Les IDs des fuseaux horaires sont conservés ; une zone est créée par clé naturelle distincte (voir Zone.keyOf).
+
+-- Les zones manquantes sont insérées par MERGE (voir ZoneRepository.insertIfAbsent) : leur ID vient de la séquence
+create sequence zones_seq start with 1 increment by 50;
+
+create table zones (
+    id bigint default next value for zones_seq not null,
+    zone_key varchar(320) not null,
+    city varchar(255),
+    offset_seconds integer not null,
+    iana_id varchar(64),
+    primary key (id),
+    constraint uk_zones_zone_key unique (zone_key)
+);
+
+create table user_time_zones (
+    id bigint not null,
+    label varchar(255) not null,
+    position integer not null,
+    zone_id bigint not null,
+    user_id bigint not null,
+    primary key (id),
+    constraint fk_user_time_zones_zone_id foreign key (zone_id) references zones,
+    constraint fk_user_time_zones_user_id foreign key (user_id) references users
+);
+
+-- Liste d'un utilisateur, triée par position puis par ID
+create index idx_user_time_zones_user_id_position on user_time_zones (user_id, position, id);
+
+-- Clé naturelle des anciens fuseaux, sans identifiant IANA : "+05:30|Kolkata", ou "+05:30" sans ville
+alter table time_zones add column zone_key varchar(320);
+
+update time_zones
+set zone_key = (case when offset_seconds < 0 then '-' else '+' end)
+        || lpad(cast(abs(offset_seconds) / 3600 as varchar), 2, '0') || ':'
+        || lpad(cast(mod(abs(offset_seconds), 3600) / 60 as varchar), 2, '0')
+        || case when city is null then '' else '|' || city end;
+
+-- IDs des zones attribués dans l'ordre de leur premier fuseau horaire
+insert into zones (id, zone_key, city, offset_seconds, iana_id)
+select row_number() over (order by min(id)), zone_key, min(city), min(offset_seconds), null
+from time_zones
+group by zone_key;
+
+-- Positions attribuées dans l'ordre des IDs de chaque utilisateur, celui des anciennes listes
+insert into user_time_zones (id, label, position, zone_id, user_id)
+select t.id, t.label, row_number() over (partition by t.user_id order by t.id) - 1, z.id, t.user_id
+from time_zones t
+join zones z on z.zone_key = t.zone_key;
+
+drop table time_zones;
+drop sequence time_zones_seq;
+
+alter sequence zones_seq restart with (select coalesce(max(id) + 51, 1) from zones);
+
+create sequence user_time_zones_seq start with 1 increment by 50;
+alter sequence user_time_zones_seq restart with (select coalesce(max(id) + 51, 1) from user_time_zones);
@@ -0,0 +1,13 @@
+-- Index des recherches limitées à un utilisateur.
+-- Les recherches par nom d'utilisateur, e-mail, nom de rôle et empreinte de token utilisent déjà les index
+-- des contraintes d'unicité ; les fuseaux d'un utilisateur, l'index (user_id, position, id) créé par la version 6.
+
+-- Recherche d'un fuseau horaire par son nom (findByLabelAndUser). Non unique : un utilisateur peut donner le même
+-- nom à plusieurs fuseaux, et une contrainte ferait échouer la migration des bases qui en contiennent.
+create index idx_user_time_zones_user_id_label on user_time_zones (user_id, label);
+
+-- Révocation de tous les tokens d'un utilisateur, et suppression en cascade de ses tokens
+create index idx_refresh_tokens_user_id on refresh_tokens (user_id);
+
+-- Purge périodique des tokens expirés
+create index idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
@@ -0,0 +1,51 @@
+package com.demo.neverlate.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HikariPoolTuningTest {
+
+    private final HikariPoolTuning tuning = new HikariPoolTuning(200, 0, Duration.ofMillis(100));
+
+    // Test du pool primaire sans taille configurée : deux connexions par cœur, délai dérivé du nombre d'attentes
+    @Test
+    void tune_DerivesPoolSize() {
+        HikariDataSource dataSource = new HikariDataSource();
+
+        tuning.tune(dataSource, 4);
+
+        assertEquals(8, dataSource.getMaximumPoolSize());
+        assertEquals(8, dataSource.getMinimumIdle());
+        // 25 threads par connexion × 100 ms
+        assertEquals(2500, dataSource.getConnectionTimeout());
+    }
+
+    // Test d'une taille configurée explicitement : elle est conservée, les délais en sont dérivés
+    @Test
+    void tune_KeepsConfiguredPoolSize() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(40);
+        dataSource.setMinimumIdle(5);
+
+        tuning.tune(dataSource, 4);
+
+        assertEquals(40, dataSource.getMaximumPoolSize());
+        assertEquals(5, dataSource.getMinimumIdle());
+        assertEquals(1000, dataSource.getConnectionTimeout());
+    }
+
+    // Test du pool du réplica : il n'est pas modifié
+    @Test
+    void postProcess_IgnoresReplicaPool() {
+        HikariDataSource dataSource = new HikariDataSource();
+
+        tuning.postProcessBeforeInitialization(dataSource, "replicaDataSource");
+
+        assertEquals(-1, dataSource.getMaximumPoolSize());
+        assertEquals(30_000, dataSource.getConnectionTimeout());
+    }
+}
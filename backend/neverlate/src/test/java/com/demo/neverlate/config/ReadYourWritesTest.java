@@ -0,0 +1,82 @@
+package com.demo.neverlate.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-10T07:00:00Z");
+
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        readYourWrites = new ReadYourWrites(Duration.ofSeconds(5), 100);
+        setClock(NOW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Test de la fenêtre : les lectures de l'auteur restent sur la base primaire jusqu'à sa fin
+    @Test
+    void mustReadFromPrimary_DuringWindowOnly() {
+        authenticate("alice");
+        assertFalse(readYourWrites.mustReadFromPrimary());
+
+        readYourWrites.recordWrite();
+        setClock(NOW.plusSeconds(4));
+        assertTrue(readYourWrites.mustReadFromPrimary());
+
+        setClock(NOW.plusSeconds(5));
+        assertFalse(readYourWrites.mustReadFromPrimary());
+    }
+
+    // Test du sujet : les écritures d'un utilisateur n'affectent pas les lectures des autres
+    @Test
+    void mustReadFromPrimary_OnlyForWriter() {
+        readYourWrites.recordWrite("alice");
+
+        authenticate("bob");
+        assertFalse(readYourWrites.mustReadFromPrimary());
+        assertTrue(readYourWrites.readFor("alice", readYourWrites::mustReadFromPrimary));
+        // Le sujet explicite ne dure que le temps de la lecture
+        assertFalse(readYourWrites.mustReadFromPrimary());
+    }
+
+    // Test d'une requête anonyme : aucune écriture enregistrée, lectures sur le réplica
+    @Test
+    void recordWrite_IgnoredWhenAnonymous() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        readYourWrites.recordWrite();
+
+        assertFalse(readYourWrites.mustReadFromPrimary());
+        assertFalse(readYourWrites.readFor("anonymousUser", readYourWrites::mustReadFromPrimary));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private void setClock(Instant instant) {
+        readYourWrites.clock = Clock.fixed(instant, ZoneOffset.UTC);
+    }
+}
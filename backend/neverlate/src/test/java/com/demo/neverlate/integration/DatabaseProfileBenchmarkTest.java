@@ -0,0 +1,162 @@
+package com.demo.neverlate.integration;
+
+import com.demo.neverlate.NeverlateApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compare la base en mémoire (profil par défaut) et la base durable en fichier (profil prod) sur les chemins de
+ * connexion, de création et de lecture des fuseaux horaires, de bout en bout par HTTP.
+ * Exclu de la suite par défaut : {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class DatabaseProfileBenchmarkTest {
+
+    private static final int USERS = 20;
+    private static final int LOGINS_PER_USER = 5;
+    private static final int TIME_ZONES_PER_USER = 25;
+    private static final int READS_PER_USER = 100;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dataDir;
+
+    // Adresse de l'application en cours de mesure
+    private String baseUrl;
+
+    @Test
+    void compareInMemoryAndFileProfiles() throws Exception {
+        Map<String, Double> inMemory;
+        try (ConfigurableApplicationContext context = start("test",
+                "spring.datasource.url=jdbc:h2:mem:benchmark;QUERY_CACHE_SIZE=64")) {
+            inMemory = measure(context);
+        }
+        Map<String, Double> durable;
+        try (ConfigurableApplicationContext context = start("prod", "neverlate.data-dir=" + dataDir)) {
+            durable = measure(context);
+        }
+
+        System.out.printf("%-30s %12s %12s%n", "µs per request", "in-memory", "file");
+        inMemory.forEach((path, micros) ->
+                System.out.printf("%-30s %12.0f %12.0f%n", path, micros, durable.get(path)));
+
+        // Les données du profil prod survivent au redémarrage
+        try (ConfigurableApplicationContext context = start("prod", "neverlate.data-dir=" + dataDir)) {
+            baseUrl = baseUrl(context);
+            String jwt = login("bench0");
+            HttpResponse<String> list = send(get("/api/timezones", jwt));
+            assertEquals(TIME_ZONES_PER_USER, objectMapper.readTree(list.body()).size());
+        }
+    }
+
+    private Map<String, Double> measure(ConfigurableApplicationContext context) throws Exception {
+        baseUrl = baseUrl(context);
+        List<String> jwts = new ArrayList<>();
+        for (int user = 0; user < USERS; user++) {
+            String body = "{\"username\":\"bench" + user + "\",\"password\":\"password\",\"email\":\"bench" + user
+                    + "@example.com\"}";
+            HttpResponse<String> response = send(post("/api/auth/register", null, body));
+            assertEquals(201, response.statusCode(), response.body());
+            jwts.add(objectMapper.readTree(response.body()).get("jwt").asText());
+        }
+
+        Map<String, Double> results = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < LOGINS_PER_USER; i++) {
+            for (int user = 0; user < USERS; user++) {
+                login("bench" + user);
+            }
+        }
+        results.put("POST /api/auth/login", micros(start, USERS * LOGINS_PER_USER));
+
+        start = System.nanoTime();
+        for (int i = 0; i < TIME_ZONES_PER_USER; i++) {
+            for (String jwt : jwts) {
+                String body = "{\"label\":\"Zone " + i + "\",\"city\":\"City " + i + "\",\"offset\":\"+0" + i % 10
+                        + ":00\"}";
+                HttpResponse<String> response = send(post("/api/timezones", jwt, body));
+                assertEquals(200, response.statusCode(), response.body());
+            }
+        }
+        results.put("POST /api/timezones", micros(start, USERS * TIME_ZONES_PER_USER));
+
+        results.put("GET /api/timezones", read(jwts, "/api/timezones"));
+        // Page lue directement en base, sans le cache des listes
+        results.put("GET /api/timezones?limit=100", read(jwts, "/api/timezones?limit=100"));
+        return results;
+    }
+
+    private double read(List<String> jwts, String path) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < READS_PER_USER; i++) {
+            for (String jwt : jwts) {
+                assertEquals(200, send(get(path, jwt)).statusCode());
+            }
+        }
+        return micros(start, USERS * READS_PER_USER);
+    }
+
+    private String login(String username) throws Exception {
+        HttpResponse<String> response = send(post("/api/auth/login", null,
+                "{\"username\":\"" + username + "\",\"password\":\"password\"}"));
+        assertEquals(200, response.statusCode(), response.body());
+        return objectMapper.readTree(response.body()).get("jwt").asText();
+    }
+
+    private static ConfigurableApplicationContext start(String profile, String... properties) {
+        // Arguments de ligne de commande : ils priment sur application.properties, contrairement aux propriétés par défaut
+        List<String> args = new ArrayList<>(List.of("--server.port=0", "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                // Coût BCrypt fixe, limites de débit hors d'atteinte : seule la base varie entre les profils
+                "--neverlate.security.bcrypt.strength=10",
+                "--neverlate.rate-limit.client.capacity=1000000",
+                "--neverlate.rate-limit.username.capacity=1000000"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(NeverlateApplication.class)
+                .profiles(profile)
+                .run(args.toArray(String[]::new));
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+    }
+
+    private HttpRequest.Builder get(String path, String jwt) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + jwt).GET();
+    }
+
+    private HttpRequest.Builder post(String path, String jwt, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        return jwt == null ? request : request.header("Authorization", "Bearer " + jwt);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double micros(long start, int requests) {
+        return (System.nanoTime() - start) / 1_000.0 / requests;
+    }
+}
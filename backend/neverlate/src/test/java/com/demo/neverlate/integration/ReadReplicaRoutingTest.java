@@ -0,0 +1,192 @@
+package com.demo.neverlate.integration;
+
+import com.demo.neverlate.config.AuthenticatedUser;
+import com.demo.neverlate.config.CustomUserDetailsService;
+import com.demo.neverlate.config.H2SnapshotReplication;
+import com.demo.neverlate.config.ReadYourWrites;
+import com.demo.neverlate.controller.TimeZoneController;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.TimeZoneNotFoundException;
+import com.demo.neverlate.service.TimeZoneService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routage des lectures entre deux bases H2 : la base primaire et un réplica alimenté uniquement par
+ * {@link H2SnapshotReplication#replicate()} (la copie périodique est repoussée au-delà de la durée du test).
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary",
+        "neverlate.datasource.replica.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1",
+        "neverlate.datasource.replica.h2-snapshot-interval=PT1H",
+        "neverlate.datasource.replica.sticky-window=1m"})
+@ActiveProfiles("test")
+public class ReadReplicaRoutingTest {
+
+    private static final AtomicLong IDS = new AtomicLong(900_000);
+
+    @Autowired
+    private TimeZoneService timeZoneService;
+
+    @Autowired
+    private TimeZoneController timeZoneController;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private H2SnapshotReplication replication;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    // Écritures directes sur la base primaire, hors du routage et du suivi des écritures
+    private JdbcTemplate primary;
+
+    @BeforeEach
+    public void setUp() {
+        primary = new JdbcTemplate(primaryDataSource);
+    }
+
+    @AfterEach
+    public void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Test d'une lecture en lecture seule : servie par le réplica, elle ne voit une écriture qu'une fois répliquée
+    @Test
+    public void testReadOnlyRead_ServedByReplica() {
+        Long userId = insertUser("replicareader");
+        authenticate(userId, "replicareader");
+        replication.replicate();
+
+        insertTimeZone(userId, "Lagos");
+        assertTrue(timeZoneService.findPageForCurrentUser(10, null).getItems().isEmpty());
+
+        replication.replicate();
+        assertEquals(List.of("Lagos"), labels(timeZoneService.findPageForCurrentUser(10, null).getItems()));
+    }
+
+    // Test de la lecture de ses propres écritures : seul l'auteur d'une écriture lit sur la base primaire
+    @Test
+    public void testReadAfterWrite_StickyForWriterOnly() {
+        Long writerId = insertUser("replicawriter");
+        Long otherId = insertUser("replicaother");
+        replication.replicate();
+
+        authenticate(writerId, "replicawriter");
+        TimeZoneDTO saved = timeZoneService.saveTimeZone(
+                TimeZoneDTO.builder().label("Accra").city("Accra").offset("+00:00").build(), writerId);
+        assertEquals("Accra", timeZoneService.findById(saved.getId()).getLabel());
+
+        authenticate(otherId, "replicaother");
+        assertThrows(TimeZoneNotFoundException.class, () -> timeZoneService.findById(saved.getId()));
+    }
+
+    // Test de l'export, écrit hors du thread de la requête : l'auteur d'une écriture la retrouve dans son export
+    @Test
+    public void testExportAfterWrite_StickyWithoutSecurityContext() throws IOException {
+        Long userId = insertUser("replicaexporter");
+        replication.replicate();
+        authenticate(userId, "replicaexporter");
+        timeZoneService.saveTimeZone(
+                TimeZoneDTO.builder().label("Abidjan").city("Abidjan").offset("+00:00").build(), userId);
+
+        StreamingResponseBody body = timeZoneController.exportTimeZones("csv").getBody();
+        SecurityContextHolder.clearContext();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains("Abidjan"));
+    }
+
+    // Test d'une requête qui lit puis écrit (session ouverte pour toute la requête) : l'écriture va à la base primaire
+    @Test
+    public void testWriteAfterReadInSameSession_OnPrimary() {
+        Long userId = insertUser("replicasession");
+        replication.replicate();
+        authenticate(userId, "replicasession");
+
+        TransactionSynchronizationManager.bindResource(entityManagerFactory,
+                new EntityManagerHolder(entityManagerFactory.createEntityManager()));
+        try {
+            timeZoneService.findPageForCurrentUser(10, null);
+            timeZoneService.saveTimeZone(
+                    TimeZoneDTO.builder().label("Dakar").city("Dakar").offset("+00:00").build(), userId);
+        } finally {
+            ((EntityManagerHolder) TransactionSynchronizationManager.unbindResource(entityManagerFactory))
+                    .getEntityManager().close();
+        }
+
+        assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM user_time_zones WHERE user_id = ?",
+                Integer.class, userId));
+    }
+
+    // Test du chargement du principal, avant authentification : le nom d'utilisateur désigne l'auteur des écritures
+    @Test
+    public void testLoadUserByUsername_StickyAfterRecordedWrite() {
+        insertUser("replicalogin");
+
+        assertThrows(UsernameNotFoundException.class, () -> customUserDetailsService.loadUserByUsername("replicalogin"));
+
+        readYourWrites.recordWrite("replicalogin");
+        // L'insertion directe n'invalide pas la recherche infructueuse mise en cache par Hibernate
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        assertEquals("replicalogin", customUserDetailsService.loadUserByUsername("replicalogin").getUsername());
+    }
+
+    private Long insertUser(String username) {
+        long id = IDS.incrementAndGet();
+        primary.update("INSERT INTO users (id, username, email, password, created_at) VALUES (?, ?, ?, 'secret', CURRENT_TIMESTAMP)",
+                id, username, username + "@example.com");
+        return id;
+    }
+
+    private void insertTimeZone(Long userId, String city) {
+        long zoneId = IDS.incrementAndGet();
+        primary.update("INSERT INTO zones (id, zone_key, city, offset_seconds) VALUES (?, ?, ?, 3600)",
+                zoneId, "+01:00|" + city, city);
+        primary.update("INSERT INTO user_time_zones (id, label, position, zone_id, user_id) VALUES (?, ?, 0, ?, ?)",
+                IDS.incrementAndGet(), city, zoneId, userId);
+    }
+
+    private static void authenticate(Long userId, String username) {
+        AuthenticatedUser principal = new AuthenticatedUser(userId, username, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static List<String> labels(List<TimeZoneDTO> timeZones) {
+        return timeZones.stream().map(TimeZoneDTO::getLabel).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.demo.neverlate.integration;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigrationTest {
+
+    private static final List<String> VERSIONS = List.of("1", "2", "3", "4", "5", "6", "7");
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:schema_migration;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    // Base vide : toutes les migrations sont appliquées, les recherches par utilisateur utilisent leurs index
+    @Test
+    void migrate_EmptyDatabase() {
+        flyway().migrate();
+
+        assertEquals(VERSIONS, appliedVersions());
+        assertIndexScan("SELECT id FROM user_time_zones WHERE user_id = 1 ORDER BY position, id");
+        assertIndexScan("SELECT id FROM user_time_zones WHERE user_id = 1 AND label = 'Paris'",
+                "IDX_USER_TIME_ZONES_USER_ID_LABEL");
+        assertIndexScan("SELECT id FROM users WHERE username = 'user'");
+        assertIndexScan("SELECT id FROM users WHERE email = 'user@example.com'");
+        assertIndexScan("UPDATE refresh_tokens SET revoked_at = CURRENT_TIMESTAMP WHERE user_id = 1");
+        assertIndexScan("DELETE FROM refresh_tokens WHERE expires_at < CURRENT_TIMESTAMP");
+    }
+
+    // Base créée par Hibernate avant les migrations : elle est rattachée à la version 1, les suivantes convertissent
+    // ses fuseaux horaires
+    @Test
+    void migrate_ExistingDatabaseIsBaselined() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+        jdbcTemplate.update("INSERT INTO users (username, email, password, created_at) "
+                + "VALUES ('user', 'user@example.com', 'secret', CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO time_zones (label, city, timezone_offset, user_id) VALUES "
+                + "('Bureau', 'Kolkata', '+05:30', 1), ('Maison', 'Kolkata', '+05:30', 1), "
+                + "('Caracas', 'Caracas', '-04:00', 1), ('UTC', NULL, '+00:00', 1), ('Invalide', 'Nulle part', 'abc', 1)");
+
+        flyway().migrate();
+
+        assertEquals(VERSIONS, appliedVersions());
+        assertEquals("BASELINE", jdbcTemplate.queryForObject(
+                "SELECT \"type\" FROM \"flyway_schema_history\" WHERE \"version\" = '1'", String.class));
+        // Les IDs sont conservés, les positions suivent leur ordre, les fuseaux de même ville et même décalage
+        // partagent une zone
+        assertEquals(List.of("1 0 Bureau +05:30|Kolkata 19800", "2 1 Maison +05:30|Kolkata 19800",
+                        "3 2 Caracas -04:00|Caracas -14400", "4 3 UTC +00:00 0", "5 4 Invalide +00:00|Nulle part 0"),
+                jdbcTemplate.queryForList("SELECT t.id || ' ' || t.position || ' ' || t.label || ' ' || z.zone_key || ' ' "
+                        + "|| z.offset_seconds "
+                        + "FROM user_time_zones t JOIN zones z ON z.id = t.zone_id WHERE t.user_id = 1 ORDER BY t.id",
+                        String.class));
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM zones", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT version FROM time_zone_list_versions WHERE user_id = 1", Integer.class));
+        // Les séquences repartent au-delà des IDs existants
+        assertTrue(nextValue("users_seq") > 1 + 50);
+        assertTrue(nextValue("user_time_zones_seq") > 5 + 50);
+        assertTrue(nextValue("zones_seq") > 4 + 50);
+    }
+
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+    }
+
+    private List<String> appliedVersions() {
+        return jdbcTemplate.queryForList("SELECT \"version\" FROM \"flyway_schema_history\" "
+                + "WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"", String.class);
+    }
+
+    // Le plan d'exécution H2 signale un parcours complet de la table par "tableScan"
+    private void assertIndexScan(String query) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    private void assertIndexScan(String query, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query, String.class);
+        assertTrue(plan.contains(index), plan);
+    }
+}
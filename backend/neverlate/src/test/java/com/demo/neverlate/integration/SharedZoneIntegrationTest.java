@@ -0,0 +1,87 @@
+package com.demo.neverlate.integration;
+
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.model.Zone;
+import com.demo.neverlate.repository.ZoneRepository;
+import com.demo.neverlate.service.SharedZoneService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Création des zones partagées dans la transaction de l'appelant, y compris quand deux requêtes créent la même zone.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class SharedZoneIntegrationTest {
+
+    private static final String KEY = "+04:00|Port-Louis";
+
+    @Autowired
+    private SharedZoneService sharedZoneService;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Nettoyage de la zone créée par le test
+    @AfterEach
+    public void cleanUp() {
+        zoneRepository.deleteAll(zoneRepository.findByNaturalKeyIn(List.of(KEY)));
+    }
+
+    // Test d'une zone manquante : insérée et relue dans la transaction de l'appelant, annulée avec elle
+    @Test
+    public void testResolve_InsertedInCallerTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Zone zone = sharedZoneService.resolve(portLouis());
+            assertNotNull(zone.getId());
+            assertEquals("Port-Louis", zone.getCity());
+            status.setRollbackOnly();
+        });
+
+        assertTrue(zoneRepository.findByNaturalKeyIn(List.of(KEY)).isEmpty());
+    }
+
+    // Test de deux créations simultanées de la même zone : la seconde attend la première, puis relit sa zone
+    @Test
+    public void testResolve_ConcurrentCreation() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CompletableFuture<Long> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Long id = sharedZoneService.resolve(portLouis()).getId();
+            inserted.countDown();
+            sleep(300); // Transaction laissée ouverte pendant que la seconde insère la même zone
+            return id;
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+        Long second = transactionTemplate.execute(status -> sharedZoneService.resolve(portLouis()).getId());
+
+        assertEquals(first.get(10, TimeUnit.SECONDS), second);
+        assertEquals(1, zoneRepository.findByNaturalKeyIn(List.of(KEY)).size());
+    }
+
+    private static TimeZoneDTO portLouis() {
+        return TimeZoneDTO.builder().label("Maurice").city("Port-Louis").offset("+04:00").build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
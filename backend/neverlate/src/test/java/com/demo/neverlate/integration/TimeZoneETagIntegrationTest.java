@@ -0,0 +1,115 @@
+package com.demo.neverlate.integration;
+
+import com.demo.neverlate.dto.AuthenticationResponse;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.dto.UserDTO;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Requêtes conditionnelles sur un fuseau horaire : la propriété est vérifiée avant l'ETag.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class TimeZoneETagIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TimeZoneRepository timeZoneRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String aliceToken;
+    private String bobToken;
+    private Long aliceTimeZoneId;
+
+    @BeforeEach
+    public void setUp() {
+        aliceToken = register("etagalice");
+        bobToken = register("etagbob");
+        TimeZoneDTO timeZone = TimeZoneDTO.builder().label("Bureau").city("Paris").offset("+01:00").build();
+        restTemplate.exchange("/api/timezones", HttpMethod.POST, new HttpEntity<>(timeZone, headers(aliceToken, null)),
+                String.class);
+        aliceTimeZoneId = restTemplate.exchange("/api/timezones", HttpMethod.GET,
+                new HttpEntity<>(headers(aliceToken, null)), TimeZoneDTO[].class).getBody()[0].getId();
+    }
+
+    // Nettoyage de la base de données après chaque test
+    @AfterEach
+    public void cleanUp() {
+        timeZoneRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    // Test du propriétaire : son ETag donne un 304
+    @Test
+    public void testGetTimeZoneById_OwnerNotModified() {
+        ResponseEntity<String> first = getTimeZone(aliceToken, null);
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertTrue(first.getBody().contains("Bureau"));
+
+        ResponseEntity<String> second = getTimeZone(aliceToken, first.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+    }
+
+    // Test d'un autre utilisateur avec l'ETag du propriétaire : 403, ni 304 ni fuseau horaire
+    @Test
+    public void testGetTimeZoneById_OtherUserWithOwnerETag() {
+        String aliceETag = getTimeZone(aliceToken, null).getHeaders().getETag();
+
+        ResponseEntity<String> response = getTimeZone(bobToken, aliceETag);
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        assertNull(response.getHeaders().getETag());
+        assertFalse(response.getBody().contains("Bureau"));
+    }
+
+    // Test d'un autre utilisateur avec l'ETag de sa propre liste : 403 également
+    @Test
+    public void testGetTimeZoneById_OtherUserWithOwnETag() {
+        String bobETag = restTemplate.exchange("/api/timezones", HttpMethod.GET,
+                new HttpEntity<>(headers(bobToken, null)), TimeZoneDTO[].class).getHeaders().getETag();
+
+        assertEquals(HttpStatus.FORBIDDEN, getTimeZone(bobToken, bobETag).getStatusCode());
+    }
+
+    private ResponseEntity<String> getTimeZone(String token, String ifNoneMatch) {
+        return restTemplate.exchange("/api/timezones/" + aliceTimeZoneId, HttpMethod.GET,
+                new HttpEntity<>(headers(token, ifNoneMatch)), String.class);
+    }
+
+    private String register(String username) {
+        UserDTO userDTO = UserDTO.builder()
+                .username(username)
+                .password("password123")
+                .email(username + "@example.com")
+                .build();
+        return restTemplate.postForEntity("/api/auth/register", userDTO, AuthenticationResponse.class).getBody().getJwt();
+    }
+
+    private static HttpHeaders headers(String token, String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        if (ifNoneMatch != null) {
+            headers.setIfNoneMatch(ifNoneMatch);
+        }
+        return headers;
+    }
+}
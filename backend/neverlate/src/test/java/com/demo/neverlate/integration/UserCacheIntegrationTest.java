@@ -0,0 +1,101 @@
+package com.demo.neverlate.integration;
+
+import com.demo.neverlate.model.Role;
+import com.demo.neverlate.model.User;
+import com.demo.neverlate.repository.RoleRepository;
+import com.demo.neverlate.repository.UserRepository;
+import com.demo.neverlate.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class UserCacheIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Role reader;
+    private Role editor;
+    private User user;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        reader = roleRepository.save(Role.builder().name("CACHE_READER").build());
+        editor = roleRepository.save(Role.builder().name("CACHE_EDITOR").build());
+        User cacheUser = User.builder().username("cacheuser").email("cacheuser@example.com").password("password").build();
+        cacheUser.setRoles(Set.of(reader));
+        user = userRepository.save(cacheUser);
+    }
+
+    // Nettoyage des données créées par le test
+    @AfterEach
+    public void cleanUp() {
+        userRepository.findByUsername("cacheuser").ifPresent(userRepository::delete);
+        userRepository.findByUsername("lateuser").ifPresent(userRepository::delete);
+        roleRepository.deleteAll(roleRepository.findAllById(Set.of(reader.getId(), editor.getId())));
+    }
+
+    // Test du chemin nominal : une fois les caches chauds, la recherche par nom d'utilisateur n'exécute aucune requête
+    @Test
+    public void testFindByUsername_SteadyStateWithoutQueries() {
+        userRepository.findByUsername("cacheuser");
+        userRepository.findByEmail("cacheuser@example.com");
+        statistics.clear();
+
+        User found = userRepository.findByUsername("cacheuser").orElseThrow();
+        userRepository.findByEmail("cacheuser@example.com").orElseThrow();
+
+        assertEquals(Set.of("CACHE_READER"), roleNames(found));
+        assertEquals(0, statistics.getEntityStatistics(Role.class.getName()).getFetchCount());
+        assertEquals(0, statistics.getCollectionStatistics(User.class.getName() + ".roles").getFetchCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getCacheRegionStatistics("roles").getHitCount() > 0);
+    }
+
+    // Test d'un changement de rôles : la valeur en cache est remplacée
+    @Test
+    public void testUpdateRoles_VisibleAfterUpdate() {
+        userRepository.findByUsername("cacheuser");
+
+        userService.updateRoles(user, Set.of(editor));
+
+        assertEquals(Set.of("CACHE_EDITOR"), roleNames(userRepository.findByUsername("cacheuser").orElseThrow()));
+    }
+
+    // Test d'une recherche infructueuse mise en cache : l'inscription l'invalide
+    @Test
+    public void testFindByUsername_CachedMissInvalidatedByInsert() {
+        assertTrue(userRepository.findByUsername("lateuser").isEmpty());
+
+        userRepository.save(User.builder().username("lateuser").email("lateuser@example.com").password("password").build());
+
+        assertTrue(userRepository.findByUsername("lateuser").isPresent());
+    }
+
+    private static Set<String> roleNames(User user) {
+        return Set.copyOf(user.getRoles().stream().map(Role::getName).toList());
+    }
+}
@@ -0,0 +1,60 @@
+package com.demo.neverlate.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mesure le surcoût du filtre de limite de débit pour les requêtes acceptées.
+ * Exclu de la suite par défaut : {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class AuthRateLimitFilterBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 2_000_000;
+    private static final int MEASURED_ITERATIONS = 5_000_000;
+    private static final int CLIENTS = 1024;
+
+    @Test
+    void allowedRequestOverhead() throws Exception {
+        // Limites assez larges pour que toutes les requêtes soient acceptées
+        AuthRateLimiter authRateLimiter = new AuthRateLimiter(
+                new RateLimiter(Integer.MAX_VALUE, Duration.ofNanos(Integer.MAX_VALUE), 100_000),
+                new RateLimiter(Integer.MAX_VALUE, Duration.ofNanos(Integer.MAX_VALUE), 100_000),
+                new SimpleMeterRegistry());
+        AuthRateLimitFilter filter = new AuthRateLimitFilter(authRateLimiter);
+        FilterChain chain = (request, response) -> {
+        };
+
+        MockHttpServletRequest[] requests = new MockHttpServletRequest[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            requests[i] = new MockHttpServletRequest("POST", "/api/auth/login");
+            requests[i].setRemoteAddr("10.0." + (i >> 8) + "." + (i & 0xFF));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        run(filter, chain, requests, response, WARMUP_ITERATIONS);
+        long start = System.nanoTime();
+        run(filter, chain, requests, response, MEASURED_ITERATIONS);
+        double nanosPerRequest = (double) (System.nanoTime() - start) / MEASURED_ITERATIONS;
+
+        System.out.printf("AuthRateLimitFilter: %.1f ns per allowed request%n", nanosPerRequest);
+        assertEquals(200, response.getStatus());
+        assertTrue(nanosPerRequest < 1_000, "Filter overhead should stay below one microsecond");
+    }
+
+    private static void run(AuthRateLimitFilter filter, FilterChain chain, MockHttpServletRequest[] requests,
+                            MockHttpServletResponse response, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            filter.doFilter(requests[i & (CLIENTS - 1)], response, chain);
+        }
+    }
+}
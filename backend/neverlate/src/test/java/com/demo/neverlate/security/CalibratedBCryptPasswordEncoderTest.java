@@ -0,0 +1,42 @@
+package com.demo.neverlate.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    // Extraction du coût d'un hachage BCrypt
+    @Test
+    void costOf() {
+        String encoded = new CalibratedBCryptPasswordEncoder(5).encode("password");
+
+        assertEquals(5, CalibratedBCryptPasswordEncoder.costOf(encoded));
+        assertEquals(-1, CalibratedBCryptPasswordEncoder.costOf("password"));
+        assertEquals(-1, CalibratedBCryptPasswordEncoder.costOf(null));
+    }
+
+    // Un hachage n'est mis à niveau que si son coût est inférieur au coût cible
+    @Test
+    void upgradeEncoding_OnlyWhenCostIsLower() {
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(new CalibratedBCryptPasswordEncoder(5).encode("password")));
+        assertTrue(encoder.upgradeEncoding(new CalibratedBCryptPasswordEncoder(4).encode("password")));
+        assertFalse(encoder.upgradeEncoding(new CalibratedBCryptPasswordEncoder(6).encode("password")));
+        assertFalse(encoder.upgradeEncoding("not-a-bcrypt-hash"));
+    }
+
+    // Le coût calibré reste dans les bornes configurées
+    @Test
+    void calibrate_StaysWithinBounds() {
+        CalibratedBCryptPasswordEncoder tightBudget = CalibratedBCryptPasswordEncoder.calibrate(Duration.ofNanos(1), 4, 6);
+        CalibratedBCryptPasswordEncoder looseBudget = CalibratedBCryptPasswordEncoder.calibrate(Duration.ofMinutes(1), 4, 6);
+
+        assertEquals(4, tightBudget.getStrength());
+        assertEquals(6, looseBudget.getStrength());
+        assertTrue(tightBudget.matches("password", tightBudget.encode("password")));
+    }
+}
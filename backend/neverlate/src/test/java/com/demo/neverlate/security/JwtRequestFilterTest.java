@@ -0,0 +1,144 @@
+package com.demo.neverlate.security;
+
+import com.demo.neverlate.config.AuthenticatedUser;
+import com.demo.neverlate.config.CustomUserPrincipal;
+import com.demo.neverlate.model.Role;
+import com.demo.neverlate.model.User;
+import com.demo.neverlate.security.JwtRequestFilter.PrincipalSource;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtRequestFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenDenylist tokenDenylist;
+
+    @Mock
+    private FilterChain chain;
+
+    private final JwtTokenUtil jwtTokenUtil = new JwtTokenUtil();
+    private PrincipalCache principalCache;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        principalCache = new PrincipalCache(100, Duration.ofMinutes(5));
+        user = User.builder()
+                .id(42L)
+                .username("testuser")
+                .email("test@example.com")
+                .password("encodedPassword")
+                .roles(Set.of(Role.builder().name("USER").build()))
+                .build();
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(new CustomUserPrincipal(user));
+        when(tokenDenylist.isRevoked(any(), any())).thenReturn(false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    // Test du mode CLAIMS : le principal est construit à partir du token, sans chargement de l'utilisateur
+    @Test
+    void doFilter_ClaimsBuildPrincipalFromToken() throws Exception {
+        String token = jwtTokenUtil.generateToken(42L, "testuser", List.of("ADMIN"));
+
+        AuthenticatedUser principal = authenticate(filter(PrincipalSource.CLAIMS), token);
+
+        assertEquals(42L, principal.getId());
+        assertEquals("testuser", principal.getUsername());
+        assertEquals(List.of("ADMIN"), authorities(principal));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    // Test du mode CLAIMS avec un token sans revendications d'identité : le principal est chargé en base
+    @Test
+    void doFilter_ClaimsWithoutIdentityLoadsPrincipal() throws Exception {
+        AuthenticatedUser principal = authenticate(filter(PrincipalSource.CLAIMS), jwtTokenUtil.generateToken("testuser"));
+
+        assertEquals(42L, principal.getId());
+        assertEquals(List.of("USER"), authorities(principal));
+        verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+    }
+
+    // Test du mode DATABASE : les revendications du token sont ignorées au profit des rôles en base
+    @Test
+    void doFilter_DatabaseIgnoresClaims() throws Exception {
+        String token = jwtTokenUtil.generateToken(42L, "testuser", List.of("ADMIN"));
+
+        AuthenticatedUser principal = authenticate(filter(PrincipalSource.DATABASE), token);
+
+        assertEquals(List.of("USER"), authorities(principal));
+        verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+    }
+
+    // Test du cache des principaux : chargé à la première requête, servi depuis le cache ensuite
+    @Test
+    void doFilter_DatabaseServesPrincipalFromCache() throws Exception {
+        JwtRequestFilter filter = filter(PrincipalSource.DATABASE);
+        String token = jwtTokenUtil.generateToken("testuser");
+
+        AuthenticatedUser first = authenticate(filter, token);
+        SecurityContextHolder.clearContext();
+        AuthenticatedUser second = authenticate(filter, token);
+
+        assertSame(first, second);
+        verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+    }
+
+    // Test de l'invalidation : le principal est rechargé à la requête suivante
+    @Test
+    void doFilter_DatabaseReloadsAfterInvalidate() throws Exception {
+        JwtRequestFilter filter = filter(PrincipalSource.DATABASE);
+        String token = jwtTokenUtil.generateToken("testuser");
+
+        authenticate(filter, token);
+        SecurityContextHolder.clearContext();
+        principalCache.invalidate("testuser");
+        user.setRoles(Set.of(Role.builder().name("ADMIN").build()));
+        AuthenticatedUser reloaded = authenticate(filter, token);
+
+        assertEquals(List.of("ADMIN"), authorities(reloaded));
+        verify(userDetailsService, times(2)).loadUserByUsername("testuser");
+    }
+
+    private JwtRequestFilter filter(PrincipalSource principalSource) {
+        return new JwtRequestFilter(userDetailsService, jwtTokenUtil, principalCache, principalSource, tokenDenylist);
+    }
+
+    private AuthenticatedUser authenticate(JwtRequestFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/timezones");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        verify(chain, atLeastOnce()).doFilter(request, response);
+        return (AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+
+    private static List<String> authorities(AuthenticatedUser principal) {
+        return principal.getAuthorities().stream().map(authority -> authority.getAuthority()).toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.demo.neverlate.security;
+
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenUtilTest {
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+    }
+
+    // Test de la vérification d'un token valide
+    @Test
+    void verify_ValidToken() {
+        String token = jwtTokenUtil.generateToken("testuser");
+
+        VerifiedToken verified = jwtTokenUtil.verify(token);
+
+        assertEquals("testuser", verified.subject());
+        assertTrue(verified.expiresAt().isAfter(Instant.now()));
+        assertNotNull(verified.issuedAt());
+        assertNotNull(verified.tokenId());
+    }
+
+    // Les tokens d'accès sont de courte durée
+    @Test
+    void generateToken_UsesAccessTokenTtl() {
+        JwtTokenUtil shortLived = new JwtTokenUtil(0, Duration.ofMinutes(5));
+
+        VerifiedToken verified = shortLived.verify(shortLived.generateToken("testuser"));
+
+        assertFalse(verified.expiresAt().isAfter(verified.issuedAt().plus(Duration.ofMinutes(5))));
+    }
+
+    // Le même token vérifié deux fois est servi depuis le cache
+    @Test
+    void verify_SameTokenIsCached() {
+        String token = jwtTokenUtil.generateToken("testuser");
+
+        VerifiedToken first = jwtTokenUtil.verify(token);
+        VerifiedToken second = jwtTokenUtil.verify(token);
+
+        assertSame(first, second);
+    }
+
+    // Un token signé par une autre clé est rejeté
+    @Test
+    void verify_ForeignSignature() {
+        String foreignToken = new JwtTokenUtil().generateToken("testuser");
+
+        assertThrows(SignatureException.class, () -> jwtTokenUtil.verify(foreignToken));
+    }
+
+    // Un token malformé est rejeté
+    @Test
+    void verify_MalformedToken() {
+        assertThrows(MalformedJwtException.class, () -> jwtTokenUtil.verify("not-a-jwt"));
+    }
+
+    // Validation d'un token vérifié contre l'utilisateur chargé
+    @Test
+    void validateToken_VerifiedToken() {
+        VerifiedToken verified = jwtTokenUtil.verify(jwtTokenUtil.generateToken("testuser"));
+        UserDetails owner = new User("testuser", "", List.of());
+        UserDetails other = new User("anotheruser", "", List.of());
+
+        assertTrue(jwtTokenUtil.validateToken(verified, owner));
+        assertFalse(jwtTokenUtil.validateToken(verified, other));
+    }
+}
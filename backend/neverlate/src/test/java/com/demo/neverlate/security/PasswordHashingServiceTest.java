@@ -0,0 +1,70 @@
+package com.demo.neverlate.security;
+
+import com.demo.neverlate.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordHashingService hashingService;
+
+    @AfterEach
+    void tearDown() {
+        hashingService.destroy();
+    }
+
+    // Le hachage est délégué une seule fois à l'encodeur sous-jacent
+    @Test
+    void encode_DelegatesOnce() {
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode("secret")).thenReturn("encoded");
+        hashingService = new PasswordHashingService(delegate, 1, 1, Duration.ofSeconds(1), 1, meterRegistry);
+
+        assertEquals("encoded", hashingService.encode("secret"));
+        verify(delegate, times(1)).encode("secret");
+        assertEquals(1, meterRegistry.get("neverlate.password.hash").tag("operation", "encode").timer().count());
+    }
+
+    // Lorsque le pool et la file sont pleins, la demande est rejetée immédiatement
+    @Test
+    void encode_RejectedWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder delegate = mock(PasswordEncoder.class);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "encoded";
+        });
+        hashingService = new PasswordHashingService(delegate, 1, 1, Duration.ofSeconds(5), 2, meterRegistry);
+
+        // Une opération en cours, une autre en file d'attente
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hashingService.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hashingService.encode("b"));
+        while (hashingService.getQueueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        PasswordHashingUnavailableException exception = assertThrows(PasswordHashingUnavailableException.class,
+                () -> hashingService.encode("c"));
+        assertEquals(2, exception.getRetryAfterSeconds());
+
+        release.countDown();
+        assertEquals("encoded", running.get(5, TimeUnit.SECONDS));
+        assertEquals("encoded", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get("neverlate.password.hash.rejected").counter().count());
+    }
+}
@@ -0,0 +1,62 @@
+package com.demo.neverlate.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    // Une rafale jusqu'à la capacité est acceptée, la requête suivante est refusée avec un délai
+    @Test
+    void tryAcquire_RejectsBeyondCapacity() {
+        RateLimiter rateLimiter = new RateLimiter(3, Duration.ofMinutes(1), 100);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.tryAcquire("client"));
+        }
+        long waitNanos = rateLimiter.tryAcquire("client");
+
+        assertTrue(waitNanos > 0);
+        assertTrue(waitNanos <= Duration.ofSeconds(20).toNanos());
+    }
+
+    // Les clés sont limitées indépendamment
+    @Test
+    void tryAcquire_KeysAreIndependent() {
+        RateLimiter rateLimiter = new RateLimiter(1, Duration.ofMinutes(1), 100);
+
+        assertEquals(0, rateLimiter.tryAcquire("alice"));
+        assertTrue(rateLimiter.tryAcquire("alice") > 0);
+        assertEquals(0, rateLimiter.tryAcquire("bob"));
+    }
+
+    // Un seau se remplit de nouveau avec le temps, et la clé inactive peut alors être libérée
+    @Test
+    void evictIdle_RemovesRefilledKeys() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiter(1, Duration.ofMillis(20), 100);
+        assertEquals(0, rateLimiter.tryAcquire("client"));
+        assertEquals(1, rateLimiter.size());
+
+        Thread.sleep(50);
+
+        assertEquals(1, rateLimiter.evictIdle());
+        assertEquals(0, rateLimiter.size());
+        assertEquals(0, rateLimiter.tryAcquire("client"));
+    }
+
+    // Au-delà du nombre maximal de clés, les nouvelles clés restent limitées sans être mémorisées
+    @Test
+    void tryAcquire_BoundedNumberOfKeys() {
+        RateLimiter rateLimiter = new RateLimiter(1, Duration.ofMinutes(1), 2);
+
+        for (int i = 0; i < 1000; i++) {
+            rateLimiter.tryAcquire("client-" + i);
+        }
+
+        assertEquals(2, rateLimiter.size());
+        assertEquals(0, rateLimiter.tryAcquire("overflow-key"));
+        assertTrue(rateLimiter.tryAcquire("overflow-key") > 0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.demo.neverlate.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenDenylistTest {
+
+    private TokenDenylist tokenDenylist;
+
+    @BeforeEach
+    void setUp() {
+        tokenDenylist = new TokenDenylist(Duration.ofMinutes(15), Duration.ofMinutes(1), 64);
+    }
+
+    // Un token révoqué est refusé, les autres tokens du même compartiment ne le sont pas
+    @Test
+    void isRevoked_OnlyRevokedToken() {
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(10));
+        tokenDenylist.revoke("revoked", expiresAt);
+
+        assertTrue(tokenDenylist.isRevoked("revoked", expiresAt));
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(tokenDenylist.isRevoked(UUID.randomUUID().toString(), expiresAt));
+        }
+    }
+
+    // Un token sans identifiant ou déjà expiré n'est jamais ajouté
+    @Test
+    void revoke_IgnoresExpiredOrAnonymousTokens() {
+        Instant expired = Instant.now().minusSeconds(1);
+        tokenDenylist.revoke("expired", expired);
+        tokenDenylist.revoke(null, Instant.now().plusSeconds(60));
+
+        assertFalse(tokenDenylist.isRevoked("expired", expired));
+        assertFalse(tokenDenylist.isRevoked(null, Instant.now().plusSeconds(60)));
+    }
+
+    // Un token expirant au-delà de l'horizon prévu reste révoqué
+    @Test
+    void revoke_TokenBeyondHorizon() {
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(2));
+        tokenDenylist.revoke("long-lived", expiresAt);
+
+        assertTrue(tokenDenylist.isRevoked("long-lived", expiresAt));
+    }
+
+    // Un compartiment réutilisé pour une nouvelle tranche ne conserve pas les anciens tokens
+    @Test
+    void revoke_RecycledBucketForgetsOldTokens() {
+        Instant soon = Instant.now().plus(Duration.ofMinutes(1));
+        tokenDenylist.revoke("old", soon);
+        // 17 compartiments : la même position couvre la tranche située 17 minutes plus tard
+        Instant later = soon.plus(Duration.ofMinutes(17));
+        assertTrue(tokenDenylist.isRevoked("old", soon));
+
+        assertFalse(tokenDenylist.isRevoked("old", later));
+    }
+}
@@ -0,0 +1,151 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.TimeZoneDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ClockStreamTest {
+
+    // Passage à l'heure d'été à New York : 2024-03-10T07:00:00Z
+    private static final long NEW_YORK_DST = Instant.parse("2024-03-10T07:00:00Z").getEpochSecond();
+
+    private static final List<TimeZoneDTO> TIME_ZONES = List.of(
+            new TimeZoneDTO(1L, "New York", "New York", "-05:00", "America/New_York"),
+            new TimeZoneDTO(2L, "Kolkata", "Kolkata", "+05:30", null));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ClockStream clockStream;
+    private AsyncContext asyncContext;
+    private ServletOutputStream out;
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    private boolean ready;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        clockStream = new ClockStream(new ZoneConversionEngine(), meterRegistry, 2,
+                Duration.ofMinutes(15), Duration.ofSeconds(30));
+        setClock(NEW_YORK_DST - 1);
+        asyncContext = mock(AsyncContext.class);
+        out = mock(ServletOutputStream.class);
+        when(out.isReady()).thenAnswer(invocation -> ready);
+        doAnswer(invocation -> {
+            written.write(invocation.<byte[]>getArgument(0));
+            return null;
+        }).when(out).write(any(byte[].class));
+    }
+
+    // Test de l'ouverture du flux : le premier tick est envoyé dès que la connexion est prête
+    @Test
+    void subscribe_SendsFirstTick() throws Exception {
+        WriteListener subscriber = subscribe(true);
+        assertEquals("", written());
+
+        ready = true;
+        subscriber.onWritePossible();
+
+        assertEquals("retry: 5000\n\nevent: tick\ndata: {\"instant\":\"2024-03-10T06:59:59Z\",\"zones\":["
+                + "{\"id\":1,\"local\":\"2024-03-10T01:59:59-05:00\"},"
+                + "{\"id\":2,\"local\":\"2024-03-10T12:29:59+05:30\"}]}\n\n", written());
+        verify(out).flush();
+        verify(asyncContext).setTimeout(Duration.ofMinutes(15).toMillis());
+        assertEquals(1, clockStream.getSubscriberCount());
+    }
+
+    // Test d'un tick : les heures locales suivent le changement d'heure, les abonnés à la minute sont ignorés
+    @Test
+    void tick_WritesToReadySubscribers() throws Exception {
+        subscribe(false).onWritePossible();
+        ready = true;
+        subscribe(true).onWritePossible();
+        written.reset();
+
+        setClock(NEW_YORK_DST);
+        clockStream.tick(NEW_YORK_DST + 1);
+
+        assertEquals("event: tick\ndata: {\"instant\":\"2024-03-10T07:00:01Z\",\"zones\":["
+                + "{\"id\":1,\"local\":\"2024-03-10T03:00:01-04:00\"},"
+                + "{\"id\":2,\"local\":\"2024-03-10T12:30:01+05:30\"}]}\n\n", written());
+    }
+
+    // Test d'un abonné qui ne lit plus : seul le dernier tick est conservé, puis il est déconnecté
+    @Test
+    void tick_CoalescesThenEvictsSlowConsumer() throws Exception {
+        WriteListener subscriber = subscribe(true);
+        ready = true;
+        subscriber.onWritePossible();
+        // La connexion n'accepte plus d'écriture après le premier message
+        ready = false;
+        clockStream.tick(NEW_YORK_DST);
+        written.reset();
+
+        setClock(NEW_YORK_DST + 10);
+        clockStream.tick(NEW_YORK_DST + 10);
+        clockStream.tick(NEW_YORK_DST + 11);
+        ready = true;
+        subscriber.onWritePossible();
+        assertTrue(written().startsWith("event: tick\ndata: {\"instant\":\"2024-03-10T07:00:11Z\""));
+        assertEquals(1, written().split("event: tick").length - 1);
+
+        ready = false;
+        clockStream.tick(NEW_YORK_DST + 12);
+        setClock(NEW_YORK_DST + 43);
+        clockStream.tick(NEW_YORK_DST + 43);
+
+        verify(asyncContext).complete();
+        assertEquals(0, clockStream.getSubscriberCount());
+        assertEquals(1.0, meterRegistry.get("neverlate.clock.evictions").counter().count());
+    }
+
+    // Test du nombre maximal d'abonnés : la requête n'est pas passée en mode asynchrone
+    @Test
+    void subscribe_RejectsWhenFull() throws Exception {
+        subscribe(true);
+        subscribe(false);
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        assertFalse(clockStream.subscribe(request, mock(HttpServletResponse.class), TIME_ZONES, true));
+        verify(request, never()).startAsync(any(), any());
+        assertEquals(2, clockStream.getSubscriberCount());
+    }
+
+    private WriteListener subscribe(boolean everySecond) throws Exception {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+        when(request.startAsync(request, response)).thenReturn(asyncContext);
+        when(response.getOutputStream()).thenReturn(out);
+
+        assertTrue(clockStream.subscribe(request, response, TIME_ZONES, everySecond));
+
+        ArgumentCaptor<WriteListener> listener = ArgumentCaptor.forClass(WriteListener.class);
+        verify(out, atLeastOnce()).setWriteListener(listener.capture());
+        return listener.getValue();
+    }
+
+    private String written() {
+        return written.toString(StandardCharsets.UTF_8);
+    }
+
+    private void setClock(long epochSecond) {
+        clockStream.clock = Clock.fixed(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    }
+}
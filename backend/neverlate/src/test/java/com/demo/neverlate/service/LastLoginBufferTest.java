@@ -0,0 +1,73 @@
+package com.demo.neverlate.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LastLoginBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private LastLoginBuffer lastLoginBuffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        lastLoginBuffer = new LastLoginBuffer(jdbcTemplate, 2);
+    }
+
+    // Les connexions répétées d'un même utilisateur sont fusionnées en une seule mise à jour
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_CoalescesLoginsPerUser() {
+        LocalDateTime first = LocalDateTime.of(2024, 1, 1, 9, 0);
+        LocalDateTime latest = first.plusMinutes(5);
+
+        lastLoginBuffer.record(1L, first);
+        lastLoginBuffer.record(1L, latest);
+        lastLoginBuffer.record(1L, first);
+        lastLoginBuffer.flush();
+
+        ArgumentCaptor<List<Object[]>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batchCaptor.capture());
+        List<Object[]> batch = batchCaptor.getValue();
+        assertEquals(1, batch.size());
+        assertEquals(Timestamp.valueOf(latest), batch.get(0)[0]);
+        assertEquals(1L, batch.get(0)[1]);
+        assertEquals(0, lastLoginBuffer.getPendingCount());
+    }
+
+    // Les mises à jour sont découpées en lots de taille fixe
+    @Test
+    void flush_WritesFixedSizeBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        for (long userId = 1; userId <= 5; userId++) {
+            lastLoginBuffer.record(userId, now);
+        }
+
+        lastLoginBuffer.flush();
+
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyList());
+    }
+
+    // En cas d'échec, les connexions sont conservées pour la prochaine écriture
+    @Test
+    void flush_RequeuesOnFailure() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+        lastLoginBuffer.record(1L, LocalDateTime.now());
+
+        lastLoginBuffer.flush();
+
+        assertEquals(1, lastLoginBuffer.getPendingCount());
+    }
+}
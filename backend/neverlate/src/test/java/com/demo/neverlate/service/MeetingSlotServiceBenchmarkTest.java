@@ -0,0 +1,79 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.MeetingSlotDTO;
+import com.demo.neverlate.dto.MeetingSlotRequest;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mesure la recherche de créneaux sur 90 jours pour 50 fuseaux horaires.
+ * Exclu de la suite par défaut : {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class MeetingSlotServiceBenchmarkTest {
+
+    private static final int ZONES = 50;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    @Test
+    void ninetyDaysAcrossFiftyZones() {
+        // Fuseaux IANA réels (avec et sans heure d'été), répartis autour du monde
+        List<String> zoneIds = ZoneId.getAvailableZoneIds().stream()
+                .filter(id -> id.startsWith("Europe/") || id.startsWith("America/") || id.startsWith("Asia/"))
+                .sorted()
+                .toList();
+        List<TimeZoneDTO> timeZones = new ArrayList<>(ZONES);
+        for (int i = 0; i < ZONES; i++) {
+            String zoneId = zoneIds.get(i * zoneIds.size() / ZONES);
+            ZoneOffset offset = ZoneId.of(zoneId).getRules().getStandardOffset(Instant.now());
+            timeZones.add(new TimeZoneDTO((long) i, zoneId, zoneId, offset, zoneId));
+        }
+
+        TimeZoneRepository timeZoneRepository = mock(TimeZoneRepository.class);
+        TimeZoneService timeZoneService = mock(TimeZoneService.class);
+        when(timeZoneService.getCurrentUserId()).thenReturn(1L);
+        when(timeZoneRepository.findDtosByUserId(1L)).thenReturn(timeZones);
+        MeetingSlotService meetingSlotService = new MeetingSlotService();
+        ReflectionTestUtils.setField(meetingSlotService, "timeZoneRepository", timeZoneRepository);
+        ReflectionTestUtils.setField(meetingSlotService, "timeZoneService", timeZoneService);
+        ReflectionTestUtils.setField(meetingSlotService, "zoneConversionEngine", new ZoneConversionEngine());
+
+        MeetingSlotRequest request = MeetingSlotRequest.builder()
+                .start(Instant.parse("2024-02-01T00:00:00Z"))
+                .end(Instant.parse("2024-05-01T00:00:00Z"))
+                .quorum(ZONES / 3)
+                .minDuration(Duration.ofMinutes(30))
+                .build();
+
+        List<MeetingSlotDTO> slots = List.of();
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            slots = meetingSlotService.findSlots(request);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            slots = meetingSlotService.findSlots(request);
+        }
+        double millisPerSearch = (System.nanoTime() - start) / 1e6 / MEASURED_ITERATIONS;
+
+        System.out.printf("MeetingSlotService: %.3f ms per 90-day search across %d zones (%d slots)%n",
+                millisPerSearch, ZONES, slots.size());
+        assertFalse(slots.isEmpty());
+        assertTrue(millisPerSearch < 10, "A 90-day search across 50 zones should take a few milliseconds at most");
+    }
+}
@@ -0,0 +1,138 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.MeetingSlotDTO;
+import com.demo.neverlate.dto.MeetingSlotRequest;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.InvalidTimeFormatException;
+import com.demo.neverlate.exception.UnauthorizedActionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import com.demo.neverlate.repository.TimeZoneRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MeetingSlotServiceTest {
+
+    @Mock
+    private TimeZoneRepository timeZoneRepository;
+
+    @Mock
+    private TimeZoneService timeZoneService;
+
+    @Spy
+    private ZoneConversionEngine zoneConversionEngine;
+
+    @InjectMocks
+    private MeetingSlotService meetingSlotService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(timeZoneService.getCurrentUserId()).thenReturn(1L);
+        when(timeZoneRepository.findDtosByUserId(1L)).thenReturn(List.of(
+                new TimeZoneDTO(1L, "Paris", "Paris", "+01:00", "Europe/Paris"),
+                new TimeZoneDTO(2L, "New York", "New York", "-05:00", "America/New_York"),
+                new TimeZoneDTO(3L, "Tokyo", "Tokyo", "+09:00", null)));
+    }
+
+    // Test de la recherche entre deux fuseaux IANA : l'heure d'été de chaque date est appliquée
+    @Test
+    void findSlots_AllZonesAcrossDaylightSavingTime() {
+        MeetingSlotRequest request = MeetingSlotRequest.builder()
+                .start(Instant.parse("2024-03-29T00:00:00Z"))
+                .end(Instant.parse("2024-04-02T00:00:00Z"))
+                .timeZoneIds(List.of(1L, 2L))
+                .build();
+
+        List<MeetingSlotDTO> slots = meetingSlotService.findSlots(request);
+
+        assertEquals(4, slots.size());
+        // Vendredi 29 mars : Paris en heure d'hiver (08:00–17:00 UTC), New York en heure d'été (13:00–22:00 UTC)
+        assertEquals(Instant.parse("2024-03-29T13:00:00Z"), slots.get(0).getStart());
+        assertEquals(Instant.parse("2024-03-29T17:00:00Z"), slots.get(0).getEnd());
+        assertEquals(List.of(1L, 2L), slots.get(0).getAvailableTimeZoneIds());
+        // Lundi 1er avril : Paris est passé à l'heure d'été (07:00–16:00 UTC)
+        assertEquals(Instant.parse("2024-04-01T13:00:00Z"), slots.get(3).getStart());
+        assertEquals(Instant.parse("2024-04-01T16:00:00Z"), slots.get(3).getEnd());
+    }
+
+    // Test du quorum : les créneaux où deux fuseaux sur trois sont en heures ouvrées
+    @Test
+    void findSlots_Quorum() {
+        MeetingSlotRequest request = MeetingSlotRequest.builder()
+                .start(Instant.parse("2024-01-15T00:00:00Z"))
+                .end(Instant.parse("2024-01-16T00:00:00Z"))
+                .quorum(2)
+                .build();
+
+        List<MeetingSlotDTO> slots = meetingSlotService.findSlots(request);
+
+        assertEquals(2, slots.size());
+        // Tokyo (00:00–09:00 UTC) et Paris (08:00–17:00 UTC)
+        assertEquals(Instant.parse("2024-01-15T08:00:00Z"), slots.get(0).getStart());
+        assertEquals(Instant.parse("2024-01-15T09:00:00Z"), slots.get(0).getEnd());
+        assertEquals(List.of(1L, 3L), slots.get(0).getAvailableTimeZoneIds());
+        // Paris et New York (14:00–23:00 UTC)
+        assertEquals(Instant.parse("2024-01-15T14:00:00Z"), slots.get(1).getStart());
+        assertEquals(Instant.parse("2024-01-15T17:00:00Z"), slots.get(1).getEnd());
+        assertEquals(List.of(1L, 2L), slots.get(1).getAvailableTimeZoneIds());
+    }
+
+    // Test des heures ouvrées personnalisées et de la durée minimale
+    @Test
+    void findSlots_WorkingHoursAndMinDuration() {
+        MeetingSlotRequest request = MeetingSlotRequest.builder()
+                .start(Instant.parse("2024-01-15T00:00:00Z"))
+                .end(Instant.parse("2024-01-16T00:00:00Z"))
+                .timeZoneIds(List.of(1L, 3L))
+                .minDuration(Duration.ofHours(2))
+                .workingHours(Map.of(3L, new MeetingSlotRequest.WorkingHours(LocalTime.of(12, 0), LocalTime.of(20, 0))))
+                .build();
+
+        List<MeetingSlotDTO> slots = meetingSlotService.findSlots(request);
+
+        // Tokyo 12:00–20:00 (03:00–11:00 UTC) et Paris 08:00–17:00 UTC : trois heures communes
+        assertEquals(1, slots.size());
+        assertEquals(Instant.parse("2024-01-15T08:00:00Z"), slots.get(0).getStart());
+        assertEquals(Instant.parse("2024-01-15T11:00:00Z"), slots.get(0).getEnd());
+
+        request.setMinDuration(Duration.ofHours(4));
+        assertTrue(meetingSlotService.findSlots(request).isEmpty());
+    }
+
+    // Test des requêtes invalides
+    @Test
+    void findSlots_InvalidRequests() {
+        Instant start = Instant.parse("2024-01-15T00:00:00Z");
+
+        assertThrows(InvalidTimeFormatException.class, () -> meetingSlotService.findSlots(
+                MeetingSlotRequest.builder().start(start).end(start).build()));
+        assertThrows(InvalidTimeFormatException.class, () -> meetingSlotService.findSlots(
+                MeetingSlotRequest.builder().start(start).end(start.plus(Duration.ofDays(400))).build()));
+        assertThrows(InvalidTimeFormatException.class, () -> meetingSlotService.findSlots(
+                MeetingSlotRequest.builder().start(start).end(start.plus(Duration.ofDays(1))).quorum(4).build()));
+    }
+
+    // Test d'un fuseau horaire appartenant à un autre utilisateur
+    @Test
+    void findSlots_Unauthorized() {
+        when(timeZoneRepository.existsById(42L)).thenReturn(true);
+
+        assertThrows(UnauthorizedActionException.class, () -> meetingSlotService.findSlots(MeetingSlotRequest.builder()
+                .start(Instant.parse("2024-01-15T00:00:00Z"))
+                .end(Instant.parse("2024-01-16T00:00:00Z"))
+                .timeZoneIds(List.of(1L, 42L))
+                .build()));
+    }
+}
@@ -0,0 +1,76 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.mapper.TimeZoneMapper;
+import com.demo.neverlate.model.Zone;
+import com.demo.neverlate.repository.ZoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class SharedZoneServiceTest {
+
+    @Mock
+    private ZoneRepository zoneRepository;
+
+    @Spy
+    private TimeZoneMapper timeZoneMapper;
+
+    @InjectMocks
+    private SharedZoneService sharedZoneService;
+
+    private final Zone paris = zone(1L, "Europe/Paris|Paris", "Paris", 3600, "Europe/Paris");
+    private final Zone tokyo = zone(2L, "+09:00|Tokyo", "Tokyo", 32400, null);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    // Test du chemin nominal : zones existantes lues en une requête, aucune insertion
+    @Test
+    void resolveAll_ExistingZones() {
+        when(zoneRepository.findByNaturalKeyIn(any())).thenReturn(List.of(paris, tokyo));
+
+        Map<String, Zone> zones = sharedZoneService.resolveAll(List.of(
+                new TimeZoneDTO(null, "Bureau", "Paris", "+02:00", "Europe/Paris"),
+                new TimeZoneDTO(null, "Paris", "Paris", "+01:00", "Europe/Paris"),
+                new TimeZoneDTO(null, "Tokyo", "Tokyo", "+09:00", null)));
+
+        // Pour un fuseau IANA, le décalage ne fait pas partie de la clé : les deux premiers partagent la zone
+        assertEquals(Map.of("Europe/Paris|Paris", paris, "+09:00|Tokyo", tokyo), zones);
+        verify(zoneRepository, times(1)).findByNaturalKeyIn(any());
+        verify(zoneRepository, never()).insertIfAbsent(any(), any(), anyInt(), any());
+    }
+
+    // Test d'une zone manquante : insérée dans la transaction de l'appelant, puis relue
+    @Test
+    void resolveAll_InsertsMissingZones() {
+        when(zoneRepository.findByNaturalKeyIn(any())).thenReturn(List.of(paris), List.of(tokyo));
+
+        Map<String, Zone> zones = sharedZoneService.resolveAll(List.of(
+                new TimeZoneDTO(null, "Paris", "Paris", "+01:00", "Europe/Paris"),
+                new TimeZoneDTO(null, "Tokyo", "Tokyo", "+09:00", null)));
+
+        assertEquals(Map.of("Europe/Paris|Paris", paris, "+09:00|Tokyo", tokyo), zones);
+        verify(zoneRepository, times(1)).insertIfAbsent("+09:00|Tokyo", "Tokyo", 32400, null);
+        verify(zoneRepository, never()).saveAllAndFlush(any());
+        verify(zoneRepository).findByNaturalKeyIn(List.of("+09:00|Tokyo"));
+    }
+
+    private static Zone zone(Long id, String key, String city, int offsetSeconds, String zoneId) {
+        return new Zone(id, key, city, ZoneOffset.ofTotalSeconds(offsetSeconds), zoneId);
+    }
+}
@@ -0,0 +1,164 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.BatchResultDTO;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.InvalidBatchException;
+import com.demo.neverlate.mapper.TimeZoneMapper;
+import com.demo.neverlate.model.TimeZone;
+import com.demo.neverlate.model.User;
+import com.demo.neverlate.model.Zone;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.repository.UserRepository;
+import com.demo.neverlate.utils.Offsets;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TimeZoneBatchServiceTest {
+
+    @Mock
+    private TimeZoneRepository timeZoneRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TimeZoneService timeZoneService;
+
+    @Spy
+    private TimeZoneMapper timeZoneMapper;
+
+    @Mock
+    private TimeZoneListVersionService timeZoneListVersionService;
+
+    @Mock
+    private SharedZoneService sharedZoneService;
+
+    @InjectMocks
+    private TimeZoneBatchService timeZoneBatchService;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(timeZoneBatchService, "validator", validator);
+        user = User.builder().id(1L).username("testuser").password("password").build();
+        when(timeZoneService.getCurrentUserId()).thenReturn(1L);
+        when(userRepository.getReferenceById(1L)).thenReturn(user);
+        when(sharedZoneService.resolveAll(anyCollection())).thenAnswer(invocation -> {
+            Map<String, Zone> zones = new HashMap<>();
+            for (TimeZoneDTO timeZoneDTO : invocation.<Collection<TimeZoneDTO>>getArgument(0)) {
+                Zone zone = timeZoneMapper.toZone(timeZoneDTO);
+                zones.put(zone.getNaturalKey(), zone);
+            }
+            return zones;
+        });
+    }
+
+    // Test de la création par lots : les éléments valides sont enregistrés en un appel, les autres signalés
+    @Test
+    @SuppressWarnings("unchecked")
+    void createAll_PartialFailure() {
+        when(timeZoneRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            long id = 100;
+            for (TimeZone timeZone : (Collection<TimeZone>) invocation.getArgument(0)) {
+                timeZone.setId(id++);
+            }
+            return new ArrayList<>(invocation.getArgument(0));
+        });
+        when(timeZoneRepository.findNextPositionByUserId(1L)).thenReturn(4);
+
+        BatchResultDTO result = timeZoneBatchService.createAll(List.of(
+                new TimeZoneDTO(7L, "Paris", "Paris", "+01:00", null),
+                new TimeZoneDTO(null, "", "Nowhere", "+01:00", null),
+                new TimeZoneDTO(null, "Tokyo", "Tokyo", "+09:00", null)));
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals(201, result.getResults().get(0).getStatus());
+        assertEquals(100L, result.getResults().get(0).getId());
+        assertEquals(400, result.getResults().get(1).getStatus());
+        assertTrue(result.getResults().get(1).getError().startsWith("label"));
+        assertEquals(101L, result.getResults().get(2).getId());
+        verify(timeZoneRepository, times(1)).saveAll(argThat(timeZones -> {
+            List<TimeZone> list = new ArrayList<>();
+            timeZones.forEach(list::add);
+            // L'ID fourni par le client est ignoré : la séquence attribue les IDs ; positions à la suite de la liste
+            return list.size() == 2 && list.get(0).getUser() == user && list.get(0).getZone().getCity().equals("Paris")
+                    && list.get(0).getPosition() == 4 && list.get(1).getPosition() == 5;
+        }));
+    }
+
+    // Test de la mise à jour par lots : fuseau modifié, fuseau d'un autre utilisateur, introuvable et doublon
+    @Test
+    void updateAll_ReportsEachItem() {
+        TimeZone owned = TimeZone.builder().id(1L).label("Old")
+                .zone(Zone.builder().city("Old").offset(Offsets.parse("+00:00")).build()).user(user).build();
+        when(timeZoneRepository.findByUserIdAndIdIn(eq(1L), any())).thenReturn(List.of(owned));
+        when(timeZoneRepository.findExistingIds(any())).thenReturn(List.of(2L));
+
+        BatchResultDTO result = timeZoneBatchService.updateAll(List.of(
+                new TimeZoneDTO(1L, "Paris", "Paris", "+01:00", null),
+                new TimeZoneDTO(2L, "Other", "Other", "+02:00", null),
+                new TimeZoneDTO(3L, "Missing", "Missing", "+03:00", null),
+                new TimeZoneDTO(1L, "Again", "Again", "+04:00", null)));
+
+        assertEquals(List.of(200, 403, 404, 400),
+                result.getResults().stream().map(BatchResultDTO.ItemResult::getStatus).toList());
+        assertEquals("Paris", owned.getLabel());
+        assertEquals(3600, owned.getZone().getOffset().getTotalSeconds());
+        // Seules les zones des éléments valides appartenant à l'utilisateur sont résolues
+        verify(sharedZoneService).resolveAll(argThat(timeZones -> timeZones.size() == 1));
+        verify(timeZoneRepository).findByUserIdAndIdIn(1L, Set.of(1L, 2L, 3L));
+        verify(timeZoneRepository).findExistingIds(Set.of(2L, 3L));
+        verify(timeZoneRepository, never()).save(any());
+    }
+
+    // Test de la suppression par lots : une seule requête pour les fuseaux de l'utilisateur
+    @Test
+    void deleteAll_SingleStatement() {
+        when(timeZoneRepository.findIdsByUserIdAndIdIn(eq(1L), any())).thenReturn(List.of(1L, 3L));
+        when(timeZoneRepository.findExistingIds(any())).thenReturn(List.of());
+
+        BatchResultDTO result = timeZoneBatchService.deleteAll(Arrays.asList(1L, 3L, 4L, null));
+
+        assertEquals(2, result.getSucceeded());
+        assertEquals(List.of(204, 204, 404, 400),
+                result.getResults().stream().map(BatchResultDTO.ItemResult::getStatus).toList());
+        verify(timeZoneRepository, times(1)).deleteAllByIdInBatch(Set.of(1L, 3L));
+        verify(timeZoneListVersionService, times(1)).increment(1L);
+    }
+
+    // Test des lots vides ou trop volumineux : rejetés sans accès à la base
+    @Test
+    void batch_InvalidSize() {
+        ReflectionTestUtils.setField(timeZoneBatchService, "maxBatchSize", 2);
+
+        assertThrows(InvalidBatchException.class, () -> timeZoneBatchService.createAll(List.of()));
+        assertThrows(InvalidBatchException.class, () -> timeZoneBatchService.deleteAll(List.of(1L, 2L, 3L)));
+        verifyNoInteractions(timeZoneRepository, timeZoneListVersionService);
+    }
+}
@@ -0,0 +1,106 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.TimeZoneComparisonDTO;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.TimeZoneNotFoundException;
+import com.demo.neverlate.exception.UnauthorizedActionException;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TimeZoneComparisonServiceTest {
+
+    @Mock
+    private TimeZoneRepository timeZoneRepository;
+
+    @Mock
+    private TimeZoneService timeZoneService;
+
+    @Spy
+    private ZoneConversionEngine zoneConversionEngine;
+
+    @InjectMocks
+    private TimeZoneComparisonService timeZoneComparisonService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(timeZoneService.getCurrentUserId()).thenReturn(1L);
+        when(timeZoneRepository.findDtosByUserIdOrderByOffset(1L)).thenReturn(List.of(
+                new TimeZoneDTO(1L, "Paris", "Paris", "+02:00", null),
+                new TimeZoneDTO(2L, "New York", "New York", "-04:00", null),
+                new TimeZoneDTO(3L, "Mumbai", "Mumbai", "+05:30", null)));
+    }
+
+    // Test de la comparaison : heure locale de chaque autre fuseau pour une heure de référence
+    @Test
+    void compare_ComputesLocalDateTimes() {
+        // Act
+        TimeZoneComparisonDTO comparison = timeZoneComparisonService.compare(1L, LocalDateTime.of(2024, 10, 18, 14, 30), "FR");
+
+        // Assert
+        assertEquals("Paris", comparison.getReference().getLabel());
+        assertEquals(Instant.parse("2024-10-18T12:30:00Z"), comparison.getInstant());
+        assertEquals(2, comparison.getComparisons().size());
+
+        TimeZoneComparisonDTO.ComparedTimeZone newYork = comparison.getComparisons().get(0);
+        assertEquals(LocalDateTime.of(2024, 10, 18, 8, 30), newYork.getLocalDateTime());
+        assertEquals("18/10/2024 08:30", newYork.getFormattedDateTime());
+
+        TimeZoneComparisonDTO.ComparedTimeZone mumbai = comparison.getComparisons().get(1);
+        assertEquals(LocalDateTime.of(2024, 10, 18, 18, 0), mumbai.getLocalDateTime());
+        verify(timeZoneRepository, never()).existsById(any());
+    }
+
+    // Test de la comparaison entre fuseaux IANA : l'heure d'été est appliquée à la date comparée
+    @Test
+    void compare_AppliesDaylightSavingTimeOfComparedDate() {
+        when(timeZoneRepository.findDtosByUserIdOrderByOffset(1L)).thenReturn(List.of(
+                new TimeZoneDTO(1L, "Paris", "Paris", "+02:00", "Europe/Paris"),
+                new TimeZoneDTO(2L, "New York", "New York", "-04:00", "America/New_York")));
+
+        // Le 20 mars 2024, New York est passé à l'heure d'été mais pas encore Paris
+        TimeZoneComparisonDTO comparison = timeZoneComparisonService.compare(1L, LocalDateTime.of(2024, 3, 20, 12, 0), "FR");
+
+        assertEquals("+01:00", comparison.getReference().getOffset());
+        assertEquals(Instant.parse("2024-03-20T11:00:00Z"), comparison.getInstant());
+        TimeZoneComparisonDTO.ComparedTimeZone newYork = comparison.getComparisons().get(0);
+        assertEquals("-04:00", newYork.getOffset());
+        assertEquals(LocalDateTime.of(2024, 3, 20, 7, 0), newYork.getLocalDateTime());
+    }
+
+    // Test du formatage anglais sur 12 heures
+    @Test
+    void compare_EnglishFormat() {
+        TimeZoneComparisonDTO comparison = timeZoneComparisonService.compare(2L, LocalDateTime.of(2024, 10, 18, 20, 0), "EN");
+
+        assertEquals("19/10/2024, 02:00 am", comparison.getComparisons().get(0).getFormattedDateTime().toLowerCase());
+    }
+
+    // Test de la comparaison avec un fuseau horaire appartenant à un autre utilisateur
+    @Test
+    void compare_Unauthorized() {
+        when(timeZoneRepository.existsById(42L)).thenReturn(true);
+
+        assertThrows(UnauthorizedActionException.class, () -> timeZoneComparisonService.compare(42L, null, "EN"));
+    }
+
+    // Test de la comparaison avec un fuseau horaire introuvable
+    @Test
+    void compare_NotFound() {
+        when(timeZoneRepository.existsById(42L)).thenReturn(false);
+
+        assertThrows(TimeZoneNotFoundException.class, () -> timeZoneComparisonService.compare(42L, null, "EN"));
+    }
+}
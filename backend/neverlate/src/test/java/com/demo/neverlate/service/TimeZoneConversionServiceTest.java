@@ -0,0 +1,133 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.ConversionRequest;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.InvalidTimeFormatException;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TimeZoneConversionServiceTest {
+
+    @Mock
+    private TimeZoneRepository timeZoneRepository;
+
+    @Mock
+    private TimeZoneService timeZoneService;
+
+    @Spy
+    private ZoneConversionEngine zoneConversionEngine;
+
+    @Spy
+    private ObjectMapper objectMapper;
+
+    private final ForkJoinPool conversionPool = new ForkJoinPool(2);
+
+    @InjectMocks
+    private TimeZoneConversionService timeZoneConversionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(timeZoneConversionService, "conversionPool", conversionPool);
+        when(timeZoneService.getCurrentUserId()).thenReturn(1L);
+        when(timeZoneRepository.findDtosByUserIdOrderByOffset(1L)).thenReturn(List.of(
+                new TimeZoneDTO(1L, "New York", "New York", "-05:00", "America/New_York"),
+                new TimeZoneDTO(2L, "Mumbai", "Mumbai", "+05:30", null)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        conversionPool.shutdownNow();
+    }
+
+    // Test d'une liste d'instants : l'heure d'été est appliquée instant par instant
+    @Test
+    void convert_ListOfInstants() throws Exception {
+        ConversionRequest request = ConversionRequest.builder()
+                .instants(List.of(Instant.parse("2024-03-10T06:59:59Z"), Instant.parse("2024-03-10T07:00:00Z")))
+                .build();
+
+        JsonNode matrix = write(request);
+
+        assertEquals("America/New_York", matrix.get("zones").get(0).get("zoneId").asText());
+        assertTrue(matrix.get("zones").get(1).get("zoneId").isNull());
+        JsonNode rows = matrix.get("rows");
+        assertEquals(2, rows.size());
+        assertEquals("2024-03-10T06:59:59Z", rows.get(0).get("instant").asText());
+        assertEquals("2024-03-10T01:59:59-05:00", rows.get(0).get("local").get(0).asText());
+        assertEquals("2024-03-10T12:29:59+05:30", rows.get(0).get("local").get(1).asText());
+        assertEquals("2024-03-10T03:00:00-04:00", rows.get(1).get("local").get(0).asText());
+    }
+
+    // Test d'un instant antérieur au fuseau (heure solaire locale) : le suffixe garde les secondes du décalage
+    @Test
+    void convert_LocalMeanTimeOffsetWithSeconds() throws Exception {
+        ConversionRequest request = ConversionRequest.builder()
+                .instants(List.of(Instant.parse("1800-01-01T12:00:00Z")))
+                .build();
+
+        JsonNode local = write(request).get("rows").get(0).get("local");
+
+        assertEquals("1800-01-01T07:03:58-04:56:02", local.get(0).asText());
+        assertEquals("1800-01-01T17:30:00+05:30", local.get(1).asText());
+    }
+
+    // Test d'une plage découpée en tranches : même résultat, dans l'ordre, qu'un calcul en une fois
+    @Test
+    void convert_RangeSplitIntoChunks() throws Exception {
+        ConversionRequest request = ConversionRequest.builder()
+                .start(Instant.parse("2024-03-09T00:00:00Z"))
+                .end(Instant.parse("2024-03-11T00:00:00Z"))
+                .step(Duration.ofMinutes(15))
+                .build();
+
+        JsonNode single = write(request);
+        ReflectionTestUtils.setField(timeZoneConversionService, "chunkCells", 10);
+        JsonNode chunked = write(request);
+
+        assertEquals(193, single.get("rows").size());
+        assertEquals(single, chunked);
+        JsonNode last = chunked.get("rows").get(192);
+        assertEquals("2024-03-11T00:00:00Z", last.get("instant").asText());
+        assertEquals("2024-03-10T20:00:00-04:00", last.get("local").get(0).asText());
+    }
+
+    // Test des requêtes invalides : rejetées avant toute écriture
+    @Test
+    void convert_InvalidRequests() {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+
+        assertThrows(InvalidTimeFormatException.class, () -> timeZoneConversionService.prepare(new ConversionRequest()));
+        assertThrows(InvalidTimeFormatException.class, () -> timeZoneConversionService.prepare(
+                ConversionRequest.builder().start(start).end(start.minusSeconds(1)).step(Duration.ofMinutes(1)).build()));
+        assertThrows(InvalidTimeFormatException.class, () -> timeZoneConversionService.prepare(
+                ConversionRequest.builder().start(start).end(start).step(Duration.ZERO).build()));
+        assertThrows(InvalidTimeFormatException.class, () -> timeZoneConversionService.prepare(
+                ConversionRequest.builder().start(start).end(start.plus(Duration.ofDays(365))).step(Duration.ofSeconds(1)).build()));
+        verifyNoInteractions(timeZoneRepository);
+    }
+
+    private JsonNode write(ConversionRequest request) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        timeZoneConversionService.prepare(request).writeTo(out);
+        return new ObjectMapper().readTree(out.toByteArray());
+    }
+}
@@ -0,0 +1,87 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.TimeZoneDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeZoneListCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private TimeZoneListCache timeZoneListCache;
+
+    @BeforeEach
+    void setUp() {
+        timeZoneListCache = new TimeZoneListCache(meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // Test d'une lecture répétée : la liste n'est chargée qu'une fois pour une même version
+    @Test
+    void get_CachedForSameETag() {
+        List<TimeZoneDTO> first = timeZoneListCache.get(1L, "\"1.3\"", loader("Paris"));
+        List<TimeZoneDTO> second = timeZoneListCache.get(1L, "\"1.3\"", loader("Tokyo"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertThrows(UnsupportedOperationException.class, () -> second.add(new TimeZoneDTO()));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "timezoneLists").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    // Test d'une liste remise en cache par une lecture concurrente d'une version antérieure : elle n'est pas servie
+    @Test
+    void get_ReloadsForNewerETag() {
+        timeZoneListCache.get(1L, "\"1.4\"", loader("Paris"));
+        timeZoneListCache.get(1L, "\"1.3\"", loader("Stale"));
+
+        List<TimeZoneDTO> timeZones = timeZoneListCache.get(1L, "\"1.4\"", loader("Tokyo"));
+
+        assertEquals("Tokyo", timeZones.get(0).getCity());
+        assertEquals(3, loads.get());
+        assertEquals(2.0, meterRegistry.get("neverlate.timezones.list-cache.stale").counter().count());
+    }
+
+    // Test de l'invalidation dans une transaction : l'entrée n'est retirée qu'après la validation
+    @Test
+    void invalidate_AfterCommit() {
+        timeZoneListCache.get(1L, "\"1.3\"", loader("Paris"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        timeZoneListCache.invalidate(1L);
+        timeZoneListCache.get(1L, "\"1.3\"", loader("Tokyo"));
+        assertEquals(1, loads.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals("Tokyo", timeZoneListCache.get(1L, "\"1.3\"", loader("Tokyo")).get(0).getCity());
+        assertEquals(2, loads.get());
+    }
+
+    private Supplier<List<TimeZoneDTO>> loader(String city) {
+        return () -> {
+            loads.incrementAndGet();
+            List<TimeZoneDTO> timeZones = new ArrayList<>();
+            timeZones.add(new TimeZoneDTO(1L, city, city, "+01:00", null));
+            return timeZones;
+        };
+    }
+}
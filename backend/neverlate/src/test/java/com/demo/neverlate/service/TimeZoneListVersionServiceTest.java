@@ -0,0 +1,178 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.config.ReadYourWrites;
+import com.demo.neverlate.model.TimeZoneListVersion;
+import com.demo.neverlate.model.User;
+import com.demo.neverlate.repository.TimeZoneListVersionRepository;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TimeZoneListVersionServiceTest {
+
+    // Passage à l'heure d'été à New York : 2024-03-10T07:00:00Z
+    private static final long NEW_YORK_DST = Instant.parse("2024-03-10T07:00:00Z").getEpochSecond();
+
+    @Mock
+    private TimeZoneListVersionRepository timeZoneListVersionRepository;
+
+    @Mock
+    private TimeZoneRepository timeZoneRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private ZoneConversionEngine zoneConversionEngine;
+
+    @Mock
+    private TimeZoneListCache timeZoneListCache;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @Spy
+    private OffsetChangeCache offsetChangeCache = new OffsetChangeCache(new SimpleMeterRegistry(), 100);
+
+    @InjectMocks
+    private TimeZoneListVersionService timeZoneListVersionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        setClock("2024-03-01T00:00:00Z");
+        when(timeZoneRepository.findZoneIdsByUserId(1L)).thenReturn(List.of("America/New_York"));
+    }
+
+    // Test de l'ETag nominal : une seule lecture, sans écriture
+    @Test
+    void currentETag_Unchanged() {
+        when(timeZoneListVersionRepository.findById(1L)).thenReturn(Optional.of(version(3, NEW_YORK_DST)));
+
+        assertEquals("\"1.3." + NEW_YORK_DST + "\"", timeZoneListVersionService.currentETag(1L));
+        verifyNoInteractions(timeZoneRepository);
+        verifyNoWrites();
+    }
+
+    // Test de l'ETag après un changement d'heure : la version est inchangée mais l'ETag change, sans écriture
+    @Test
+    void currentETag_AfterOffsetChange() {
+        setClock("2024-03-10T07:00:00Z");
+        when(timeZoneListVersionRepository.findById(1L)).thenReturn(Optional.of(version(3, NEW_YORK_DST)));
+
+        String eTag = timeZoneListVersionService.currentETag(1L);
+
+        // Prochain changement : retour à l'heure d'hiver, le 2024-11-03T06:00:00Z
+        long nextChange = Instant.parse("2024-11-03T06:00:00Z").getEpochSecond();
+        assertEquals("\"1.3." + nextChange + "\"", eTag);
+        verifyNoWrites();
+    }
+
+    // Test de lectures répétées après un changement d'heure : le changement suivant n'est recalculé qu'une fois
+    @Test
+    void currentETag_AfterOffsetChangeComputedOnce() {
+        setClock("2024-03-10T07:00:00Z");
+        when(timeZoneListVersionRepository.findById(1L)).thenReturn(Optional.of(version(3, NEW_YORK_DST)));
+
+        String first = timeZoneListVersionService.currentETag(1L);
+        setClock("2024-03-11T00:00:00Z");
+        String second = timeZoneListVersionService.currentETag(1L);
+
+        assertEquals(first, second);
+        verify(timeZoneRepository, times(1)).findZoneIdsByUserId(1L);
+        verifyNoWrites();
+    }
+
+    // Test d'une lecture après une modification : le changement conservé pour l'ancienne version est recalculé
+    @Test
+    void currentETag_AfterOffsetChangeNewVersion() {
+        setClock("2024-03-10T07:00:00Z");
+        when(timeZoneListVersionRepository.findById(1L))
+                .thenReturn(Optional.of(version(3, NEW_YORK_DST)), Optional.of(version(4, NEW_YORK_DST)));
+        timeZoneListVersionService.currentETag(1L);
+        when(timeZoneRepository.findZoneIdsByUserId(1L)).thenReturn(List.of());
+
+        assertEquals("\"1.4\"", timeZoneListVersionService.currentETag(1L));
+        verify(timeZoneRepository, times(2)).findZoneIdsByUserId(1L);
+    }
+
+    // Test de l'ETag d'un utilisateur créé sans version : version 0, sans écriture
+    @Test
+    void currentETag_WithoutVersion() {
+        when(timeZoneListVersionRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertEquals("\"1.0." + NEW_YORK_DST + "\"", timeZoneListVersionService.currentETag(1L));
+        verifyNoWrites();
+    }
+
+    // Test de l'inscription : la version 0 est créée avec l'utilisateur
+    @Test
+    void create_InitialVersion() {
+        User user = User.builder().id(1L).username("testuser").password("password").build();
+
+        timeZoneListVersionService.create(user);
+
+        verify(timeZoneListVersionRepository).save(argThat(created ->
+                created.getVersion() == 0 && created.getOffsetsValidUntil() == null && created.getUser() == user));
+    }
+
+    // Test de la première modification : la version est créée sous verrou, à 1
+    @Test
+    void increment_CreatesVersion() {
+        when(timeZoneRepository.findZoneIdsByUserId(1L)).thenReturn(List.of());
+        when(timeZoneListVersionRepository.increment(1L, null)).thenReturn(0);
+        when(userRepository.getReferenceById(1L)).thenReturn(User.builder().id(1L).username("testuser").password("password").build());
+
+        timeZoneListVersionService.increment(1L);
+
+        verify(userRepository).lockById(1L);
+        verify(timeZoneListVersionRepository, times(2)).increment(1L, null);
+        verify(timeZoneListVersionRepository).save(argThat(created ->
+                created.getVersion() == 1 && created.getOffsetsValidUntil() == null && created.getUser().getId() == 1L));
+    }
+
+    // Test d'une modification courante : une seule requête de mise à jour
+    @Test
+    void increment_ExistingVersion() {
+        when(timeZoneListVersionRepository.increment(1L, NEW_YORK_DST)).thenReturn(1);
+
+        timeZoneListVersionService.increment(1L);
+
+        verify(timeZoneListVersionRepository).increment(1L, NEW_YORK_DST);
+        verifyNoInteractions(userRepository);
+        verify(timeZoneListVersionRepository, never()).save(any());
+        verify(timeZoneListCache).invalidate(1L);
+    }
+
+    private void verifyNoWrites() {
+        verify(timeZoneListVersionRepository, never()).save(any());
+        verify(timeZoneListVersionRepository, never()).increment(any(), any());
+        verifyNoInteractions(userRepository);
+    }
+
+    private void setClock(String instant) {
+        ReflectionTestUtils.setField(timeZoneListVersionService, "clock",
+                Clock.fixed(Instant.parse(instant), ZoneOffset.UTC));
+    }
+
+    private static TimeZoneListVersion version(long version, Long offsetsValidUntil) {
+        return TimeZoneListVersion.builder().userId(1L).version(version).offsetsValidUntil(offsetsValidUntil).build();
+    }
+}
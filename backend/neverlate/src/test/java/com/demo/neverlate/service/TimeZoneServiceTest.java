@@ -1,27 +1,40 @@
 package com.demo.neverlate.service;
 
+import com.demo.neverlate.config.AuthenticatedUser;
 import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.dto.TimeZonePage;
+import com.demo.neverlate.dto.TimeZonePageRow;
+import com.demo.neverlate.exception.InvalidCursorException;
+import com.demo.neverlate.exception.InvalidTimeFormatException;
 import com.demo.neverlate.exception.TimeZoneNotFoundException;
 import com.demo.neverlate.exception.UnauthorizedActionException;
 import com.demo.neverlate.mapper.TimeZoneMapper;
 import com.demo.neverlate.model.TimeZone;
 import com.demo.neverlate.model.User;
+import com.demo.neverlate.model.Zone;
 import com.demo.neverlate.repository.TimeZoneRepository;
 import com.demo.neverlate.repository.UserRepository;
+import com.demo.neverlate.utils.Offsets;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TimeZoneServiceTest {
@@ -35,6 +48,15 @@ class TimeZoneServiceTest {
     @Mock
     private TimeZoneMapper timeZoneMapper;
 
+    @Spy
+    private ZoneConversionEngine zoneConversionEngine;
+
+    @Mock
+    private TimeZoneListVersionService timeZoneListVersionService;
+
+    @Mock
+    private SharedZoneService sharedZoneService;
+
     @InjectMocks
     private TimeZoneService timeZoneService;
 
@@ -52,21 +74,25 @@ class TimeZoneServiceTest {
                 .password("password")
                 .build();
 
-        // Configurer le contexte de sécurité avec un utilisateur authentifié
+        // Configurer le contexte de sécurité avec un utilisateur authentifié (principal construit depuis le JWT)
         Authentication authentication = mock(Authentication.class);
         when(authentication.getName()).thenReturn("testuser");
+        when(authentication.getPrincipal()).thenReturn(new AuthenticatedUser(1L, "testuser", List.of("USER")));
         SecurityContext securityContext = mock(SecurityContext.class);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
 
-        // Simuler la récupération de l'utilisateur dans le UserRepository
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(mockUser));
+        // Simuler la référence vers l'utilisateur dans le UserRepository
+        when(userRepository.getReferenceById(1L)).thenReturn(mockUser);
+
+        // Simuler la résolution des zones partagées (zone construite depuis le DTO, sans base de données)
+        when(sharedZoneService.resolve(any(TimeZoneDTO.class)))
+                .thenAnswer(invocation -> new TimeZoneMapper().toZone(invocation.getArgument(0)));
 
         // Créer un TimeZone existant avec @Builder
         existingTimeZone = TimeZone.builder()
                 .label("Pacific Time")
-                .city("Los Angeles")
-                .offset("-08:00")
+                .zone(Zone.builder().city("Los Angeles").offset(ZoneOffset.ofHours(-8)).build())
                 .user(mockUser)
                 .build();
     }
@@ -83,24 +109,63 @@ class TimeZoneServiceTest {
 
         TimeZone timeZoneToSave = TimeZone.builder()
                 .label("Pacific Time")
-                .city("Los Angeles")
-                .offset("-08:00")
+                .zone(Zone.builder().city("Los Angeles").offset(ZoneOffset.ofHours(-8)).build())
                 .user(mockUser)
                 .build();
 
         // Simuler les comportements des méthodes mapper et repository
-        when(timeZoneMapper.toEntity(any(TimeZoneDTO.class), any(User.class))).thenReturn(timeZoneToSave);
+        when(timeZoneMapper.toEntity(any(TimeZoneDTO.class), any(User.class), any(Zone.class))).thenReturn(timeZoneToSave);
         when(timeZoneRepository.save(any(TimeZone.class))).thenReturn(timeZoneToSave);
         when(timeZoneMapper.toDTO(any(TimeZone.class))).thenReturn(timeZoneDTO);
+        when(timeZoneRepository.findNextPositionByUserId(mockUser.getId())).thenReturn(3);
 
         // Act
-        TimeZoneDTO savedTimeZoneDTO = timeZoneService.saveTimeZone(timeZoneDTO, mockUser);
+        TimeZoneDTO savedTimeZoneDTO = timeZoneService.saveTimeZone(timeZoneDTO, mockUser.getId());
 
         // Assert
         assertEquals("Pacific Time", savedTimeZoneDTO.getLabel());
         assertEquals("Los Angeles", savedTimeZoneDTO.getCity());
         assertEquals("-08:00", savedTimeZoneDTO.getOffset());
         verify(timeZoneRepository, times(1)).save(timeZoneToSave);
+        assertEquals(3, timeZoneToSave.getPosition()); // À la suite de la liste de l'utilisateur
+        verify(timeZoneMapper).toEntity(eq(timeZoneDTO), eq(mockUser),
+                argThat(zone -> zone.getNaturalKey().equals("-08:00|Los Angeles")));
+    }
+
+    // Test de la pagination par clé : la page suivante commence après la position et l'ID du dernier renvoyé
+    @Test
+    void findPageForCurrentUser_FollowsCursor() {
+        // Arrange : 3 résultats pour une page de 2, la page suivante existe
+        List<TimeZonePageRow> firstResults = List.of(
+                new TimeZonePageRow(0, new TimeZoneDTO(10L, "Paris", "Paris", "+01:00", null)),
+                new TimeZonePageRow(1, new TimeZoneDTO(11L, "London", "London", "+00:00", null)),
+                new TimeZonePageRow(2, new TimeZoneDTO(12L, "Tokyo", "Tokyo", "+09:00", null)));
+        when(timeZoneRepository.findRowsByUserIdAfter(1L, Integer.MIN_VALUE, 0L, Limit.of(3))).thenReturn(firstResults);
+
+        // Act
+        TimeZonePage firstPage = timeZoneService.findPageForCurrentUser(2, null);
+
+        // Assert
+        assertEquals(2, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        // La page suivante, dernière, ne renvoie pas de curseur
+        when(timeZoneRepository.findRowsByUserIdAfter(1L, 1, 11L, Limit.of(3)))
+                .thenReturn(List.of(new TimeZonePageRow(2, new TimeZoneDTO(12L, "Tokyo", "Tokyo", "+09:00", null))));
+
+        TimeZonePage secondPage = timeZoneService.findPageForCurrentUser(2, firstPage.getNextCursor());
+
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(12L, secondPage.getItems().get(0).getId());
+        assertNull(secondPage.getNextCursor());
+        verify(timeZoneRepository, never()).findByIdAndUserId(any(), any());
+    }
+
+    // Test de la pagination par clé avec un curseur invalide
+    @Test
+    void findPageForCurrentUser_InvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> timeZoneService.findPageForCurrentUser(10, "not-a-cursor!"));
+        assertThrows(InvalidCursorException.class, () -> timeZoneService.findPageForCurrentUser(0, null));
     }
 
     // Test de la méthode findById pour un TimeZone trouvé
@@ -110,7 +175,7 @@ class TimeZoneServiceTest {
         Long timeZoneId = 1L;
 
         // Simuler la récupération de l'entité par son ID
-        when(timeZoneRepository.findById(timeZoneId)).thenReturn(Optional.of(existingTimeZone));
+        when(timeZoneRepository.findByIdAndUserId(timeZoneId, 1L)).thenReturn(Optional.of(existingTimeZone));
 
         // Simuler le mappage vers le DTO
         TimeZoneDTO timeZoneDTO = TimeZoneDTO.builder()
@@ -127,7 +192,7 @@ class TimeZoneServiceTest {
         assertEquals("Pacific Time", result.getLabel());
         assertEquals("Los Angeles", result.getCity());
         assertEquals("-08:00", result.getOffset());
-        verify(timeZoneRepository, times(1)).findById(timeZoneId);
+        verify(timeZoneRepository, times(1)).findByIdAndUserId(timeZoneId, 1L);
     }
 
     // Test de la méthode findById pour un TimeZone introuvable
@@ -137,16 +202,61 @@ class TimeZoneServiceTest {
         Long timeZoneId = 1L;
 
         // Simuler un TimeZone introuvable
-        when(timeZoneRepository.findById(timeZoneId)).thenReturn(Optional.empty());
+        when(timeZoneRepository.findByIdAndUserId(timeZoneId, 1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         TimeZoneNotFoundException exception = assertThrows(TimeZoneNotFoundException.class, () -> timeZoneService.findById(timeZoneId));
 
         assertEquals(String.format("Time zone not found with ID %d",timeZoneId), exception.getMessage());
-        verify(timeZoneRepository, times(1)).findById(timeZoneId);
+        verify(timeZoneRepository, times(1)).findByIdAndUserId(timeZoneId, 1L);
+    }
+
+    // Test de la méthode findById pour un TimeZone d'un autre utilisateur
+    @Test
+    void findById_Unauthorized() {
+        Long timeZoneId = 1L;
+        when(timeZoneRepository.findByIdAndUserId(timeZoneId, 1L)).thenReturn(Optional.empty());
+        when(timeZoneRepository.existsById(timeZoneId)).thenReturn(true);
+
+        UnauthorizedActionException exception = assertThrows(UnauthorizedActionException.class,
+                () -> timeZoneService.findById(timeZoneId));
+
+        assertEquals("Unauthorized to access this TimeZone", exception.getMessage());
+        verify(timeZoneMapper, never()).toDTO(any());
+    }
+
+    // Test de la méthode checkAccess : propriété vérifiée sur l'identifiant, sans charger le fuseau horaire
+    @Test
+    void checkAccess_Owner() {
+        when(timeZoneRepository.findIdsByUserIdAndIdIn(1L, Set.of(1L))).thenReturn(List.of(1L));
+
+        timeZoneService.checkAccess(1L);
+
+        verify(timeZoneRepository, never()).findByIdAndUserId(any(), any());
+        verify(timeZoneRepository, never()).existsById(any());
+    }
+
+    // Test de la méthode checkAccess pour un TimeZone introuvable
+    @Test
+    void checkAccess_NotFound() {
+        when(timeZoneRepository.findIdsByUserIdAndIdIn(1L, Set.of(1L))).thenReturn(List.of());
+
+        assertThrows(TimeZoneNotFoundException.class, () -> timeZoneService.checkAccess(1L));
     }
 
-    // Test de la méthode updateTimeZone
+    // Test de la méthode checkAccess pour un TimeZone d'un autre utilisateur
+    @Test
+    void checkAccess_Unauthorized() {
+        when(timeZoneRepository.findIdsByUserIdAndIdIn(1L, Set.of(1L))).thenReturn(List.of());
+        when(timeZoneRepository.existsById(1L)).thenReturn(true);
+
+        UnauthorizedActionException exception = assertThrows(UnauthorizedActionException.class,
+                () -> timeZoneService.checkAccess(1L));
+
+        assertEquals("Unauthorized to access this TimeZone", exception.getMessage());
+    }
+
+    // Test de la méthode updateTimeZone : une seule requête limitée au propriétaire
     @Test
     void updateTimeZone() {
         // Arrange
@@ -158,18 +268,86 @@ class TimeZoneServiceTest {
                 .offset("-05:00")
                 .build();
 
-        // Simuler la récupération du TimeZone existant
-        when(timeZoneRepository.findById(timeZoneId)).thenReturn(Optional.of(existingTimeZone));
-        when(timeZoneRepository.save(existingTimeZone)).thenReturn(existingTimeZone);
-        when(timeZoneMapper.toDTO(any(TimeZone.class))).thenReturn(updatedTimeZoneDTO);
+        // Simuler la mise à jour d'une ligne appartenant à l'utilisateur courant
+        when(timeZoneRepository.updateByIdAndUserId(eq(timeZoneId), eq(1L), eq("Eastern Time"),
+                argThat(zone -> zone.getNaturalKey().equals("-05:00|New York")))).thenReturn(1);
+
         // Act
         TimeZoneDTO result = timeZoneService.updateTimeZone(timeZoneId, updatedTimeZoneDTO);
 
         // Assert
+        assertEquals(timeZoneId, result.getId());
         assertEquals("Eastern Time", result.getLabel());
         assertEquals("New York", result.getCity());
         assertEquals("-05:00", result.getOffset());
-        verify(timeZoneRepository, times(1)).save(existingTimeZone);
+        verify(timeZoneRepository, never()).findByIdAndUserId(any(), any());
+        verify(timeZoneRepository, never()).existsById(any());
+        verify(timeZoneRepository, never()).save(any());
+    }
+
+    // Test de la méthode updateTimeZone avec un identifiant IANA : le décalage est celui du fuseau à cet instant
+    @Test
+    void updateTimeZone_WithZoneId() {
+        TimeZoneDTO updatedTimeZoneDTO = TimeZoneDTO.builder()
+                .label("Eastern Time")
+                .zoneId("America/New_York")
+                .build();
+        ZoneOffset currentOffset = zoneConversionEngine.currentOffset("America/New_York", null);
+        when(timeZoneRepository.updateByIdAndUserId(eq(1L), eq(1L), eq("Eastern Time"),
+                argThat(zone -> zone.getNaturalKey().equals("America/New_York")))).thenReturn(1);
+
+        TimeZoneDTO result = timeZoneService.updateTimeZone(1L, updatedTimeZoneDTO);
+
+        assertEquals("America/New_York", result.getZoneId());
+        assertEquals(Offsets.format(currentOffset), result.getOffset());
+    }
+
+    // Test de la méthode updateTimeZone sans décalage ni identifiant IANA
+    @Test
+    void updateTimeZone_MissingOffset() {
+        TimeZoneDTO updatedTimeZoneDTO = TimeZoneDTO.builder().label("Eastern Time").build();
+
+        assertThrows(InvalidTimeFormatException.class, () -> timeZoneService.updateTimeZone(1L, updatedTimeZoneDTO));
+        verifyNoInteractions(timeZoneRepository);
+    }
+
+    // Test de la méthode updateTimeZone pour un TimeZone appartenant à un autre utilisateur
+    @Test
+    void updateTimeZone_Unauthorized() {
+        // Arrange
+        Long timeZoneId = 1L;
+        TimeZoneDTO updatedTimeZoneDTO = TimeZoneDTO.builder()
+                .label("Eastern Time")
+                .offset("-05:00")
+                .build();
+
+        // Aucune ligne modifiée, mais le TimeZone existe
+        when(timeZoneRepository.updateByIdAndUserId(eq(timeZoneId), eq(1L), eq("Eastern Time"), any(Zone.class))).thenReturn(0);
+        when(timeZoneRepository.existsById(timeZoneId)).thenReturn(true);
+
+        // Act & Assert
+        UnauthorizedActionException exception = assertThrows(UnauthorizedActionException.class,
+                () -> timeZoneService.updateTimeZone(timeZoneId, updatedTimeZoneDTO));
+
+        assertEquals("Unauthorized to update this TimeZone", exception.getMessage());
+    }
+
+    // Test de la méthode updateTimeZone pour un TimeZone introuvable
+    @Test
+    void updateTimeZone_NotFound() {
+        // Arrange
+        Long timeZoneId = 1L;
+        TimeZoneDTO updatedTimeZoneDTO = TimeZoneDTO.builder()
+                .label("Eastern Time")
+                .offset("-05:00")
+                .build();
+
+        // Aucune ligne modifiée et le TimeZone n'existe pas
+        when(timeZoneRepository.updateByIdAndUserId(eq(timeZoneId), eq(1L), eq("Eastern Time"), any(Zone.class))).thenReturn(0);
+        when(timeZoneRepository.existsById(timeZoneId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(TimeZoneNotFoundException.class, () -> timeZoneService.updateTimeZone(timeZoneId, updatedTimeZoneDTO));
     }
 
     // Test de la méthode deleteById pour un TimeZone appartenant à l'utilisateur courant
@@ -178,14 +356,18 @@ class TimeZoneServiceTest {
         // Arrange
         Long timeZoneId = 1L;
 
-        // Simuler la récupération du TimeZone appartenant à l'utilisateur courant
-        when(timeZoneRepository.findById(timeZoneId)).thenReturn(Optional.of(existingTimeZone));
+        // Simuler la suppression d'une ligne appartenant à l'utilisateur courant
+        when(timeZoneRepository.deleteByIdAndUserId(timeZoneId, 1L)).thenReturn(1);
 
         // Act
         timeZoneService.deleteById(timeZoneId);
 
         // Assert
-        verify(timeZoneRepository, times(1)).deleteById(timeZoneId);
+        verify(timeZoneRepository, times(1)).deleteByIdAndUserId(timeZoneId, 1L);
+        verify(timeZoneRepository, never()).existsById(any());
+        verify(timeZoneRepository, never()).findByIdAndUserId(any(), any());
+        // La version de la liste change avec elle
+        verify(timeZoneListVersionService, times(1)).increment(1L);
     }
 
     // Test de la méthode deleteById pour un TimeZone appartenant à un autre utilisateur
@@ -194,20 +376,9 @@ class TimeZoneServiceTest {
         // Arrange
         Long timeZoneId = 1L;
 
-        User anotherUser = User.builder()
-                .id(2L)
-                .username("anotheruser")
-                .password("")
-                .build();
-
-        TimeZone timeZoneOwnedByAnotherUser = TimeZone.builder()
-                .label("Eastern Time")
-                .user(anotherUser)
-                .offset("+03:00")
-                .build();
-
-        // Simuler la récupération du TimeZone appartenant à un autre utilisateur
-        when(timeZoneRepository.findById(timeZoneId)).thenReturn(Optional.of(timeZoneOwnedByAnotherUser));
+        // Aucune ligne supprimée, mais le TimeZone existe (il appartient à un autre utilisateur)
+        when(timeZoneRepository.deleteByIdAndUserId(timeZoneId, 1L)).thenReturn(0);
+        when(timeZoneRepository.existsById(timeZoneId)).thenReturn(true);
 
         // Act & Assert
         UnauthorizedActionException exception = assertThrows(UnauthorizedActionException.class, () -> {
@@ -215,7 +386,6 @@ class TimeZoneServiceTest {
         });
 
         assertEquals("Unauthorized to delete this TimeZone", exception.getMessage());
-        verify(timeZoneRepository, never()).deleteById(timeZoneId);
     }
 
     // Test de la méthode deleteById pour un TimeZone introuvable
@@ -224,15 +394,16 @@ class TimeZoneServiceTest {
         // Arrange
         Long timeZoneId = 1L;
 
-        // Simuler un TimeZone introuvable
-        when(timeZoneRepository.findById(timeZoneId)).thenReturn(Optional.empty());
+        // Aucune ligne supprimée et le TimeZone n'existe pas
+        when(timeZoneRepository.deleteByIdAndUserId(timeZoneId, 1L)).thenReturn(0);
+        when(timeZoneRepository.existsById(timeZoneId)).thenReturn(false);
 
         // Act & Assert
         TimeZoneNotFoundException exception = assertThrows(TimeZoneNotFoundException.class, () -> timeZoneService.deleteById(timeZoneId));
 
         assertEquals(String.format("Time zone not found with ID %d",timeZoneId), exception.getMessage());
-        verify(timeZoneRepository, times(1)).findById(timeZoneId);
-        verify(timeZoneRepository, never()).deleteById(timeZoneId);
+        verify(timeZoneRepository, times(1)).existsById(timeZoneId);
+        verify(timeZoneListVersionService, never()).increment(any());
     }
 
     @AfterEach
@@ -0,0 +1,186 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.BatchResultDTO;
+import com.demo.neverlate.dto.TimeZoneDTO;
+import com.demo.neverlate.exception.InvalidBatchException;
+import com.demo.neverlate.mapper.TimeZoneMapper;
+import com.demo.neverlate.model.TimeZone;
+import com.demo.neverlate.model.User;
+import com.demo.neverlate.model.Zone;
+import com.demo.neverlate.repository.TimeZoneRepository;
+import com.demo.neverlate.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TimeZoneTransferServiceTest {
+
+    @Mock
+    private TimeZoneRepository timeZoneRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TimeZoneService timeZoneService;
+
+    @Mock
+    private TimeZoneBatchService timeZoneBatchService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TimeZoneMapper timeZoneMapper;
+
+    @Spy
+    private ObjectMapper objectMapper;
+
+    @Mock
+    private TimeZoneListVersionService timeZoneListVersionService;
+
+    @Mock
+    private SharedZoneService sharedZoneService;
+
+    @InjectMocks
+    private TimeZoneTransferService timeZoneTransferService;
+
+    private final List<Integer> savedChunkSizes = new ArrayList<>();
+    private final List<String> savedCities = new ArrayList<>();
+    private final List<Integer> savedPositions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(timeZoneTransferService, "chunkSize", 2);
+        when(timeZoneService.getCurrentUserId()).thenReturn(1L);
+        when(timeZoneService.withCurrentOffset(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.getReferenceById(1L)).thenReturn(User.builder().id(1L).username("testuser").password("password").build());
+        when(sharedZoneService.resolveAll(anyCollection())).thenAnswer(invocation -> {
+            Map<String, Zone> zones = new HashMap<>();
+            for (TimeZoneDTO timeZoneDTO : invocation.<Collection<TimeZoneDTO>>getArgument(0)) {
+                Zone zone = timeZoneMapper.toZone(timeZoneDTO);
+                zones.put(zone.getNaturalKey(), zone);
+            }
+            return zones;
+        });
+        when(timeZoneRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TimeZone> timeZones = invocation.getArgument(0);
+            savedChunkSizes.add(timeZones.size());
+            for (TimeZone timeZone : timeZones) {
+                // L'ID est attribué par la séquence, le fuseau horaire appartient à l'utilisateur courant
+                assertNull(timeZone.getId());
+                assertEquals(1L, timeZone.getUser().getId());
+                savedCities.add(timeZone.getZone().getCity());
+                savedPositions.add(timeZone.getPosition());
+            }
+            return invocation.getArgument(0);
+        });
+    }
+
+    // Test de l'export CSV : en-tête, puis une ligne par fuseau horaire lu dans le flux
+    @Test
+    void exportTimeZones_Csv() throws Exception {
+        when(timeZoneRepository.streamDtosByUserId(1L)).thenReturn(Stream.of(
+                new TimeZoneDTO(1L, "Paris office", "Paris", "+01:00", "Europe/Paris"),
+                new TimeZoneDTO(2L, "Lima, Peru", "Lima", "-05:00", null)));
+
+        String csv = export(TimeZoneTransferService.Format.CSV);
+
+        String[] lines = csv.split("\n");
+        assertEquals("id,label,city,offset,zoneId", lines[0]);
+        assertEquals("1,\"Paris office\",Paris,\"+01:00\",Europe/Paris", lines[1]);
+        assertEquals("2,\"Lima, Peru\",Lima,-05:00,", lines[2]);
+    }
+
+    // Test de l'export NDJSON : un objet JSON par ligne, chaque ligne terminée par un saut de ligne
+    @Test
+    void exportTimeZones_Ndjson() throws Exception {
+        when(timeZoneRepository.streamDtosByUserId(1L)).thenReturn(Stream.of(
+                new TimeZoneDTO(1L, "Paris office", "Paris", "+01:00", "Europe/Paris"),
+                new TimeZoneDTO(2L, "Tokyo office", "Tokyo", "+09:00", null)));
+
+        String ndjson = export(TimeZoneTransferService.Format.NDJSON);
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(ndjson.endsWith("\n"));
+        assertEquals("Tokyo office", new ObjectMapper().readTree(lines[1]).get("label").asText());
+    }
+
+    // Test de l'import CSV : lignes enregistrées par blocs, lignes invalides ignorées et signalées
+    @Test
+    void importTimeZones_CsvInChunks() throws Exception {
+        when(timeZoneBatchService.validate(argThat(dto -> dto != null && "Bad".equals(dto.getLabel()))))
+                .thenReturn("label: too short");
+        when(timeZoneRepository.findNextPositionByUserId(1L)).thenReturn(5);
+        String csv = "city,label,offset,zoneId\n"
+                + "Paris,Paris office,+01:00,\n"
+                + "x,Bad,+01:00,\n"
+                + "Lima,\"Lima, Peru\",-05:00,\n"
+                + "Tokyo,Tokyo office,+09:00,\n";
+
+        BatchResultDTO result = timeZoneTransferService.importTimeZones(TimeZoneTransferService.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getResults().size());
+        assertEquals(1, result.getResults().get(0).getIndex());
+        assertEquals(List.of(2, 1), savedChunkSizes);
+        // Le contexte de persistance est vidé après chaque bloc
+        verify(entityManager, times(2)).clear();
+        assertEquals(List.of("Paris", "Lima", "Tokyo"), savedCities);
+        // Positions à la suite de la liste, d'un bloc à l'autre
+        assertEquals(List.of(5, 6, 7), savedPositions);
+    }
+
+    // Test d'un fichier mal formé : l'import est interrompu
+    @Test
+    void importTimeZones_MalformedNdjson() {
+        String ndjson = "{\"label\":\"Paris office\",\"city\":\"Paris\",\"offset\":\"+01:00\"}\n{oops\n";
+
+        InvalidBatchException exception = assertThrows(InvalidBatchException.class,
+                () -> timeZoneTransferService.importTimeZones(TimeZoneTransferService.Format.NDJSON,
+                        new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))));
+        assertTrue(exception.getMessage().startsWith("Malformed row 1"));
+    }
+
+    // Test de la résolution des formats par nom et par type de contenu
+    @Test
+    void format_Resolution() {
+        assertEquals(TimeZoneTransferService.Format.NDJSON, TimeZoneTransferService.Format.of("ndjson"));
+        assertEquals(TimeZoneTransferService.Format.CSV,
+                TimeZoneTransferService.Format.ofMediaType("text/csv; charset=UTF-8"));
+        assertThrows(InvalidBatchException.class, () -> TimeZoneTransferService.Format.of("xml"));
+        assertThrows(InvalidBatchException.class, () -> TimeZoneTransferService.Format.ofMediaType(null));
+    }
+
+    private String export(TimeZoneTransferService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        timeZoneTransferService.exportTimeZones(1L, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
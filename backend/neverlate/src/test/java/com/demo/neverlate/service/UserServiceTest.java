@@ -1,17 +1,25 @@
 package com.demo.neverlate.service;
 
+import com.demo.neverlate.config.ReadYourWrites;
 import com.demo.neverlate.dto.UserDTO;
 import com.demo.neverlate.exception.DuplicateUserException;
 import com.demo.neverlate.mapper.UserMapper;
+import com.demo.neverlate.model.Role;
 import com.demo.neverlate.model.User;
 import com.demo.neverlate.repository.UserRepository;
+import com.demo.neverlate.security.PrincipalCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -29,6 +37,18 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @Mock
+    private TimeZoneListVersionService timeZoneListVersionService;
+
+    @Mock
+    private TransactionOperations transactionOperations;
+
     @InjectMocks
     private UserService userService;
 
@@ -42,6 +62,11 @@ class UserServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
+        // Les transactions exécutent directement leur contenu
+        when(transactionOperations.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        doCallRealMethod().when(transactionOperations).executeWithoutResult(any());
+
         // Utilisation de @Builder pour les objets User et UserDTO
         validUserDTO = UserDTO.builder()
                 .username("testuser")
@@ -73,6 +98,7 @@ class UserServiceTest {
         verify(passwordEncoder, times(1)).encode("password123");
         verify(userRepository, times(1)).save(validUser);
         verify(userMapper, times(1)).toEntity(validUserDTO);
+        verify(timeZoneListVersionService, times(1)).create(validUser); // Version de la liste créée avec l'utilisateur
     }
 
     /**
@@ -89,6 +115,22 @@ class UserServiceTest {
         verify(userRepository, times(1)).save(validUser);
     }
 
+    /**
+     * Test pour vérifier que le mot de passe est haché avant l'ouverture de la transaction.
+     */
+    @Test
+    void saveUser_EncodesBeforeTransaction() {
+        when(userMapper.toEntity(any(UserDTO.class))).thenReturn(validUser);
+        when(passwordEncoder.encode("password123")).thenReturn("encodedPassword");
+
+        userService.saveUser(validUserDTO);
+
+        InOrder inOrder = inOrder(passwordEncoder, transactionOperations, userRepository);
+        inOrder.verify(passwordEncoder).encode("password123");
+        inOrder.verify(transactionOperations).executeWithoutResult(any());
+        inOrder.verify(userRepository).save(validUser);
+    }
+
     /**
      * Test pour vérifier que la méthode save est appelée avec les bons arguments.
      */
@@ -172,4 +214,31 @@ class UserServiceTest {
         assertEquals("Email already exists", exception.getMessage());
         verify(userRepository, times(1)).save(any(User.class));
     }
+
+    /**
+     * Test pour vérifier qu'un changement de mot de passe invalide le principal en cache.
+     */
+    @Test
+    void updatePassword_InvalidatesCachedPrincipal() {
+        when(userRepository.save(validUser)).thenReturn(validUser);
+
+        userService.updatePassword(validUser, "newEncodedPassword");
+
+        assertEquals("newEncodedPassword", validUser.getPassword());
+        verify(principalCache, times(1)).invalidate("testuser");
+    }
+
+    /**
+     * Test pour vérifier qu'un changement de rôles invalide le principal en cache.
+     */
+    @Test
+    void updateRoles_InvalidatesCachedPrincipal() {
+        Set<Role> roles = Set.of(Role.builder().name("ADMIN").build());
+        when(userRepository.save(validUser)).thenReturn(validUser);
+
+        userService.updateRoles(validUser, roles);
+
+        assertEquals(roles, validUser.getRoles());
+        verify(principalCache, times(1)).invalidate("testuser");
+    }
 }
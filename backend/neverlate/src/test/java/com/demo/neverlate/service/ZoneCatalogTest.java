@@ -0,0 +1,49 @@
+package com.demo.neverlate.service;
+
+import com.demo.neverlate.dto.CatalogZoneDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneCatalogTest {
+
+    private final ZoneCatalog zoneCatalog = new ZoneCatalog();
+
+    // Test d'une recherche par début de ville : les villes correspondantes en premier
+    @Test
+    void search_CityPrefix() {
+        List<CatalogZoneDTO> zones = zoneCatalog.search("Par", 10);
+        List<String> zoneIds = zones.stream().map(CatalogZoneDTO::getZoneId).toList();
+
+        assertEquals(List.of("America/Paramaribo", "Europe/Paris"), zoneIds.subList(0, 2));
+        assertEquals("Central European Time", zones.get(1).getNameEn());
+        // Trouvé par son nom ("Paraguay Time"), après les villes
+        assertTrue(zoneIds.indexOf("America/Asuncion") > 1);
+    }
+
+    // Test d'une recherche sans casse ni accents, sur plusieurs mots et sur le nom français
+    @Test
+    void search_NormalizedInput() {
+        assertEquals("America/New_York", zoneCatalog.search("new Y", 10).get(0).getZoneId());
+        assertEquals("America/Sao_Paulo", zoneCatalog.search("são", 10).get(0).getZoneId());
+        assertTrue(zoneCatalog.search("europe centrale", 50).isEmpty());
+        assertTrue(zoneCatalog.search("centrale", 50).stream()
+                .anyMatch(zone -> zone.getZoneId().equals("Europe/Paris")));
+        assertEquals("America/Argentina/Buenos_Aires", zoneCatalog.search("america/argentina/buenos", 10).get(0).getZoneId());
+    }
+
+    // Test des limites : nombre de résultats borné, fuseau renvoyé une seule fois, saisie vide
+    @Test
+    void search_Limits() {
+        List<CatalogZoneDTO> zones = zoneCatalog.search("a", 500);
+
+        assertEquals(zones.size(), zones.stream().map(CatalogZoneDTO::getZoneId).distinct().count());
+        assertEquals(3, zoneCatalog.search("a", 3).size());
+        assertTrue(zoneCatalog.search(" - ", 10).isEmpty());
+        assertTrue(zoneCatalog.search("zzzz", 10).isEmpty());
+        assertFalse(zoneCatalog.search("us/eastern", 10).stream()
+                .anyMatch(zone -> zone.getZoneId().startsWith("US/")));
+    }
+}
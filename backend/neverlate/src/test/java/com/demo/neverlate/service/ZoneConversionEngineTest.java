@@ -0,0 +1,58 @@
+package com.demo.neverlate.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZoneConversionEngineTest {
+
+    private final ZoneConversionEngine engine = new ZoneConversionEngine();
+
+    // Test d'un fuseau à décalage fixe : le décalage est renvoyé tel quel
+    @Test
+    void offsetAt_FixedOffset() {
+        ZoneOffset offset = ZoneOffset.ofHoursMinutes(5, 30);
+
+        assertSame(offset, engine.offsetAt(null, offset, Instant.parse("2024-07-01T00:00:00Z")));
+        assertSame(offset, engine.currentOffset(null, offset));
+    }
+
+    // Test d'un fuseau IANA : l'heure d'été dépend de l'instant
+    @Test
+    void offsetAt_DaylightSavingTime() {
+        assertEquals(ZoneOffset.ofHours(-5), engine.offsetAt("America/New_York", null, Instant.parse("2024-01-15T12:00:00Z")));
+        assertEquals(ZoneOffset.ofHours(-4), engine.offsetAt("America/New_York", null, Instant.parse("2024-07-15T12:00:00Z")));
+        // Passage à l'heure d'été le 10 mars 2024 à 7h00 UTC
+        assertEquals(ZoneOffset.ofHours(-5), engine.offsetAt("America/New_York", null, Instant.parse("2024-03-10T06:59:59Z")));
+        assertEquals(ZoneOffset.ofHours(-4), engine.offsetAt("America/New_York", null, Instant.parse("2024-03-10T07:00:00Z")));
+    }
+
+    // Test du décalage actuel : identique à l'évaluation des règles de la base tz
+    @Test
+    void currentOffset_MatchesZoneRules() {
+        for (String zoneId : new String[]{"Europe/Paris", "America/New_York", "Asia/Kolkata", "Australia/Sydney"}) {
+            ZoneOffset expected = ZoneId.of(zoneId).getRules().getOffset(Instant.now());
+
+            assertEquals(expected, engine.currentOffset(zoneId, null));
+            // Deuxième appel : servi par la période en cache
+            assertEquals(expected, engine.currentOffset(zoneId, null));
+        }
+    }
+
+    // Test d'une heure locale proche des transitions : heure inexistante et heure ambiguë
+    @Test
+    void offsetForLocal_AroundTransitions() {
+        assertEquals(ZoneOffset.ofHours(1), engine.offsetForLocal("Europe/Paris", null, LocalDateTime.of(2024, 3, 31, 1, 59)));
+        // 2h30 n'existe pas le 31 mars 2024 à Paris : le décalage d'avant la transition est retenu
+        assertEquals(ZoneOffset.ofHours(1), engine.offsetForLocal("Europe/Paris", null, LocalDateTime.of(2024, 3, 31, 2, 30)));
+        assertEquals(ZoneOffset.ofHours(2), engine.offsetForLocal("Europe/Paris", null, LocalDateTime.of(2024, 3, 31, 3, 0)));
+        // 2h30 existe deux fois le 27 octobre 2024 à Paris : le décalage d'été est retenu
+        assertEquals(ZoneOffset.ofHours(2), engine.offsetForLocal("Europe/Paris", null, LocalDateTime.of(2024, 10, 27, 2, 30)));
+        assertEquals(ZoneOffset.ofHours(1), engine.offsetForLocal("Europe/Paris", null, LocalDateTime.of(2024, 10, 27, 3, 0)));
+    }
+}
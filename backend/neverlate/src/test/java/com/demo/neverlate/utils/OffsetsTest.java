@@ -0,0 +1,45 @@
+package com.demo.neverlate.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetsTest {
+
+    // Test de l'analyse des décalages valides, y compris les demi-heures négatives
+    @Test
+    void parse_ValidOffsets() {
+        assertEquals(ZoneOffset.ofHoursMinutes(5, 30), Offsets.parse("+05:30"));
+        assertEquals(ZoneOffset.ofHoursMinutes(-3, -30), Offsets.parse("-03:30"));
+        assertEquals(ZoneOffset.UTC, Offsets.parse("+00:00"));
+        assertEquals(18 * 3600, Offsets.parseSeconds("+18:00"));
+    }
+
+    // Test du rejet des valeurs mal formées ou hors limites
+    @Test
+    void isValid_RejectsInvalidOffsets() {
+        for (String invalid : new String[]{null, "", "+5:30", "05:30", "+05-30", "+0a:00", "+05:60", "+18:01", "+24:00", "+05:30 "}) {
+            assertFalse(Offsets.isValid(invalid), "Should reject " + invalid);
+        }
+        assertThrows(DateTimeException.class, () -> Offsets.parse("+25:00"));
+    }
+
+    // Les instances et leurs représentations textuelles sont uniques
+    @Test
+    void parse_ReturnsInternedInstances() {
+        assertSame(Offsets.parse("+01:00"), Offsets.parse(new StringBuilder("+01:00")));
+        assertSame(Offsets.parse("-05:00"), Offsets.ofTotalSeconds(-5 * 3600));
+        assertSame(Offsets.format(ZoneOffset.ofHours(2)), Offsets.format(Offsets.parse("+02:00")));
+    }
+
+    // UTC est formaté "+00:00" et non "Z"
+    @Test
+    void format_UsesWireFormat() {
+        assertEquals("+00:00", Offsets.format(ZoneOffset.UTC));
+        assertEquals("-09:30", Offsets.format(ZoneOffset.ofHoursMinutes(-9, -30)));
+        assertEquals("+14:00", Offsets.format(ZoneOffset.ofHours(14)));
+    }
+}
@@ -5,27 +5,12 @@ import { LanguageContext } from "../context/LanguageContext";
 import { useTranslation } from "react-i18next";
 
 const ComparisonList = ({ timezone, classes, isEditing }) => {
-  const [allTimezones, setAllTimezones] = useState([]);
   const [error, setError] = useState(false);
   const [comparisonResults, setComparisonResults] = useState([]);
   const [selectedTime, setSelectedTime] = useState('');
   const { language } = useContext(LanguageContext);
   const { i18n } = useTranslation();
 
-  useEffect(() => {
-    const fetchTimeZones = async () => {
-      try {
-        const response = await TimeZoneService.getAllTimeZones();
-        setAllTimezones(response.data);
-      } catch (err) {
-        setError(true);
-        console.error(err);
-      }
-    };
-
-    fetchTimeZones();
-  }, []);
-
   useEffect(() => {
     if (!isEditing) {
       calculateTimeZoneComparison();
@@ -38,52 +23,23 @@ const ComparisonList = ({ timezone, classes, isEditing }) => {
     return dateTimePattern.test(dateTime);
   };
 
-  const calculateTimeZoneComparison = () => {
-    if (!selectedTime || !timezone || !isValidDateTime(selectedTime)) return [];
-
-    const baseDate = new Date(selectedTime);
-
-    const [currentOffsetHours, currentOffsetMinutes] = timezone.offset
-      .split(":")
-      .map(Number);
+  // Comparaison calculée et formatée par le serveur, en une seule requête
+  const calculateTimeZoneComparison = async () => {
+    if (!selectedTime || !timezone || !isValidDateTime(selectedTime)) return;
 
-    const currentOffsetMillis =
-      currentOffsetHours * 3600000 + (currentOffsetMinutes || 0) * 60000;
-
-    const gmtBaseDate = new Date(baseDate.getTime() - currentOffsetMillis);
-
-    const results = allTimezones
-      .filter((tz) => tz.id !== timezone.id)
-      .map((tz) => {
-        const [offsetHours, offsetMinutes] = tz.offset.split(":").map(Number);
-        const offsetMillis =
-          offsetHours * 3600000 + (offsetMinutes || 0) * 60000;
-        const localDateTime = new Date(gmtBaseDate.getTime() + offsetMillis);
-
-        // Formattage resultat
-        return {
+    try {
+      const response = await TimeZoneService.compareTimeZone(timezone.id, selectedTime, language);
+      setComparisonResults(
+        response.data.comparisons.map((tz) => ({
           ...tz,
-          localDateTime:
-            language === "FR"
-              ? localDateTime.toLocaleString("fr-FR", {
-                year: 'numeric',
-                month: '2-digit',
-                day: '2-digit',
-                hour: '2-digit',
-                minute: '2-digit',
-              })
-              : localDateTime.toLocaleString("en-GB", {
-                year: 'numeric',
-                month: '2-digit',
-                day: '2-digit',
-                hour12: true,
-                hour: '2-digit',
-                minute: '2-digit',
-              }),
-        };
-      });
-
-    setComparisonResults(results);
+          localDateTime: tz.formattedDateTime,
+        }))
+      );
+      setError(false);
+    } catch (err) {
+      setError(true);
+      console.error(err);
+    }
   };
 
   return (
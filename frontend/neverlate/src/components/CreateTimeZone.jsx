@@ -1,17 +1,44 @@
-import React, { useState } from "react";
+import React, { useContext, useState } from "react";
 import { useNavigate } from "react-router-dom";
 import TimeZoneService from "../services/TimeZoneService";
 import { useTranslation } from "react-i18next";
+import { LanguageContext } from "../context/LanguageContext";
 
 const CreateTimeZone = ({ classes }) => {
   const [label, setLabel] = useState("");
   const [city, setCity] = useState("");
   const [offset, setOffset] = useState("");
+  const [zoneId, setZoneId] = useState("");
+  const [suggestions, setSuggestions] = useState([]);
   const [error, setError] = useState(false);
   const [labelError, setLabelError] = useState(false);
   const [offsetError, setOffsetError] = useState(false);
   const navigate = useNavigate();
   const { i18n } = useTranslation();
+  const { language } = useContext(LanguageContext);
+
+  // Autocomplétion de la ville depuis le catalogue des fuseaux IANA : choisir une ville renseigne son fuseau
+  const handleCityChange = async (value) => {
+    setCity(value);
+    const selected = suggestions.find((zone) => zone.city === value);
+    if (selected) {
+      setZoneId(selected.zoneId);
+      if (!label) {
+        setLabel(language === "FR" ? selected.nameFr : selected.nameEn);
+      }
+      return;
+    }
+    if (value.trim().length < 2) {
+      setSuggestions([]);
+      return;
+    }
+    try {
+      const response = await TimeZoneService.searchCatalog(value);
+      setSuggestions(response.data);
+    } catch (err) {
+      setSuggestions([]);
+    }
+  };
 
   const validateForm = () => {
     // Format label (min: 3, max: 100)
@@ -19,11 +46,14 @@ const CreateTimeZone = ({ classes }) => {
     setLabelError(labelIncorrect);
     let isValid = !labelIncorrect;
 
-    // Format: +/-HH:MM
+    // Format: +/-HH:MM (facultatif si un fuseau IANA est renseigné)
     const offsetPattern = /^(?:\+|-)[0-9]{2}:[0-9]{2}$/;
-    setOffsetError(!offsetPattern.test(offset));
+    const offsetIncorrect = zoneId
+      ? offset !== "" && !offsetPattern.test(offset)
+      : !offsetPattern.test(offset);
+    setOffsetError(offsetIncorrect);
 
-    return isValid && offsetPattern.test(offset);
+    return isValid && !offsetIncorrect;
   };
 
   const handleSubmit = async (e) => {
@@ -35,6 +65,7 @@ const CreateTimeZone = ({ classes }) => {
           label,
           city,
           offset,
+          zoneId: zoneId || null,
         });
         navigate("/");
       } catch (err) {
@@ -92,10 +123,18 @@ const CreateTimeZone = ({ classes }) => {
             <input
               type="text"
               value={city}
-              onChange={(e) => setCity(e.target.value)}
+              onChange={(e) => handleCityChange(e.target.value)}
+              list="city-suggestions"
               className={`w-full p-2 border ${classes.inputClass}`}
               placeholder={i18n.t("timezoneForm.cityPlaceholder")}
             />
+            <datalist id="city-suggestions">
+              {suggestions.map((zone) => (
+                <option key={zone.zoneId} value={zone.city}>
+                  {zone.zoneId} — {language === "FR" ? zone.nameFr : zone.nameEn}
+                </option>
+              ))}
+            </datalist>
           </div>
 
           <div>
@@ -109,7 +148,7 @@ const CreateTimeZone = ({ classes }) => {
               value={offset}
               onChange={(e) => setOffset(e.target.value)}
               className={`w-full p-2 border mb-4 ${classes.inputClass}`}
-              required
+              required={!zoneId}
               placeholder={i18n.t("timezoneForm.offsetPlaceholder")}
             />
             {offsetError && (
@@ -119,6 +158,21 @@ const CreateTimeZone = ({ classes }) => {
             )}
           </div>
 
+          <div>
+            <label
+              className={`block font-bold mb-2 ${classes.textInvertClass}`}
+            >
+              {i18n.t("timezoneForm.zoneId")}
+            </label>
+            <input
+              type="text"
+              value={zoneId}
+              onChange={(e) => setZoneId(e.target.value.trim())}
+              className={`w-full p-2 border mb-4 ${classes.inputClass}`}
+              placeholder={i18n.t("timezoneForm.zoneIdPlaceholder")}
+            />
+          </div>
+
           <button
             className={`w-full p-3 font-bold ${classes.buttonClass}  transition duration-300`}
           >
@@ -59,11 +59,13 @@ const TimeZoneEdit = ({ classes }) => {
     let isValid = !labelIncorrect;
     setLabelError(labelIncorrect);
 
-    // format: +/-HH:MM
+    // format: +/-HH:MM (le décalage d'un fuseau IANA est recalculé par le serveur)
     const offsetPattern = /^(?:\+|-)[0-9]{2}:[0-9]{2}$/;
-    setOffsetError(!offsetPattern.test(timezone.offset));
+    const offsetIncorrect =
+      !timezone.zoneId && !offsetPattern.test(timezone.offset);
+    setOffsetError(offsetIncorrect);
 
-    return isValid && offsetPattern.test(timezone.offset);
+    return isValid && !offsetIncorrect;
   };
 
   const toggleEdit = () => {
@@ -139,6 +141,27 @@ const TimeZoneEdit = ({ classes }) => {
                     setTimezone({ ...timezone, offset: e.target.value })
                   }
                   className={`w-full p-2 border ${classes.inputClass}`}
+                  disabled={!isEditing || !!timezone.zoneId}
+                />
+              </div>
+
+              <div>
+                <label
+                  className={`block font-bold mb-2 ${classes.textInvertClass}`}
+                >
+                  {i18n.t("timezoneForm.zoneId")}
+                </label>
+                <input
+                  type="text"
+                  value={timezone.zoneId || ""}
+                  onChange={(e) =>
+                    setTimezone({
+                      ...timezone,
+                      zoneId: e.target.value.trim() || null,
+                    })
+                  }
+                  className={`w-full p-2 border ${classes.inputClass}`}
+                  placeholder={i18n.t("timezoneForm.zoneIdPlaceholder")}
                   disabled={!isEditing}
                 />
               </div>
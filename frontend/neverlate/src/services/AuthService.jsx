@@ -15,7 +15,35 @@ const AuthService = {
   },
 
   logout() {
+    const token = sessionStorage.getItem('jwt');
     sessionStorage.removeItem('jwt');
+    if (token) {
+      // Révoque côté serveur le token de rafraîchissement et le token d'accès courant
+      const { jwt, refreshToken } = JSON.parse(token);
+      return axios
+        .post('http://localhost:8080/api/auth/logout', { refreshToken }, {
+          headers: { Authorization: 'Bearer ' + jwt },
+        })
+        .catch(() => {});
+    }
+    return Promise.resolve();
+  },
+
+  refresh() {
+    const token = sessionStorage.getItem('jwt');
+    if (!token || !JSON.parse(token).refreshToken) {
+      return Promise.reject(new Error('No refresh token'));
+    }
+    return axios
+      .post('http://localhost:8080/api/auth/refresh', { refreshToken: JSON.parse(token).refreshToken })
+      .then((response) => {
+        sessionStorage.setItem('jwt', JSON.stringify(response.data));
+        return response.data.jwt;
+      })
+      .catch((error) => {
+        sessionStorage.removeItem('jwt');
+        throw error;
+      });
   },
 
   getCurrentUser() {
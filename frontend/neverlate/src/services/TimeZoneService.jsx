@@ -1,6 +1,7 @@
 import api from './api';
 
 const API_URL = "http://localhost:8080/api/timezones";
+const CATALOG_URL = "http://localhost:8080/api/catalog";
 
 const TimeZoneService = {
   getAllTimeZones() {
@@ -21,6 +22,14 @@ const TimeZoneService = {
 
   deleteTimeZone(id) {
     return api.delete(`${API_URL}/${id}`);
+  },
+
+  compareTimeZone(id, at, lang) {
+    return api.get(`${API_URL}/${id}/compare`, { params: { at, lang } });
+  },
+
+  searchCatalog(q, limit = 10) {
+    return api.get(`${CATALOG_URL}/zones`, { params: { q, limit } });
   }
 };
 
@@ -17,4 +17,28 @@ api.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
+// Rafraîchissement en cours, partagé par les requêtes refusées simultanément
+let refreshPromise = null;
+
+api.interceptors.response.use(
+  (response) => response,
+  (error) => {
+    const originalRequest = error.config;
+    // Token d'accès expiré : on le rafraîchit une seule fois puis on rejoue la requête
+    if (error.response && error.response.status === 401 && originalRequest && !originalRequest._retry) {
+      originalRequest._retry = true;
+      if (!refreshPromise) {
+        refreshPromise = AuthService.refresh().finally(() => {
+          refreshPromise = null;
+        });
+      }
+      return refreshPromise.then((jwt) => {
+        originalRequest.headers['Authorization'] = 'Bearer ' + jwt;
+        return api(originalRequest);
+      });
+    }
+    return Promise.reject(error);
+  }
+);
+
 export default api;